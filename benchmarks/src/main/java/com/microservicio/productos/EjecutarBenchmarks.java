@@ -0,0 +1,34 @@
+// benchmarks/src/main/java/com/microservicio/productos/EjecutarBenchmarks.java
+package com.microservicio.productos;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del JAR de benchmarks. Acepta las mismas opciones que JMH y, si no se
+ * indican, agrega el perfilador de asignaciones (-prof gc) y guarda los resultados en JSON
+ * (-rf json -rff jmh-resultados.json) para compararlos entre commits.
+ */
+public class EjecutarBenchmarks {
+
+    private static final String RESULTADOS_POR_DEFECTO = "jmh-resultados.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(opciones);
+        if (opciones.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        if (!opciones.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!opciones.getResult().hasValue()) {
+            builder.result(RESULTADOS_POR_DEFECTO);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,57 @@
+// benchmarks/src/main/java/com/microservicio/productos/application/usecase/ConversionProductoBenchmark.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad/DTO de ProductoUseCase, que se ejecuta por cada producto de cada
+ * respuesta. Está en el mismo paquete porque los métodos son de paquete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionProductoBenchmark {
+
+    private ProductoUseCase productoUseCase;
+    private Producto producto;
+    private ProductoRequestDTO requestDTO;
+
+    @Setup
+    public void preparar() {
+        productoUseCase = new ProductoUseCase();
+        LocalDateTime ahora = LocalDateTime.now();
+        producto = new Producto(1L, "Laptop HP", "Laptop para oficina", new BigDecimal("1500.00"), 10,
+                "Electrónica", "LAP-001", true, ahora, ahora, 3L);
+        requestDTO = new ProductoRequestDTO("Laptop HP", "Laptop para oficina", new BigDecimal("1500.00"), 10,
+                "Electrónica", "LAP-001", true);
+    }
+
+    @Benchmark
+    public ProductoResponseDTO convertirEntidadaDTO() {
+        return productoUseCase.convertirEntidadaDTO(producto);
+    }
+
+    @Benchmark
+    public Producto convertirDTOaEntidad() {
+        return productoUseCase.convertirDTOaEntidad(requestDTO);
+    }
+}
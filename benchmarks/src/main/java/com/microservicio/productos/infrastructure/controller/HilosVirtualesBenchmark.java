@@ -0,0 +1,149 @@
+// benchmarks/src/main/java/com/microservicio/productos/infrastructure/controller/HilosVirtualesBenchmark.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ráfaga de peticiones contra una base lenta simulada: cada petición toma una conexión de un
+ * pool de tamaño fijo y la retiene latenciaMs. Compara el pool de hilos de plataforma de
+ * Tomcat (50 y 200 hilos) con hilos virtuales, sin límite y con LimiteConcurrenciaFilter.
+ * Mide el tiempo hasta atender la ráfaga; los contadores auxiliares dicen cuántas
+ * peticiones se atendieron y cuántas recibieron 503.
+ *
+ * Cuando todas las peticiones necesitan la base, el pool de conexiones es el cuello de botella
+ * y los hilos virtuales no atienden más rápido: lo que cambia es cuánto esperan las que sobran.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class HilosVirtualesBenchmark {
+
+    public enum Modo { PLATAFORMA_50, PLATAFORMA_200, VIRTUAL, VIRTUAL_LIMITADO }
+
+    private static final int PETICIONES = 400;
+
+    @Param({"PLATAFORMA_50", "PLATAFORMA_200", "VIRTUAL", "VIRTUAL_LIMITADO"})
+    public Modo modo;
+
+    @Param({"10", "40"})
+    public int conexiones;
+
+    @Param({"10"})
+    public int latenciaMs;
+
+    private ExecutorService ejecutor;
+    private Semaphore pool;
+    private HikariDataSource dataSource;
+    private LimiteConcurrenciaFilter filtro;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Resultado {
+        public long atendidas;
+        public long rechazadas;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            atendidas = 0;
+            rechazadas = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        ejecutor = switch (modo) {
+            case PLATAFORMA_50 -> Executors.newFixedThreadPool(50);
+            case PLATAFORMA_200 -> Executors.newFixedThreadPool(200);
+            case VIRTUAL, VIRTUAL_LIMITADO -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+        pool = new Semaphore(conexiones, true);
+        // Sin URL no abre conexiones: el filtro solo lee el tamaño máximo del pool
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(conexiones);
+        filtro = new LimiteConcurrenciaFilter();
+        ReflectionTestUtils.setField(filtro, "dataSource", dataSource);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filtro, "habilitado", modo == Modo.VIRTUAL_LIMITADO);
+        ReflectionTestUtils.setField(filtro, "peticionesPorConexion", 2);
+        ReflectionTestUtils.setField(filtro, "esperaMaxima", Duration.ofMillis(100));
+        filtro.inicializar();
+    }
+
+    @TearDown
+    public void liberar() {
+        ejecutor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void rafaga(Resultado resultado) throws Exception {
+        List<Future<Integer>> respuestas = new ArrayList<>(PETICIONES);
+        for (int i = 0; i < PETICIONES; i++) {
+            respuestas.add(ejecutor.submit(this::atender));
+        }
+        for (Future<Integer> respuesta : respuestas) {
+            if (respuesta.get() == 200) {
+                resultado.atendidas++;
+            } else {
+                resultado.rechazadas++;
+            }
+        }
+    }
+
+    private int atender() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/productos");
+        request.setServletPath("/api/productos");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, consultaLenta());
+        return response.getStatus();
+    }
+
+    // Como Hikari: espera una conexión (connectionTimeout de 30 s) y la retiene durante la consulta
+    private FilterChain consultaLenta() {
+        return (request, response) -> {
+            try {
+                if (!pool.tryAcquire(30, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Timeout esperando una conexión");
+                }
+                try {
+                    Thread.sleep(latenciaMs);
+                } finally {
+                    pool.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+// benchmarks/src/main/java/com/microservicio/productos/infrastructure/controller/SerializacionRespuestaBenchmark.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.infrastructure.controller.respuesta.PaginaProductos;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura de la respuesta de listarProductos (paginación offset) por el conversor de
+ * mensajes, como la hace Spring MVC: el sobre HashMap anterior con el conversor genérico de
+ * Jackson frente al record PaginaProductos con RespuestaHttpMessageConverter. Lo mismo para
+ * el cuerpo de GET /: Map armado en cada petición frente a bytes constantes. ObjectMapper
+ * configurado como el de Spring Boot (fechas ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionRespuestaBenchmark {
+
+    @Param({"15", "100"})
+    private int tamanoPagina;
+
+    private static final byte[] CUERPO_RAIZ = "{\"mensaje\":\"Microservicio de Productos\"}".getBytes(StandardCharsets.UTF_8);
+
+    private List<ProductoResponseDTO> productos;
+    private MappingJackson2HttpMessageConverter conversorJackson;
+    private RespuestaHttpMessageConverter conversorRespuestas;
+    private ByteArrayHttpMessageConverter conversorBytes;
+    private Salida salida;
+
+    @Setup
+    public void preparar() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        conversorJackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        conversorRespuestas = new RespuestaHttpMessageConverter(objectMapper);
+        conversorBytes = new ByteArrayHttpMessageConverter();
+        salida = new Salida();
+        LocalDateTime ahora = LocalDateTime.now();
+        productos = new ArrayList<>(tamanoPagina);
+        for (long id = 1; id <= tamanoPagina; id++) {
+            productos.add(new ProductoResponseDTO(id, "Producto " + id, "Descripción del producto " + id,
+                    new BigDecimal("1500.00"), 10, "Electrónica", "COD-" + id, true, ahora, ahora, 1L));
+        }
+    }
+
+    @Benchmark
+    public HttpOutputMessage listarProductosHashMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("productos", productos);
+        response.put("paginaActual", 0);
+        response.put("totalElementos", 1000L);
+        response.put("totalPaginas", 1000 / tamanoPagina);
+        response.put("tamanoPagina", tamanoPagina);
+        response.put("esUltimaPagina", false);
+        response.put("esPrimeraPagina", true);
+        conversorJackson.write(response, MediaType.APPLICATION_JSON, salida());
+        return salida;
+    }
+
+    @Benchmark
+    public HttpOutputMessage listarProductosTipado() throws Exception {
+        PaginaProductos response = new PaginaProductos(productos, 0, tamanoPagina, 1000L, 1000 / tamanoPagina,
+                null, null, false, true, null);
+        conversorRespuestas.write(response, MediaType.APPLICATION_JSON, salida());
+        return salida;
+    }
+
+    @Benchmark
+    public HttpOutputMessage raizHashMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("mensaje", "Microservicio de Productos");
+        conversorJackson.write(response, MediaType.APPLICATION_JSON, salida());
+        return salida;
+    }
+
+    @Benchmark
+    public HttpOutputMessage raizConstante() throws Exception {
+        conversorBytes.write(CUERPO_RAIZ, MediaType.APPLICATION_JSON, salida());
+        return salida;
+    }
+
+    private HttpOutputMessage salida() {
+        salida.getHeaders().clear();
+        return salida;
+    }
+
+    // Descarta los bytes: la medición no incluye el buffer donde el servidor los acumularía
+    private static final class Salida implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream cuerpo = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return cuerpo;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
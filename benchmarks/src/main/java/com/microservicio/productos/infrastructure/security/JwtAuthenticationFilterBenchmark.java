@@ -0,0 +1,76 @@
+// benchmarks/src/main/java/com/microservicio/productos/infrastructure/security/JwtAuthenticationFilterBenchmark.java
+package com.microservicio.productos.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * El filtro de extremo a extremo: lectura de cabeceras, autenticación (acierto en la caché)
+ * y armado del SecurityContext. Cada invocación crea su petición y respuesta simuladas, así
+ * que su costo queda incluido en la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> { };
+
+    private JwtAuthenticationFilter filtro;
+    private String cabeceraValida;
+
+    @Setup
+    public void preparar() {
+        filtro = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filtro, "jwtValidator", JwtValidatorBenchmark.crearValidador());
+        cabeceraValida = "Bearer " + JwtValidatorBenchmark.generarToken(JwtValidatorBenchmark.SECRETO);
+    }
+
+    @Benchmark
+    public int peticionAutenticada() throws Exception {
+        return filtrar("/api/productos", cabeceraValida);
+    }
+
+    @Benchmark
+    public int peticionConTokenInvalido() throws Exception {
+        return filtrar("/api/productos", "Bearer token-invalido");
+    }
+
+    @Benchmark
+    public int rutaPublica() throws Exception {
+        return filtrar("/health", null);
+    }
+
+    private int filtrar(String ruta, String autorizacion) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ruta);
+        request.setServletPath(ruta);
+        if (autorizacion != null) {
+            request.addHeader("Authorization", autorizacion);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filtro.doFilter(request, response, CADENA_VACIA);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+// benchmarks/src/main/java/com/microservicio/productos/infrastructure/security/JwtValidatorBenchmark.java
+package com.microservicio.productos.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación completa de la firma (validarToken) frente al acierto en la caché de tokens
+ * (autenticar), que es lo que paga cada petición con un token ya visto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidatorBenchmark {
+
+    static final String SECRETO = "clave-benchmark-super-segura-para-medir-la-validacion";
+
+    private JwtValidator jwtValidator;
+    private String token;
+    private String tokenConOtraFirma;
+
+    @Setup
+    public void preparar() {
+        jwtValidator = crearValidador();
+        token = generarToken(SECRETO);
+        tokenConOtraFirma = generarToken(SECRETO + "-distinta");
+        jwtValidator.autenticar(token);
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtValidator.validarToken(token);
+    }
+
+    @Benchmark
+    public Object validarTokenConFirmaInvalida() {
+        try {
+            return jwtValidator.validarToken(tokenConOtraFirma);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public UsuarioAutenticado autenticarDesdeCache() {
+        return jwtValidator.autenticar(token);
+    }
+
+    static JwtValidator crearValidador() {
+        JwtValidator validador = new JwtValidator();
+        ReflectionTestUtils.setField(validador, "secretKey", SECRETO);
+        ReflectionTestUtils.setField(validador, "tokenCache", new JwtTokenCache(10_000, Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(validador, "meterRegistry", new SimpleMeterRegistry());
+        validador.inicializar();
+        return validador;
+    }
+
+    static String generarToken(String secreto) {
+        return Jwts.builder()
+                .subject("admin")
+                .claim("es_admin", true)
+                .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(secreto.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
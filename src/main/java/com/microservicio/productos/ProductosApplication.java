@@ -3,8 +3,12 @@ package com.microservicio.productos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// El pool R2DBC lo crea R2dbcConfig sin publicar un ConnectionFactory, que desactivaría el DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class ProductosApplication {
 
     public static void main(String[] args) {
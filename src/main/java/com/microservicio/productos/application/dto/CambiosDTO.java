@@ -0,0 +1,20 @@
+// src/main/java/com/microservicio/productos/application/dto/CambiosDTO.java
+package com.microservicio.productos.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambiosDTO {
+    private List<ProductoResponseDTO> productos;
+    private List<Long> eliminados;
+    private String token;
+    private boolean hayMas;
+    // El token era anterior a la retención de lápidas: se reenvía el catálogo completo
+    private boolean resincronizar;
+}
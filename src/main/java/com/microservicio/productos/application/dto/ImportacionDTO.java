@@ -0,0 +1,27 @@
+// src/main/java/com/microservicio/productos/application/dto/ImportacionDTO.java
+package com.microservicio.productos.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionDTO {
+    private String id;
+    private String formato;
+    private String estado;
+    private LocalDateTime fechaInicio;
+    private long filasLeidas;
+    private long filasValidas;
+    private long filasRechazadas;
+    private long productosFusionados;
+    private long duracionMs;
+    private String mensaje;
+    // Solo las primeras filas rechazadas; el total está en filasRechazadas
+    private List<RechazoImportacionDTO> rechazos;
+}
@@ -0,0 +1,21 @@
+// src/main/java/com/microservicio/productos/application/dto/LineaStockDTO.java
+package com.microservicio.productos.application.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineaStockDTO {
+
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productoId;
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser mayor a 0")
+    private Integer cantidad;
+}
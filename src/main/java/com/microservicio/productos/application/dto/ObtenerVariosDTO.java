@@ -0,0 +1,21 @@
+// src/main/java/com/microservicio/productos/application/dto/ObtenerVariosDTO.java
+package com.microservicio.productos.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ObtenerVariosDTO {
+
+    @NotEmpty(message = "Debe indicar al menos un id")
+    @Size(max = 100, message = "No se pueden pedir más de 100 productos a la vez")
+    private List<@NotNull(message = "Los ids no pueden ser nulos") Long> ids;
+}
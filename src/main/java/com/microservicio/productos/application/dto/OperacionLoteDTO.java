@@ -0,0 +1,17 @@
+// src/main/java/com/microservicio/productos/application/dto/OperacionLoteDTO.java
+package com.microservicio.productos.application.dto;
+
+import com.microservicio.productos.domain.model.TipoOperacionLote;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacionLoteDTO {
+    // CREAR requiere producto; ACTUALIZAR requiere id y producto; ELIMINAR requiere id
+    private TipoOperacionLote tipo;
+    private Long id;
+    private ProductoRequestDTO producto;
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/microservicio/productos/application/dto/PaginaCursorDTO.java
+package com.microservicio.productos.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+    private List<T> contenido;
+    private String siguienteCursor;
+    private boolean hayMas;
+}
@@ -22,6 +22,8 @@ public class ProductoRequestDTO {
 
     @NotNull(message = "El precio es obligatorio")
     @DecimalMin(value = "0.0", inclusive = false, message = "El precio debe ser mayor a 0")
+    // Lo que admite la columna NUMERIC(10, 2)
+    @Digits(integer = 8, fraction = 2, message = "El precio admite hasta 8 enteros y 2 decimales")
     private BigDecimal precio;
 
     @NotNull(message = "El stock es obligatorio")
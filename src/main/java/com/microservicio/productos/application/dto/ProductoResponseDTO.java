@@ -22,4 +22,5 @@ public class ProductoResponseDTO {
     private Boolean estaActivo;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+// src/main/java/com/microservicio/productos/application/dto/RechazoImportacionDTO.java
+package com.microservicio.productos.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RechazoImportacionDTO {
+    private long linea;
+    private String motivo;
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/microservicio/productos/application/dto/ReservaStockDTO.java
+package com.microservicio.productos.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaStockDTO {
+
+    @NotEmpty(message = "La reserva debe incluir al menos un producto")
+    private List<@Valid LineaStockDTO> lineas;
+}
@@ -0,0 +1,18 @@
+// src/main/java/com/microservicio/productos/application/dto/ResultadoLoteDTO.java
+package com.microservicio.productos.application.dto;
+
+import com.microservicio.productos.domain.model.TipoOperacionLote;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+    private int indice;
+    private TipoOperacionLote tipo;
+    private boolean exito;
+    private Long id;
+    private String mensaje;
+}
@@ -0,0 +1,171 @@
+// src/main/java/com/microservicio/productos/application/usecase/AgrupadorLecturasProducto.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Junta las lecturas por id concurrentes (estilo DataLoader): la primera petición de una ventana
+ * espera ventana y carga en una sola consulta los ids que pidieron las demás mientras tanto; si
+ * el lote llega a max-lote antes, lo carga quien lo llenó. Si no hay otra lectura en curso no hay
+ * con quién agrupar y se consulta sin esperar: la ventana solo se paga bajo concurrencia. No usa
+ * hilos propios: la consulta corre en el hilo de una de las peticiones y las otras esperan su
+ * resultado.
+ *
+ * Se salta el agrupamiento si el producto ya está en la caché de segundo nivel (no hay consulta
+ * que ahorrar) o si hay una transacción en curso (el lote se lee en otra transacción).
+ */
+@Component
+public class AgrupadorLecturasProducto {
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${productos.agrupacion-lecturas.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${productos.agrupacion-lecturas.ventana:2ms}")
+    private Duration ventana;
+
+    @Value("${productos.agrupacion-lecturas.max-lote:100}")
+    private int maxLote;
+
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private Lote abierto;
+    private DistributionSummary tamanoLotes;
+
+    private static final class Lote {
+        private final Map<Long, CompletableFuture<Optional<Producto>>> pendientes = new LinkedHashMap<>();
+        private final Thread lider = Thread.currentThread();
+        private boolean reclamado;
+    }
+
+    @PostConstruct
+    public void inicializar() {
+        tamanoLotes = DistributionSummary.builder("productos.lecturas.agrupadas")
+                .description("Ids cargados en cada consulta agrupada de GET /api/productos/{id}")
+                .register(meterRegistry);
+    }
+
+    public Optional<Producto> obtener(Long id) {
+        if (!habilitado || TransactionSynchronizationManager.isActualTransactionActive()
+                || entityManagerFactory.getCache().contains(Producto.class, id)) {
+            return productoService.obtenerProductoPorId(id);
+        }
+
+        enCurso.incrementAndGet();
+        try {
+            return obtenerAgrupado(id);
+        } finally {
+            enCurso.decrementAndGet();
+        }
+    }
+
+    private Optional<Producto> obtenerAgrupado(Long id) {
+        Lote lote;
+        CompletableFuture<Optional<Producto>> resultado;
+        boolean lider = false;
+        boolean cargarYa = false;
+        cerrojo.lock();
+        try {
+            if (abierto == null) {
+                abierto = new Lote();
+                lider = true;
+            }
+            lote = abierto;
+            resultado = lote.pendientes.computeIfAbsent(id, clave -> new CompletableFuture<>());
+            // Lote lleno, o líder sin otras lecturas en curso que puedan sumarse durante la ventana
+            if (lote.pendientes.size() >= maxLote || (lider && enCurso.get() == 1)) {
+                lote.reclamado = true;
+                abierto = null;
+                cargarYa = true;
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+
+        if (cargarYa) {
+            cargar(lote);
+            // El líder ya tiene su resultado: que no siga esperando el resto de la ventana
+            if (!lider) {
+                LockSupport.unpark(lote.lider);
+            }
+        } else if (lider) {
+            // Con hilos virtuales la espera libera el hilo portador
+            LockSupport.parkNanos(ventana.toNanos());
+            if (reclamar(lote)) {
+                cargar(lote);
+            }
+        }
+        return esperar(resultado);
+    }
+
+    // Lo carga quien lo reclama primero: el líder al terminar la ventana o quien lo llenó
+    private boolean reclamar(Lote lote) {
+        cerrojo.lock();
+        try {
+            if (lote.reclamado) {
+                return false;
+            }
+            lote.reclamado = true;
+            if (abierto == lote) {
+                abierto = null;
+            }
+            return true;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // Una vez reclamado nadie agrega ids al lote: se puede recorrer sin el cerrojo
+    private void cargar(Lote lote) {
+        List<Long> ids = new ArrayList<>(lote.pendientes.keySet());
+        try {
+            Map<Long, Producto> encontrados = new HashMap<>();
+            productoService.obtenerProductosPorIds(ids).forEach(producto -> encontrados.put(producto.getId(), producto));
+            tamanoLotes.record(ids.size());
+            lote.pendientes.forEach((id, pendiente) -> pendiente.complete(Optional.ofNullable(encontrados.get(id))));
+        } catch (Throwable e) {
+            lote.pendientes.values().forEach(pendiente -> pendiente.completeExceptionally(e));
+        }
+    }
+
+    private Optional<Producto> esperar(CompletableFuture<Optional<Producto>> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException("Error al cargar el producto: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+// src/main/java/com/microservicio/productos/application/usecase/LectorFilasProducto.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convierte una línea de un archivo CSV (con cabecera) o NDJSON en un ProductoRequestDTO.
+ * Lee línea a línea, así que el archivo nunca se carga completo en memoria.
+ */
+class LectorFilasProducto {
+
+    private final BufferedReader lector;
+    private final boolean esCsv;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columnas;
+    private long numeroLinea;
+
+    LectorFilasProducto(BufferedReader lector, boolean esCsv, ObjectMapper objectMapper) {
+        this.lector = lector;
+        this.esCsv = esCsv;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Devuelve la siguiente línea no vacía o null al final del archivo.
+     */
+    String siguienteLinea() throws IOException {
+        String linea;
+        do {
+            linea = lector.readLine();
+            if (linea == null) {
+                return null;
+            }
+            numeroLinea++;
+        } while (linea.isBlank());
+
+        if (esCsv && columnas == null) {
+            leerCabecera(linea);
+            return siguienteLinea();
+        }
+        return linea;
+    }
+
+    long getNumeroLinea() {
+        return numeroLinea;
+    }
+
+    ProductoRequestDTO convertir(String linea) throws IOException {
+        if (!esCsv) {
+            return objectMapper.readValue(linea, ProductoRequestDTO.class);
+        }
+        List<String> campos = separarCsv(linea);
+        ProductoRequestDTO dto = new ProductoRequestDTO();
+        dto.setNombre(campo(campos, "nombre"));
+        dto.setDescripcion(campo(campos, "descripcion"));
+        String precio = campo(campos, "precio");
+        dto.setPrecio(precio != null ? new BigDecimal(precio) : null);
+        String stock = campo(campos, "stock");
+        dto.setStock(stock != null ? Integer.valueOf(stock) : null);
+        dto.setCategoria(campo(campos, "categoria"));
+        dto.setCodigoProducto(campo(campos, "codigoProducto"));
+        String estaActivo = campo(campos, "estaActivo");
+        if (estaActivo != null) {
+            dto.setEstaActivo(booleano(estaActivo));
+        }
+        return dto;
+    }
+
+    // Boolean.valueOf convertiría cualquier otro texto en false
+    private static Boolean booleano(String valor) {
+        if (valor.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (valor.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("estaActivo debe ser true o false: " + valor);
+    }
+
+    private void leerCabecera(String linea) {
+        columnas = new HashMap<>();
+        List<String> nombres = separarCsv(linea);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim(), i);
+        }
+    }
+
+    private String campo(List<String> campos, String nombre) {
+        Integer indice = columnas.get(nombre);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Separador coma; los campos entre comillas pueden contener comas y "" como comilla escapada
+    static List<String> separarCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+}
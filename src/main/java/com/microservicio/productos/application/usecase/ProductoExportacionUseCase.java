@@ -0,0 +1,128 @@
+// src/main/java/com/microservicio/productos/application/usecase/ProductoExportacionUseCase.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exporta el catálogo completo escribiendo cada producto en cuanto se lee de la base,
+ * con flush por bloques: la memoria usada es constante sea cual sea el tamaño del catálogo.
+ */
+@Component
+public class ProductoExportacionUseCase {
+
+    private static final String CABECERA_CSV =
+            "id,nombre,descripcion,precio,stock,categoria,codigoProducto,estaActivo,fechaCreacion,fechaActualizacion\n";
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoUseCase productoUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${productos.exportacion.fetch-size:1000}")
+    private int fetchSize;
+
+    public void exportarNdjson(OutputStream salida) throws IOException {
+        // Sin FLUSH_AFTER_WRITE_VALUE: el flush lo controla el bucle, no cada producto
+        ObjectWriter writer = objectMapper.writerFor(ProductoResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            generador.setRootValueSeparator(null);
+            recorrer(producto -> {
+                writer.writeValue(generador, productoUseCase.convertirEntidadaDTO(producto));
+                generador.writeRaw('\n');
+            }, generador::flush);
+        }
+    }
+
+    public void exportarCsv(OutputStream salida) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8))) {
+            writer.write(CABECERA_CSV);
+            recorrer(producto -> {
+                writer.write(String.valueOf(producto.getId()));
+                writer.write(',');
+                writer.write(textoCsv(producto.getNombre()));
+                writer.write(',');
+                writer.write(textoCsv(producto.getDescripcion()));
+                writer.write(',');
+                writer.write(producto.getPrecio().toPlainString());
+                writer.write(',');
+                writer.write(String.valueOf(producto.getStock()));
+                writer.write(',');
+                writer.write(textoCsv(producto.getCategoria()));
+                writer.write(',');
+                writer.write(textoCsv(producto.getCodigoProducto()));
+                writer.write(',');
+                writer.write(valorCsv(producto.getEstaActivo()));
+                writer.write(',');
+                writer.write(valorCsv(producto.getFechaCreacion()));
+                writer.write(',');
+                writer.write(valorCsv(producto.getFechaActualizacion()));
+                writer.write('\n');
+            }, writer::flush);
+        }
+    }
+
+    private void recorrer(EscritorFila escritor, Vaciado vaciado) throws IOException {
+        int[] pendientes = {0};
+        try {
+            productoService.recorrerProductos(fetchSize, producto -> {
+                try {
+                    escritor.escribir(producto);
+                    if (++pendientes[0] >= fetchSize) {
+                        vaciado.vaciar();
+                        pendientes[0] = 0;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String textoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private String valorCsv(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    @FunctionalInterface
+    private interface EscritorFila {
+        void escribir(Producto producto) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Vaciado {
+        void vaciar() throws IOException;
+    }
+}
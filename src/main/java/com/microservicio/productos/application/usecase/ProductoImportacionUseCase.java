@@ -0,0 +1,208 @@
+// src/main/java/com/microservicio/productos/application/usecase/ProductoImportacionUseCase.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ImportacionDTO;
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+import com.microservicio.productos.application.dto.RechazoImportacionDTO;
+import com.microservicio.productos.domain.model.FilaImportacion;
+import com.microservicio.productos.domain.service.ProductoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductoImportacionUseCase {
+
+    private static final int IMPORTACIONES_RECIENTES = 20;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private ProductoUseCase productoUseCase;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${productos.importacion.max-rechazos-reportados:1000}")
+    private int maxRechazosReportados;
+
+    // Importaciones en curso y recientes, para consultar su progreso
+    private final Map<String, Progreso> importaciones = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Progreso> eldest) {
+                    return size() > IMPORTACIONES_RECIENTES;
+                }
+            });
+
+    public ImportacionDTO importar(InputStream contenido, boolean esCsv) {
+        Progreso progreso = new Progreso(esCsv ? "csv" : "ndjson");
+        importaciones.put(progreso.id, progreso);
+
+        BufferedReader lector = new BufferedReader(new InputStreamReader(contenido, StandardCharsets.UTF_8));
+        FilasValidadas filas = new FilasValidadas(new LectorFilasProducto(lector, esCsv, objectMapper), progreso);
+        try {
+            progreso.fusionados = productoService.importarProductos(filas);
+            progreso.estado = "COMPLETADA";
+        } catch (RuntimeException e) {
+            progreso.estado = "FALLIDA";
+            progreso.mensaje = e.getMessage();
+            throw e;
+        } finally {
+            progreso.fin = System.currentTimeMillis();
+        }
+        return progreso.aDTO();
+    }
+
+    public List<ImportacionDTO> listarImportaciones() {
+        synchronized (importaciones) {
+            return importaciones.values().stream()
+                    .map(Progreso::aDTO)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Iterador perezoso: cada llamada lee y valida solo las líneas necesarias para
+     * producir la siguiente fila válida, registrando las rechazadas en el progreso.
+     */
+    private final class FilasValidadas implements Iterator<FilaImportacion> {
+
+        private final LectorFilasProducto lector;
+        private final Progreso progreso;
+        private FilaImportacion siguiente;
+        private boolean terminado;
+
+        private FilasValidadas(LectorFilasProducto lector, Progreso progreso) {
+            this.lector = lector;
+            this.progreso = progreso;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (siguiente == null && !terminado) {
+                String linea;
+                try {
+                    linea = lector.siguienteLinea();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error al leer el archivo de importación", e);
+                }
+                if (linea == null) {
+                    terminado = true;
+                    break;
+                }
+                progreso.leidas.incrementAndGet();
+                siguiente = validar(linea, lector.getNumeroLinea());
+            }
+            return siguiente != null;
+        }
+
+        @Override
+        public FilaImportacion next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FilaImportacion fila = siguiente;
+            siguiente = null;
+            return fila;
+        }
+
+        private FilaImportacion validar(String linea, long numeroLinea) {
+            ProductoRequestDTO dto;
+            try {
+                dto = lector.convertir(linea);
+            } catch (IOException | RuntimeException e) {
+                progreso.rechazar(numeroLinea, "Línea mal formada: " + e.getMessage(), maxRechazosReportados);
+                return null;
+            }
+            // Una fila que la base no acepta abortaría el COPY entero: las restricciones de las
+            // columnas (largos, NUMERIC(10, 2)) están en ProductoRequestDTO y se comprueban aquí
+            Set<ConstraintViolation<ProductoRequestDTO>> violaciones = validator.validate(dto);
+            if (!violaciones.isEmpty()) {
+                progreso.rechazar(numeroLinea, violaciones.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")), maxRechazosReportados);
+                return null;
+            }
+            if (contieneNul(dto.getNombre(), dto.getDescripcion(), dto.getCategoria(), dto.getCodigoProducto())) {
+                progreso.rechazar(numeroLinea, "Los textos no pueden contener el carácter NUL", maxRechazosReportados);
+                return null;
+            }
+            progreso.validas.incrementAndGet();
+            return new FilaImportacion(numeroLinea, productoUseCase.convertirDTOaEntidad(dto));
+        }
+    }
+
+    // PostgreSQL no admite U+0000 en columnas de texto
+    private static boolean contieneNul(String... textos) {
+        for (String texto : textos) {
+            if (texto != null && texto.indexOf('\u0000') >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Progreso {
+
+        private final String id = UUID.randomUUID().toString();
+        private final String formato;
+        private final LocalDateTime fechaInicio = LocalDateTime.now();
+        private final long inicio = System.currentTimeMillis();
+        private final AtomicLong leidas = new AtomicLong();
+        private final AtomicLong validas = new AtomicLong();
+        private final AtomicLong rechazadas = new AtomicLong();
+        private final List<RechazoImportacionDTO> rechazos = Collections.synchronizedList(new ArrayList<>());
+        private volatile String estado = "EN_CURSO";
+        private volatile String mensaje;
+        private volatile long fusionados;
+        private volatile long fin;
+
+        private Progreso(String formato) {
+            this.formato = formato;
+        }
+
+        private void rechazar(long linea, String motivo, int maxReportados) {
+            if (rechazadas.incrementAndGet() <= maxReportados) {
+                rechazos.add(new RechazoImportacionDTO(linea, motivo));
+            }
+        }
+
+        private ImportacionDTO aDTO() {
+            long duracion = (fin > 0 ? fin : System.currentTimeMillis()) - inicio;
+            List<RechazoImportacionDTO> copiaRechazos;
+            synchronized (rechazos) {
+                copiaRechazos = new ArrayList<>(rechazos);
+            }
+            return new ImportacionDTO(id, formato, estado, fechaInicio, leidas.get(), validas.get(),
+                    rechazadas.get(), fusionados, duracion, mensaje, copiaRechazos);
+        }
+    }
+}
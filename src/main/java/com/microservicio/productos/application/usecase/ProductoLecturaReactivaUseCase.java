@@ -0,0 +1,47 @@
+// src/main/java/com/microservicio/productos/application/usecase/ProductoLecturaReactivaUseCase.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.repository.ProductoLecturaReactivaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Lecturas sin bloqueo para /api/v2/productos. Devuelve el mismo ProductoResponseDTO que la
+ * API v1; las escrituras siguen pasando por ProductoUseCase.
+ */
+@Component
+public class ProductoLecturaReactivaUseCase {
+
+    @Autowired
+    private ProductoLecturaReactivaRepository productoLecturaReactivaRepository;
+
+    @Autowired
+    private ProductoUseCase productoUseCase;
+
+    public Mono<ProductoResponseDTO> obtenerProductoPorId(Long id) {
+        return productoLecturaReactivaRepository.buscarPorId(id)
+                .map(productoUseCase::convertirEntidadaDTO);
+    }
+
+    public Flux<ProductoResponseDTO> listarProductos(Long despuesDe, String categoria, int limite) {
+        return productoLecturaReactivaRepository.listarDesde(despuesDe, categoria, limite)
+                .map(productoUseCase::convertirEntidadaDTO);
+    }
+
+    // Se responde en el orden pedido, sin repetidos; los ids inexistentes se omiten
+    public Mono<List<ProductoResponseDTO>> obtenerVarios(List<Long> ids) {
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        return productoLecturaReactivaRepository.buscarPorIds(unicos)
+                .map(productoUseCase::convertirEntidadaDTO)
+                .collectMap(ProductoResponseDTO::getId)
+                .map(porId -> unicos.stream().map(porId::get).filter(Objects::nonNull).toList());
+    }
+}
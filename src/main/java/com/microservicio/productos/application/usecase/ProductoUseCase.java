@@ -1,16 +1,56 @@
 // src/main/java/com/microservicio/productos/application/usecase/ProductoUseCase.java
 package com.microservicio.productos.application.usecase;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microservicio.productos.application.dto.CambiosDTO;
+import com.microservicio.productos.application.dto.LineaStockDTO;
+import com.microservicio.productos.application.dto.OperacionLoteDTO;
+import com.microservicio.productos.application.dto.PaginaCursorDTO;
 import com.microservicio.productos.application.dto.ProductoRequestDTO;
 import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.dto.ResultadoLoteDTO;
+import com.microservicio.productos.domain.model.CambioProducto;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.InstantaneaCambios;
+import com.microservicio.productos.domain.model.LineaStock;
+import com.microservicio.productos.domain.model.OperacionLote;
 import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.model.ResultadoBusqueda;
+import com.microservicio.productos.domain.model.ResultadoOperacionLote;
+import com.microservicio.productos.domain.model.SugerenciaProducto;
+import com.microservicio.productos.domain.model.TipoOperacionLote;
+import com.microservicio.productos.domain.service.ProductoLoteService;
 import com.microservicio.productos.domain.service.ProductoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -19,6 +59,21 @@ public class ProductoUseCase {
     @Autowired
     private ProductoService productoService;
 
+    @Autowired
+    private ProductoLoteService productoLoteService;
+
+    @Autowired
+    private AgrupadorLecturasProducto agrupadorLecturasProducto;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${productos.cambios.retencion:7d}")
+    private Duration retencionCambios;
+
     public ProductoResponseDTO crearProducto(ProductoRequestDTO requestDTO) {
         Producto producto = convertirDTOaEntidad(requestDTO);
         Producto productoGuardado = productoService.crearProducto(producto);
@@ -31,16 +86,122 @@ public class ProductoUseCase {
         return convertirEntidadaDTO(productoActualizado);
     }
 
+    public ProductoResponseDTO actualizarProducto(Long id, ProductoRequestDTO requestDTO, Set<Long> versionesEsperadas) {
+        Producto producto = convertirDTOaEntidad(requestDTO);
+        Producto productoActualizado = productoService.actualizarProducto(id, producto, versionesEsperadas);
+        return convertirEntidadaDTO(productoActualizado);
+    }
+
+    /**
+     * Valida un documento JSON merge patch: solo campos actualizables, con las mismas reglas que
+     * ProductoRequestDTO. Devuelve el mensaje de error o null si el parche es válido.
+     */
+    public String validarParche(ObjectNode parche) {
+        if (parche.isEmpty()) {
+            return "No se indicó ningún campo a actualizar";
+        }
+        try {
+            convertirParche(parche);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    public void actualizarParcialmente(Long id, ObjectNode parche, Set<Long> versionesEsperadas) {
+        productoService.actualizarParcialmente(id, convertirParche(parche), versionesEsperadas);
+    }
+
+    private Map<CampoActualizableProducto, Object> convertirParche(ObjectNode parche) {
+        Map<CampoActualizableProducto, Object> cambios = new EnumMap<>(CampoActualizableProducto.class);
+        Iterator<Map.Entry<String, JsonNode>> campos = parche.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> entrada = campos.next();
+            CampoActualizableProducto campo = CampoActualizableProducto.desdePropiedad(entrada.getKey());
+            Object valor;
+            try {
+                valor = objectMapper.treeToValue(entrada.getValue(), campo.getTipo());
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                throw new RuntimeException("Valor inválido para " + campo.getPropiedad());
+            }
+            Set<ConstraintViolation<ProductoRequestDTO>> violaciones =
+                    validator.validateValue(ProductoRequestDTO.class, campo.getPropiedad(), valor);
+            if (!violaciones.isEmpty()) {
+                throw new RuntimeException(violaciones.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            cambios.put(campo, valor);
+        }
+        return cambios;
+    }
+
+    public Optional<Long> obtenerVersion(Long id) {
+        return productoService.obtenerVersion(id);
+    }
+
     public void eliminarProducto(Long id) {
         productoService.eliminarProducto(id);
     }
 
+    // Cada operación se valida por separado: una inválida no impide aplicar las demás
+    public List<ResultadoLoteDTO> procesarLote(List<OperacionLoteDTO> operacionesDTO) {
+        List<ResultadoOperacionLote> resultados = new ArrayList<>(operacionesDTO.size());
+        List<OperacionLote> operaciones = new ArrayList<>(operacionesDTO.size());
+
+        for (int indice = 0; indice < operacionesDTO.size(); indice++) {
+            OperacionLoteDTO dto = operacionesDTO.get(indice);
+            OperacionLote operacion = new OperacionLote(indice, dto.getTipo(), dto.getId(),
+                    dto.getProducto() != null ? convertirDTOaEntidad(dto.getProducto()) : null);
+            String error = validarOperacion(dto);
+            if (error != null) {
+                resultados.add(ResultadoOperacionLote.error(operacion, error));
+            } else {
+                operaciones.add(operacion);
+            }
+        }
+
+        resultados.addAll(productoLoteService.procesar(operaciones));
+        return resultados.stream()
+                .sorted(Comparator.comparingInt(ResultadoOperacionLote::indice))
+                .map(r -> new ResultadoLoteDTO(r.indice(), r.tipo(), r.exito(), r.id(), r.mensaje()))
+                .collect(Collectors.toList());
+    }
+
+    // Devuelven los IDs rechazados; vacío significa que se aplicaron todas las líneas
+    public List<Long> reservarStock(List<LineaStockDTO> lineas) {
+        return productoService.reservarStock(convertirLineas(lineas));
+    }
+
+    public List<Long> liberarStock(List<LineaStockDTO> lineas) {
+        return productoService.liberarStock(convertirLineas(lineas));
+    }
+
+    private List<LineaStock> convertirLineas(List<LineaStockDTO> lineas) {
+        return lineas.stream()
+                .map(linea -> new LineaStock(linea.getProductoId(), linea.getCantidad()))
+                .collect(Collectors.toList());
+    }
+
+    // Las lecturas concurrentes de distintos ids se cargan juntas en una consulta
     public ProductoResponseDTO obtenerProductoPorId(Long id) {
-        return productoService.obtenerProductoPorId(id)
+        return agrupadorLecturasProducto.obtener(id)
                 .map(this::convertirEntidadaDTO)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
     }
 
+    // Se responde en el orden pedido, sin repetidos; los ids inexistentes se omiten
+    public List<ProductoResponseDTO> obtenerVarios(List<Long> ids) {
+        return productoService.obtenerProductosPorIds(List.copyOf(new LinkedHashSet<>(ids))).stream()
+                .map(this::convertirEntidadaDTO)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<ProductoResponseDTO> obtenerProductoPorCodigo(String codigoProducto) {
+        return productoService.obtenerProductoPorCodigo(codigoProducto).map(this::convertirEntidadaDTO);
+    }
+
     public List<ProductoResponseDTO> listarTodosLosProductos() {
         return productoService.listarTodosLosProductos()
                 .stream()
@@ -49,12 +210,293 @@ public class ProductoUseCase {
     }
 
     // Nuevo método con paginación
-    public Page<ProductoResponseDTO> listarProductosPaginados(Pageable pageable) {
-        return productoService.listarProductosPaginados(pageable)
+    public Page<ProductoResponseDTO> listarProductosPaginados(Pageable pageable, FiltroProductos filtro) {
+        return productoService.listarProductosPaginados(pageable, filtro)
                 .map(this::convertirEntidadaDTO);
     }
 
-    private Producto convertirDTOaEntidad(ProductoRequestDTO dto) {
+    public Slice<ProductoResponseDTO> listarProductosSinConteo(Pageable pageable, FiltroProductos filtro) {
+        return productoService.listarProductosSinConteo(pageable, filtro)
+                .map(this::convertirEntidadaDTO);
+    }
+
+    public List<FacetaCategoria> contarPorCategoria(FiltroProductos filtro) {
+        return productoService.contarPorCategoria(filtro);
+    }
+
+    public long obtenerTotalEstimado() {
+        return productoService.obtenerTotalEstimado();
+    }
+
+    public List<EstadisticaCategoria> obtenerEstadisticasPorCategoria() {
+        return productoService.obtenerEstadisticasPorCategoria();
+    }
+
+    public List<SugerenciaProducto> sugerirProductos(String prefijo, int limite) {
+        return productoService.sugerirProductos(prefijo, limite);
+    }
+
+    // Paginación por cursor: se pide un elemento extra para saber si hay más páginas
+    public PaginaCursorDTO<ProductoResponseDTO> listarProductosPorCursor(String cursor, CampoOrdenProducto campo,
+                                                                        boolean descendente, int size,
+                                                                        FiltroProductos filtro) {
+        Object valorDesde = null;
+        Long idDesde = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PosicionCursor posicion = decodificarCursor(cursor, campo, descendente);
+            idDesde = posicion.id();
+            valorDesde = posicion.valor();
+        }
+
+        List<Producto> productos = productoService.listarProductosPorCursor(
+                campo, descendente, valorDesde, idDesde, size + 1, filtro);
+        boolean hayMas = productos.size() > size;
+        if (hayMas) {
+            productos = productos.subList(0, size);
+        }
+        String siguienteCursor = hayMas
+                ? codificarCursor(campo, descendente, productos.get(productos.size() - 1))
+                : null;
+
+        List<ProductoResponseDTO> contenido = productos.stream()
+                .map(this::convertirEntidadaDTO)
+                .collect(Collectors.toList());
+        return new PaginaCursorDTO<>(contenido, siguienteCursor, hayMas);
+    }
+
+    /**
+     * Valida un cursor de listarProductosPorCursor contra el ordenamiento pedido. Devuelve el
+     * mensaje de error o null si el cursor es válido (o no se recibió).
+     */
+    public String validarCursor(String cursor, CampoOrdenProducto campo, boolean descendente) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            decodificarCursor(cursor, campo, descendente);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Igual que validarCursor, para el cursor de buscarProductos
+    public String validarCursorBusqueda(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            decodificarCursorBusqueda(cursor);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Búsqueda por relevancia; el cursor guarda rango|id del último resultado
+    public PaginaCursorDTO<ProductoResponseDTO> buscarProductos(String texto, String cursor, int size) {
+        Float rangoDesde = null;
+        Long idDesde = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PosicionBusqueda posicion = decodificarCursorBusqueda(cursor);
+            rangoDesde = posicion.rango();
+            idDesde = posicion.id();
+        }
+
+        List<ResultadoBusqueda> resultados = productoService.buscarProductos(texto, rangoDesde, idDesde, size + 1);
+        boolean hayMas = resultados.size() > size;
+        if (hayMas) {
+            resultados = resultados.subList(0, size);
+        }
+        String siguienteCursor = null;
+        if (hayMas) {
+            ResultadoBusqueda ultimo = resultados.get(resultados.size() - 1);
+            siguienteCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (ultimo.rango() + "|" + ultimo.producto().getId()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<ProductoResponseDTO> contenido = resultados.stream()
+                .map(resultado -> convertirEntidadaDTO(resultado.producto()))
+                .collect(Collectors.toList());
+        return new PaginaCursorDTO<>(contenido, siguienteCursor, hayMas);
+    }
+
+    /**
+     * Productos escritos y eliminados desde el token (sin token: el catálogo completo, sin
+     * lápidas). Cada ronda recorre por (xid, id) lo escrito desde su xid inicial, en una o más
+     * páginas; la última devuelve un token que empieza en el horizonte tomado en la primera.
+     * Un producto puede llegar más de una vez: el cliente aplica los cambios por id.
+     */
+    // Un token alterado o de un formato anterior: el cliente debe repetir la sincronización sin token
+    public String validarTokenCambios(String desde) {
+        if (desde == null || desde.isBlank()) {
+            return null;
+        }
+        try {
+            TokenCambios.decodificar(desde);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    public CambiosDTO obtenerCambios(String desde, int size) {
+        TokenCambios token = desde == null || desde.isBlank() ? TokenCambios.INICIAL : TokenCambios.decodificar(desde);
+        InstantaneaCambios instantanea = productoService.obtenerInstantaneaCambios();
+        // Las lápidas más viejas que la retención ya pueden estar purgadas
+        boolean resincronizar = token.ronda() > 0
+                && token.emitido() < instantanea.fecha().minus(retencionCambios).toEpochMilli();
+        if (resincronizar) {
+            token = TokenCambios.INICIAL;
+        }
+        if (!token.enCurso()) {
+            token = token.iniciar(instantanea);
+        }
+
+        List<CambioProducto> cambios = productoService.listarCambios(token.xid(), token.id(), token.ronda() > 0, size + 1);
+        boolean hayMas = cambios.size() > size;
+        if (hayMas) {
+            cambios = cambios.subList(0, size);
+        }
+        TokenCambios siguiente = hayMas ? token.continuarTras(cambios.get(cambios.size() - 1)) : token.siguienteRonda();
+
+        List<ProductoResponseDTO> productos = new ArrayList<>();
+        List<Long> eliminados = new ArrayList<>();
+        for (CambioProducto cambio : cambios) {
+            if (cambio.eliminado()) {
+                eliminados.add(cambio.id());
+            } else {
+                productos.add(convertirEntidadaDTO(cambio.producto()));
+            }
+        }
+        return new CambiosDTO(productos, eliminados, siguiente.codificar(), hayMas, resincronizar);
+    }
+
+    /**
+     * Token opaco de /cambios: ronda|emitido entre rondas; a mitad de una, además
+     * horizonte|fechaHorizonte|xid|id. emitido es la hora en que se tomó el xid de la ronda.
+     */
+    private record TokenCambios(long ronda, long emitido, long horizonte, long fechaHorizonte, long xid, long id) {
+
+        static final TokenCambios INICIAL = new TokenCambios(0, 0, -1, 0, 0, 0);
+
+        boolean enCurso() {
+            return horizonte >= 0;
+        }
+
+        TokenCambios iniciar(InstantaneaCambios instantanea) {
+            return new TokenCambios(ronda, emitido, instantanea.horizonte(), instantanea.fecha().toEpochMilli(), ronda, 0);
+        }
+
+        TokenCambios continuarTras(CambioProducto ultimo) {
+            return new TokenCambios(ronda, emitido, horizonte, fechaHorizonte, ultimo.xid(), ultimo.id());
+        }
+
+        TokenCambios siguienteRonda() {
+            return new TokenCambios(Math.max(ronda, horizonte), fechaHorizonte, -1, 0, 0, 0);
+        }
+
+        String codificar() {
+            String contenido = ronda + "|" + emitido;
+            if (enCurso()) {
+                contenido += "|" + horizonte + "|" + fechaHorizonte + "|" + xid + "|" + id;
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TokenCambios decodificar(String token) {
+            long[] valores;
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+                valores = new long[partes.length];
+                for (int i = 0; i < partes.length; i++) {
+                    valores[i] = Long.parseLong(partes[i]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Token de cambios inválido");
+            }
+            return switch (valores.length) {
+                case 2 -> new TokenCambios(valores[0], valores[1], -1, 0, 0, 0);
+                case 6 -> new TokenCambios(valores[0], valores[1], valores[2], valores[3], valores[4], valores[5]);
+                default -> throw new RuntimeException("Token de cambios inválido");
+            };
+        }
+    }
+
+    // El cursor es opaco para el cliente: campo|dirección|id|valor en Base64 URL
+    private String codificarCursor(CampoOrdenProducto campo, boolean descendente, Producto ultimo) {
+        Object valor = campo.valorDe(ultimo);
+        String valorTexto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(valor);
+        String contenido = campo.getPropiedad() + "|" + (descendente ? "desc" : "asc") + "|"
+                + ultimo.getId() + "|" + valorTexto;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record PosicionCursor(Long id, Object valor) {
+    }
+
+    private record PosicionBusqueda(Float rango, Long id) {
+    }
+
+    private PosicionBusqueda decodificarCursorBusqueda(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            Float rango = Float.valueOf(partes[0]);
+            // NaN o infinito no salen de ts_rank: el cursor no es nuestro
+            if (!Float.isFinite(rango)) {
+                throw new NumberFormatException(partes[0]);
+            }
+            return new PosicionBusqueda(rango, Long.valueOf(partes[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
+
+    private PosicionCursor decodificarCursor(String cursor, CampoOrdenProducto campo, boolean descendente) {
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+        if (partes.length != 4
+                || !partes[0].equals(campo.getPropiedad())
+                || !partes[1].equals(descendente ? "desc" : "asc")) {
+            throw new RuntimeException("Cursor inválido para el ordenamiento solicitado");
+        }
+        // Un cursor alterado no debe llegar a la consulta: id o valor ilegibles también son inválidos
+        try {
+            return new PosicionCursor(Long.valueOf(partes[2]), campo.parsear(partes[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
+
+    private String validarOperacion(OperacionLoteDTO dto) {
+        if (dto.getTipo() == null) {
+            return "El tipo de operación es obligatorio";
+        }
+        if (dto.getTipo() != TipoOperacionLote.CREAR && dto.getId() == null) {
+            return "El ID es obligatorio para " + dto.getTipo();
+        }
+        if (dto.getTipo() == TipoOperacionLote.ELIMINAR) {
+            return null;
+        }
+        if (dto.getProducto() == null) {
+            return "Los datos del producto son obligatorios para " + dto.getTipo();
+        }
+        Set<ConstraintViolation<ProductoRequestDTO>> violaciones = validator.validate(dto.getProducto());
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    Producto convertirDTOaEntidad(ProductoRequestDTO dto) {
         Producto producto = new Producto();
         producto.setNombre(dto.getNombre());
         producto.setDescripcion(dto.getDescripcion());
@@ -66,7 +508,7 @@ public class ProductoUseCase {
         return producto;
     }
 
-    private ProductoResponseDTO convertirEntidadaDTO(Producto producto) {
+    ProductoResponseDTO convertirEntidadaDTO(Producto producto) {
         return new ProductoResponseDTO(
                 producto.getId(),
                 producto.getNombre(),
@@ -77,7 +519,8 @@ public class ProductoUseCase {
                 producto.getCodigoProducto(),
                 producto.getEstaActivo(),
                 producto.getFechaCreacion(),
-                producto.getFechaActualizacion()
+                producto.getFechaActualizacion(),
+                producto.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+// src/main/java/com/microservicio/productos/config/CacheSegundoNivelConfig.java
+package com.microservicio.productos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.microservicio.productos.domain.model.Producto;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate para Producto: una región con las entidades por id y
+ * otra con la resolución codigoProducto -> id. Ambas son locales al proceso (Caffeine vía
+ * JCache) y se crean aquí con su tamaño y expiración; el CacheManager se pasa a Hibernate ya
+ * armado, así no hace falta un archivo de configuración del proveedor.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Value("${productos.cache-segundo-nivel.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${productos.cache-segundo-nivel.max-entradas:10000}")
+    private long maxEntradas;
+
+    // Con varias instancias, lo que otra escribe se ve aquí como mucho tras este tiempo
+    @Value("${productos.cache-segundo-nivel.ttl:30s}")
+    private Duration ttl;
+
+    // Como dependencia del EntityManagerFactory, se cierra después de él
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel() {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(Producto.REGION_CACHE, configuracionRegion());
+        cacheManager.createCache(Producto.REGION_CACHE_CODIGO, configuracionRegion());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, habilitado);
+            propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            propiedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+            // Una región que no se creó arriba es un error de configuración, no se crea sin límites
+            propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> configuracionRegion() {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setMaximumSize(OptionalLong.of(maxEntradas));
+        configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracion.setStatisticsEnabled(true);
+        return configuracion;
+    }
+}
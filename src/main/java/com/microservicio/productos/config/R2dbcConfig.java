@@ -0,0 +1,69 @@
+// src/main/java/com/microservicio/productos/config/R2dbcConfig.java
+package com.microservicio.productos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * DatabaseClient de la API de lectura reactiva (/api/v2/productos), con su propio pool R2DBC.
+ * El ConnectionFactory no se publica como bean: si existiera, Spring Boot dejaría de
+ * configurar el DataSource que usan JPA, Flyway y JdbcTemplate (por eso también se excluye
+ * R2dbcAutoConfiguration en ProductosApplication).
+ */
+@Configuration
+public class R2dbcConfig {
+
+    @Value("${productos.lectura-reactiva.url}")
+    private String url;
+
+    @Value("${productos.lectura-reactiva.usuario}")
+    private String usuario;
+
+    @Value("${productos.lectura-reactiva.contrasena}")
+    private String contrasena;
+
+    @Value("${productos.lectura-reactiva.max-conexiones:10}")
+    private int maxConexiones;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, contrasena)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .name("lectura-reactiva")
+                .initialSize(0)
+                .maxSize(maxConexiones)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        // Las mismas métricas r2dbc.pool.* que publicaría la autoconfiguración de Spring Boot
+        new ConnectionPoolMetrics(pool, "lectura-reactiva", Tags.empty()).bindTo(meterRegistry);
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -2,7 +2,11 @@
 package com.microservicio.productos.config;
 
 import com.microservicio.productos.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,21 +14,39 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    public static final String[] RUTAS_PUBLICAS = {
+        "/", "/health", "/health/**",
+        "/api/swagger-ui.html", "/api/swagger-ui/**", "/api/api-docs/**", "/swagger-ui/**", "/v3/api-docs/**"
+    };
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${server.port:8080}")
+    private int puertoServidor;
+
+    @Value("${management.server.port:-1}")
+    private int puertoGestion;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/health").permitAll()
-                .requestMatchers("/api/swagger-ui.html", "/api/swagger-ui/**", "/api/api-docs/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers(RUTAS_PUBLICAS).permitAll()
+                // El scraper consulta /actuator/prometheus sin token, pero solo por el puerto de
+                // gestión (no publicado fuera de la red interna); el servidor de gestión usa esta
+                // misma cadena de filtros
+                .requestMatchers(new AndRequestMatcher(EndpointRequest.to("prometheus"), this::esPuertoGestion)).permitAll()
+                // Las respuestas Mono/Flux (/api/v2) se escriben en un despacho ASYNC de la
+                // petición ya autenticada, que sin sesión no conserva el SecurityContext
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -34,4 +56,9 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    // Con el mismo puerto que la API las métricas no quedan públicas: piden token como el resto
+    private boolean esPuertoGestion(HttpServletRequest request) {
+        return puertoGestion > 0 && puertoGestion != puertoServidor && request.getLocalPort() == puertoGestion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+// src/main/java/com/microservicio/productos/config/WebConfig.java
+package com.microservicio.productos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Antes que el conversor genérico de Jackson, para que los sobres tipados usen el suyo
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RespuestaHttpMessageConverter(objectMapper));
+    }
+}
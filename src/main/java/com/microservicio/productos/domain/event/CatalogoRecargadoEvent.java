@@ -0,0 +1,9 @@
+// src/main/java/com/microservicio/productos/domain/event/CatalogoRecargadoEvent.java
+package com.microservicio.productos.domain.event;
+
+/**
+ * Evento de escritura masiva (por ejemplo una importación) en la que no se publica un
+ * evento por producto: los oyentes deben descartar o reconstruir su estado derivado.
+ */
+public record CatalogoRecargadoEvent(long productosAfectados) {
+}
@@ -0,0 +1,35 @@
+// src/main/java/com/microservicio/productos/domain/event/ProductoModificadoEvent.java
+package com.microservicio.productos.domain.event;
+
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Evento publicado por ProductoService en cada escritura. Los oyentes que
+ * mantienen copias derivadas (cachés, índices) lo procesan tras el commit.
+ * valores lleva los campos cuyo valor nuevo se conoce sin consultar la base:
+ * todos al crear o reemplazar, solo los enviados en un PATCH y ninguno al eliminar
+ * o al ajustar stock (ese caso se describe con StockAjustadoEvent).
+ */
+public record ProductoModificadoEvent(Long id, TipoModificacion tipo, Map<CampoActualizableProducto, Object> valores) {
+
+    public enum TipoModificacion {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO
+    }
+
+    public ProductoModificadoEvent {
+        // EnumMap admite valores null (un PATCH puede vaciar la descripción)
+        valores = valores == null || valores.isEmpty()
+                ? Map.of()
+                : Collections.unmodifiableMap(new EnumMap<>(valores));
+    }
+
+    public ProductoModificadoEvent(Long id, TipoModificacion tipo) {
+        this(id, tipo, Map.of());
+    }
+}
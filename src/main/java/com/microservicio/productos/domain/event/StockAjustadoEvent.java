@@ -0,0 +1,15 @@
+// src/main/java/com/microservicio/productos/domain/event/StockAjustadoEvent.java
+package com.microservicio.productos.domain.event;
+
+import java.util.Map;
+
+/**
+ * Reserva o liberación de stock confirmada: variación de unidades por producto
+ * (negativa al reservar). El UPDATE condicional no devuelve el stock resultante.
+ */
+public record StockAjustadoEvent(Map<Long, Integer> variaciones) {
+
+    public StockAjustadoEvent {
+        variaciones = Map.copyOf(variaciones);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/microservicio/productos/domain/model/CambioProducto.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Producto escrito o eliminado por la transacción xid. Si se eliminó, producto es null.
+ */
+public record CambioProducto(long xid, Long id, Producto producto) {
+
+    public boolean eliminado() {
+        return producto == null;
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/microservicio/productos/domain/model/CampoActualizableProducto.java
+package com.microservicio.productos.domain.model;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Campos que admite una actualización parcial (PATCH). La sentencia UPDATE se arma
+ * solo con las propiedades de este enum, nunca con nombres recibidos en el request.
+ */
+public enum CampoActualizableProducto {
+
+    NOMBRE("nombre", "nombre", String.class),
+    DESCRIPCION("descripcion", "descripcion", String.class),
+    PRECIO("precio", "precio", BigDecimal.class),
+    STOCK("stock", "stock", Integer.class),
+    CATEGORIA("categoria", "categoria", String.class),
+    CODIGO_PRODUCTO("codigoProducto", "codigo_producto", String.class),
+    ESTA_ACTIVO("estaActivo", "esta_activo", Boolean.class);
+
+    private final String propiedad;
+    private final String columna;
+    private final Class<?> tipo;
+
+    CampoActualizableProducto(String propiedad, String columna, Class<?> tipo) {
+        this.propiedad = propiedad;
+        this.columna = columna;
+        this.tipo = tipo;
+    }
+
+    public String getPropiedad() {
+        return propiedad;
+    }
+
+    public String getColumna() {
+        return columna;
+    }
+
+    public Class<?> getTipo() {
+        return tipo;
+    }
+
+    public Object valorEn(Producto producto) {
+        return switch (this) {
+            case NOMBRE -> producto.getNombre();
+            case DESCRIPCION -> producto.getDescripcion();
+            case PRECIO -> producto.getPrecio();
+            case STOCK -> producto.getStock();
+            case CATEGORIA -> producto.getCategoria();
+            case CODIGO_PRODUCTO -> producto.getCodigoProducto();
+            case ESTA_ACTIVO -> producto.getEstaActivo();
+        };
+    }
+
+    // Estado completo del producto, en el mismo formato que los cambios de un PATCH
+    public static Map<CampoActualizableProducto, Object> valoresDe(Producto producto) {
+        Map<CampoActualizableProducto, Object> valores = new EnumMap<>(CampoActualizableProducto.class);
+        for (CampoActualizableProducto campo : values()) {
+            valores.put(campo, campo.valorEn(producto));
+        }
+        return valores;
+    }
+
+    public static CampoActualizableProducto desdePropiedad(String propiedad) {
+        for (CampoActualizableProducto campo : values()) {
+            if (campo.propiedad.equals(propiedad)) {
+                return campo;
+            }
+        }
+        throw new RuntimeException("Campo no actualizable: " + propiedad);
+    }
+}
@@ -0,0 +1,63 @@
+// src/main/java/com/microservicio/productos/domain/model/CampoOrdenProducto.java
+package com.microservicio.productos.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Campos por los que se permite ordenar el listado. Cada uno está respaldado
+ * por un índice (columna, id) en la tabla productos.
+ */
+public enum CampoOrdenProducto {
+
+    ID("id", "id", Producto::getId, Long::valueOf),
+    NOMBRE("nombre", "nombre", Producto::getNombre, valor -> valor),
+    PRECIO("precio", "precio", Producto::getPrecio, BigDecimal::new),
+    FECHA_CREACION("fechaCreacion", "fecha_creacion", Producto::getFechaCreacion, LocalDateTime::parse);
+
+    private final String propiedad;
+    private final String columna;
+    private final Function<Producto, Object> extractor;
+    private final Function<String, Object> parser;
+
+    CampoOrdenProducto(String propiedad, String columna,
+                       Function<Producto, Object> extractor, Function<String, Object> parser) {
+        this.propiedad = propiedad;
+        this.columna = columna;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getPropiedad() {
+        return propiedad;
+    }
+
+    public String getColumna() {
+        return columna;
+    }
+
+    public Object valorDe(Producto producto) {
+        return extractor.apply(producto);
+    }
+
+    public Object parsear(String valor) {
+        return parser.apply(valor);
+    }
+
+    public static CampoOrdenProducto desdePropiedad(String propiedad) {
+        return buscarPorPropiedad(propiedad)
+                .orElseThrow(() -> new RuntimeException("Campo de ordenamiento no permitido: " + propiedad));
+    }
+
+    // Para validar el parámetro sortBy sin excepción: vacío si el campo no tiene índice
+    public static Optional<CampoOrdenProducto> buscarPorPropiedad(String propiedad) {
+        for (CampoOrdenProducto campo : values()) {
+            if (campo.propiedad.equals(propiedad)) {
+                return Optional.of(campo);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,13 @@
+// src/main/java/com/microservicio/productos/domain/model/EstadisticaCategoria.java
+package com.microservicio.productos.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Agregados de una categoría: cantidad de productos, stock total, valor del inventario
+ * (suma de precio * stock) y precio mínimo, máximo y promedio.
+ */
+public record EstadisticaCategoria(String categoria, long cantidadProductos, long stockTotal,
+                                   BigDecimal valorInventario, BigDecimal precioMinimo,
+                                   BigDecimal precioMaximo, BigDecimal precioPromedio) {
+}
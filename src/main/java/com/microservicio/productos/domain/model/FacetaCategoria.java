@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/FacetaCategoria.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Cantidad de productos de una categoría que cumplen los filtros (categoria null = sin categoría).
+ */
+public record FacetaCategoria(String categoria, long cantidad) {
+}
@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/FilaImportacion.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Producto ya validado de un archivo de importación junto con su número de línea.
+ */
+public record FilaImportacion(long linea, Producto producto) {
+}
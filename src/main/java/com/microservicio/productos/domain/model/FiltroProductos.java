@@ -0,0 +1,23 @@
+// src/main/java/com/microservicio/productos/domain/model/FiltroProductos.java
+package com.microservicio.productos.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros opcionales del listado; un valor null (o soloConStock en false) no filtra.
+ */
+public record FiltroProductos(String categoria, BigDecimal precioMinimo, BigDecimal precioMaximo,
+                              boolean soloConStock, Boolean estaActivo) {
+
+    public static final FiltroProductos SIN_FILTRO = new FiltroProductos(null, null, null, false, null);
+
+    public boolean estaVacio() {
+        return categoria == null && precioMinimo == null && precioMaximo == null
+                && !soloConStock && estaActivo == null;
+    }
+
+    // Las facetas por categoría se cuentan con el resto de filtros, pero no con el de categoría
+    public FiltroProductos sinCategoria() {
+        return new FiltroProductos(null, precioMinimo, precioMaximo, soloConStock, estaActivo);
+    }
+}
@@ -0,0 +1,11 @@
+// src/main/java/com/microservicio/productos/domain/model/InstantaneaCambios.java
+package com.microservicio.productos.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Estado de la base al empezar una página de cambios: horizonte es el xmin de la instantánea
+ * (toda transacción con xid menor ya terminó) y fecha la hora del servidor.
+ */
+public record InstantaneaCambios(long horizonte, Instant fecha) {
+}
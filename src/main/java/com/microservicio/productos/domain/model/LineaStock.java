@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/LineaStock.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Cantidad de unidades de un producto a reservar o liberar.
+ */
+public record LineaStock(Long productoId, int cantidad) {
+}
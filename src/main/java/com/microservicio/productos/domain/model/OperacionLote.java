@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/OperacionLote.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Una operación de un lote masivo. El índice es la posición en la petición original.
+ */
+public record OperacionLote(int indice, TipoOperacionLote tipo, Long id, Producto producto) {
+}
@@ -5,19 +5,41 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", uniqueConstraints = {
+        @UniqueConstraint(name = Producto.UK_CODIGO_PRODUCTO, columnNames = "codigo_producto")
+}, indexes = {
+        @Index(name = "idx_productos_nombre_id", columnList = "nombre, id"),
+        @Index(name = "idx_productos_precio_id", columnList = "precio, id"),
+        @Index(name = "idx_productos_fecha_creacion_id", columnList = "fecha_creacion, id"),
+        @Index(name = "idx_productos_categoria_activo_precio", columnList = "categoria, esta_activo, precio, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Producto.REGION_CACHE)
+@NaturalIdCache(region = Producto.REGION_CACHE_CODIGO)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Producto {
 
+    // Las escrituras se apoyan en esta restricción en lugar de consultar antes si el código existe
+    public static final String UK_CODIGO_PRODUCTO = "uk_productos_codigo_producto";
+
+    // Regiones de la caché de segundo nivel (CacheSegundoNivelConfig): entidades por id y codigoProducto -> id
+    public static final String REGION_CACHE = "productos";
+    public static final String REGION_CACHE_CODIGO = "productos-codigo";
+
+    // Secuencia pooled (incremento 50): permite agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -35,18 +57,25 @@ public class Producto {
     @Column(length = 50)
     private String categoria;
 
-    @Column(name = "codigo_producto", unique = true, length = 50)
+    // Identificador natural de las integraciones; mutable porque PUT y PATCH pueden cambiarlo
+    @NaturalId(mutable = true)
+    @Column(name = "codigo_producto", length = 50)
     private String codigoProducto;
 
     @Column(name = "esta_activo")
     private Boolean estaActivo = true;
 
-    @Column(name = "fecha_creacion", updatable = false)
+    @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
 
+    // Bloqueo optimista: cada UPDATE la incrementa y es la base del ETag del producto
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         fechaCreacion = LocalDateTime.now();
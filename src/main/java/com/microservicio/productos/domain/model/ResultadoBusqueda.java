@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/ResultadoBusqueda.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Producto encontrado por la búsqueda de texto junto con su relevancia (ts_rank_cd).
+ */
+public record ResultadoBusqueda(Producto producto, float rango) {
+}
@@ -0,0 +1,13 @@
+// src/main/java/com/microservicio/productos/domain/model/ResultadoOperacionLote.java
+package com.microservicio.productos.domain.model;
+
+public record ResultadoOperacionLote(int indice, TipoOperacionLote tipo, boolean exito, Long id, String mensaje) {
+
+    public static ResultadoOperacionLote exito(OperacionLote operacion, Long id) {
+        return new ResultadoOperacionLote(operacion.indice(), operacion.tipo(), true, id, null);
+    }
+
+    public static ResultadoOperacionLote error(OperacionLote operacion, String mensaje) {
+        return new ResultadoOperacionLote(operacion.indice(), operacion.tipo(), false, operacion.id(), mensaje);
+    }
+}
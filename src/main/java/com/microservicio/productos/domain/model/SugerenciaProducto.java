@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/SugerenciaProducto.java
+package com.microservicio.productos.domain.model;
+
+/**
+ * Resultado del autocompletado: lo mínimo para mostrar y seleccionar el producto.
+ */
+public record SugerenciaProducto(Long id, String codigoProducto, String nombre) {
+}
@@ -0,0 +1,8 @@
+// src/main/java/com/microservicio/productos/domain/model/TipoOperacionLote.java
+package com.microservicio.productos.domain.model;
+
+public enum TipoOperacionLote {
+    CREAR,
+    ACTUALIZAR,
+    ELIMINAR
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/microservicio/productos/domain/repository/ProductoLecturaReactivaRepository.java
+package com.microservicio.productos.domain.repository;
+
+import com.microservicio.productos.domain.model.Producto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ProductoLecturaReactivaRepository {
+    Mono<Producto> buscarPorId(Long id);
+    Flux<Producto> buscarPorIds(Collection<Long> ids);
+    Flux<Producto> listarDesde(Long idDesde, String categoria, int limite);
+}
@@ -1,6 +1,8 @@
 // src/main/java/com/microservicio/productos/domain/repository/ProductoRepository.java
 package com.microservicio.productos.domain.repository;
 
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FiltroProductos;
 import com.microservicio.productos.domain.model.Producto;
 
 import java.util.List;
@@ -9,8 +11,11 @@ import java.util.Optional;
 public interface ProductoRepository {
     Producto guardar(Producto producto);
     Optional<Producto> buscarPorId(Long id);
+    List<Producto> buscarPorIds(List<Long> ids);
     List<Producto> listarTodos();
-    void eliminar(Long id);
+    boolean eliminar(Long id);
     boolean existePorCodigoProducto(String codigoProducto);
     Optional<Producto> buscarPorCodigoProducto(String codigoProducto);
+    List<Producto> listarPorCursor(CampoOrdenProducto campo, boolean descendente,
+                                   Object valorDesde, Long idDesde, int limite, FiltroProductos filtro);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+// src/main/java/com/microservicio/productos/domain/service/ProductoLoteService.java
+package com.microservicio.productos.domain.service;
+
+import com.microservicio.productos.domain.model.OperacionLote;
+import com.microservicio.productos.domain.model.ResultadoOperacionLote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divide un lote masivo en bloques y aplica cada bloque en su propia transacción,
+ * de modo que un fallo solo revierte el bloque afectado.
+ */
+@Service
+public class ProductoLoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoLoteService.class);
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Value("${productos.lote.tamano-transaccion:500}")
+    private int tamanoTransaccion;
+
+    public List<ResultadoOperacionLote> procesar(List<OperacionLote> operaciones) {
+        List<ResultadoOperacionLote> resultados = new ArrayList<>(operaciones.size());
+        for (int inicio = 0; inicio < operaciones.size(); inicio += tamanoTransaccion) {
+            List<OperacionLote> bloque = operaciones.subList(inicio,
+                    Math.min(inicio + tamanoTransaccion, operaciones.size()));
+            try {
+                resultados.addAll(productoService.aplicarLote(bloque));
+            } catch (Exception e) {
+                log.warn("Bloque de {} operaciones revertido: {}", bloque.size(), e.getMessage());
+                for (OperacionLote operacion : bloque) {
+                    resultados.add(ResultadoOperacionLote.error(operacion,
+                            "Bloque revertido: " + e.getMessage()));
+                }
+            }
+        }
+        return resultados;
+    }
+}
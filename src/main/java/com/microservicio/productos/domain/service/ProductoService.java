@@ -2,16 +2,59 @@
 
 package com.microservicio.productos.domain.service;
 
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import com.microservicio.productos.domain.event.StockAjustadoEvent;
+import com.microservicio.productos.domain.model.CambioProducto;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FilaImportacion;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.InstantaneaCambios;
+import com.microservicio.productos.domain.model.LineaStock;
+import com.microservicio.productos.domain.model.OperacionLote;
 import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.model.ResultadoBusqueda;
+import com.microservicio.productos.domain.model.ResultadoOperacionLote;
+import com.microservicio.productos.domain.model.SugerenciaProducto;
+import com.microservicio.productos.domain.model.TipoOperacionLote;
+import com.microservicio.productos.infrastructure.cache.IndicePrefijosProductos;
+import com.microservicio.productos.infrastructure.persistence.EstadisticasPorCategoria;
+import com.microservicio.productos.infrastructure.persistence.EstimadorTotalProductos;
+import com.microservicio.productos.infrastructure.persistence.ProductoBusquedaRepository;
+import com.microservicio.productos.infrastructure.persistence.ProductoCambiosRepository;
+import com.microservicio.productos.infrastructure.persistence.ProductoCopyRepository;
+import com.microservicio.productos.infrastructure.persistence.ProductoExportacionRepository;
 import com.microservicio.productos.infrastructure.persistence.ProductoRepositoryImpl;
+import com.microservicio.productos.infrastructure.persistence.ProductoStockRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -20,50 +63,379 @@ public class ProductoService {
     @Autowired
     private ProductoRepositoryImpl productoRepository;
 
+    @Autowired
+    private EstimadorTotalProductos estimadorTotalProductos;
+
+    @Autowired
+    private EstadisticasPorCategoria estadisticasPorCategoria;
+
+    @Autowired
+    private IndicePrefijosProductos indicePrefijosProductos;
+
+    @Autowired
+    private ProductoCopyRepository productoCopyRepository;
+
+    @Autowired
+    private ProductoExportacionRepository productoExportacionRepository;
+
+    @Autowired
+    private ProductoStockRepository productoStockRepository;
+
+    @Autowired
+    private ProductoCambiosRepository productoCambiosRepository;
+
+    @Autowired
+    private ProductoBusquedaRepository productoBusquedaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Sin consulta previa del código: el INSERT sale en el flush y la restricción única decide
     public Producto crearProducto(Producto producto) {
-        if (productoRepository.existePorCodigoProducto(producto.getCodigoProducto())) {
-            throw new RuntimeException("Ya existe un producto con el código: " + producto.getCodigoProducto());
+        Producto productoGuardado = productoRepository.guardar(producto);
+        try {
+            productoRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw traducirViolacion(e, producto.getCodigoProducto());
         }
-        return productoRepository.guardar(producto);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(productoGuardado.getId(), TipoModificacion.CREADO,
+                CampoActualizableProducto.valoresDe(productoGuardado)));
+        return productoGuardado;
     }
 
     public Producto actualizarProducto(Long id, Producto producto) {
+        return actualizarProducto(id, producto, null);
+    }
+
+    /**
+     * Con versionesEsperadas (If-Match) la actualización solo procede si la versión actual es
+     * una de ellas; si no, o si otra transacción escribe antes del flush, se lanza
+     * ObjectOptimisticLockingFailureException.
+     */
+    public Producto actualizarProducto(Long id, Producto producto, Set<Long> versionesEsperadas) {
         Producto productoExistente = productoRepository.buscarPorId(id)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + id));
 
-        if (!productoExistente.getCodigoProducto().equals(producto.getCodigoProducto()) &&
-                productoRepository.existePorCodigoProducto(producto.getCodigoProducto())) {
-            throw new RuntimeException("Ya existe un producto con el código: " + producto.getCodigoProducto());
+        if (versionesEsperadas != null && !versionesEsperadas.contains(productoExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Producto.class, id);
         }
 
-        productoExistente.setNombre(producto.getNombre());
-        productoExistente.setDescripcion(producto.getDescripcion());
-        productoExistente.setPrecio(producto.getPrecio());
-        productoExistente.setStock(producto.getStock());
-        productoExistente.setCategoria(producto.getCategoria());
-        productoExistente.setCodigoProducto(producto.getCodigoProducto());
-        productoExistente.setEstaActivo(producto.getEstaActivo());
+        copiarDatos(producto, productoExistente);
+
+        Producto productoActualizado = productoRepository.guardar(productoExistente);
+        // Flush aquí para que la respuesta lleve la versión nueva (y su ETag) y para que un
+        // código repetido se detecte por la restricción única, sin consulta previa
+        try {
+            productoRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw traducirViolacion(e, producto.getCodigoProducto());
+        }
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, TipoModificacion.ACTUALIZADO,
+                CampoActualizableProducto.valoresDe(productoActualizado)));
+        return productoActualizado;
+    }
 
-        return productoRepository.guardar(productoExistente);
+    /**
+     * PATCH: un solo UPDATE de las columnas recibidas. Un código repetido lo rechaza la
+     * restricción única y el 404 se deduce de las filas afectadas.
+     */
+    public void actualizarParcialmente(Long id, Map<CampoActualizableProducto, Object> cambios,
+                                       Set<Long> versionesEsperadas) {
+        int filas;
+        try {
+            filas = productoRepository.actualizarCampos(id, cambios, versionesEsperadas);
+        } catch (DataIntegrityViolationException e) {
+            throw traducirViolacion(e, (String) cambios.get(CampoActualizableProducto.CODIGO_PRODUCTO));
+        }
+        if (filas == 0) {
+            // Solo en el caso de fallo se distingue versión obsoleta de producto inexistente
+            if (versionesEsperadas != null && productoRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Producto.class, id);
+            }
+            throw new RuntimeException("Producto no encontrado con ID: " + id);
+        }
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, TipoModificacion.ACTUALIZADO, cambios));
     }
 
     public void eliminarProducto(Long id) {
-        if (!productoRepository.buscarPorId(id).isPresent()) {
+        if (!productoRepository.eliminar(id)) {
             throw new RuntimeException("Producto no encontrado con ID: " + id);
         }
-        productoRepository.eliminar(id);
+        eventPublisher.publishEvent(new ProductoModificadoEvent(id, TipoModificacion.ELIMINADO));
+    }
+
+    /**
+     * Aplica un bloque de operaciones en una sola transacción. Existentes y códigos ocupados
+     * se resuelven con una consulta cada uno; los INSERT/UPDATE/DELETE se envían en lotes JDBC
+     * al hacer flush. Las operaciones inválidas se informan sin abortar el resto del bloque.
+     */
+    public List<ResultadoOperacionLote> aplicarLote(List<OperacionLote> operaciones) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> codigos = new HashSet<>();
+        for (OperacionLote operacion : operaciones) {
+            if (operacion.id() != null) {
+                ids.add(operacion.id());
+            }
+            if (operacion.producto() != null) {
+                codigos.add(operacion.producto().getCodigoProducto());
+            }
+        }
+        Map<Long, Producto> existentes = new HashMap<>();
+        productoRepository.findAllById(ids).forEach(p -> existentes.put(p.getId(), p));
+        Set<String> codigosOcupados = codigos.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(productoRepository.findCodigosExistentes(codigos));
+
+        List<ResultadoOperacionLote> resultados = new ArrayList<>(operaciones.size());
+        List<Producto> nuevos = new ArrayList<>();
+        List<OperacionLote> creaciones = new ArrayList<>();
+        List<Producto> eliminados = new ArrayList<>();
+        Set<Long> idsProcesados = new HashSet<>();
+
+        for (OperacionLote operacion : operaciones) {
+            Producto producto = operacion.producto();
+            switch (operacion.tipo()) {
+                case CREAR -> {
+                    if (!codigosOcupados.add(producto.getCodigoProducto())) {
+                        resultados.add(ResultadoOperacionLote.error(operacion,
+                                "Ya existe un producto con el código: " + producto.getCodigoProducto()));
+                        continue;
+                    }
+                    nuevos.add(producto);
+                    creaciones.add(operacion);
+                }
+                case ACTUALIZAR, ELIMINAR -> {
+                    Producto existente = existentes.get(operacion.id());
+                    if (existente == null) {
+                        resultados.add(ResultadoOperacionLote.error(operacion,
+                                "Producto no encontrado con ID: " + operacion.id()));
+                        continue;
+                    }
+                    if (!idsProcesados.add(operacion.id())) {
+                        resultados.add(ResultadoOperacionLote.error(operacion,
+                                "El producto con ID " + operacion.id() + " ya tiene otra operación en el mismo bloque"));
+                        continue;
+                    }
+                    if (operacion.tipo() == TipoOperacionLote.ELIMINAR) {
+                        eliminados.add(existente);
+                    } else {
+                        if (!producto.getCodigoProducto().equals(existente.getCodigoProducto())
+                                && !codigosOcupados.add(producto.getCodigoProducto())) {
+                            resultados.add(ResultadoOperacionLote.error(operacion,
+                                    "Ya existe un producto con el código: " + producto.getCodigoProducto()));
+                            continue;
+                        }
+                        // Entidad gestionada: el UPDATE sale por dirty checking en el flush
+                        copiarDatos(producto, existente);
+                    }
+                    resultados.add(ResultadoOperacionLote.exito(operacion, operacion.id()));
+                }
+            }
+        }
+
+        productoRepository.saveAll(nuevos);
+        productoRepository.deleteAll(eliminados);
+        productoRepository.flush();
+
+        for (int i = 0; i < nuevos.size(); i++) {
+            resultados.add(ResultadoOperacionLote.exito(creaciones.get(i), nuevos.get(i).getId()));
+            existentes.put(nuevos.get(i).getId(), nuevos.get(i));
+        }
+        for (ResultadoOperacionLote resultado : resultados) {
+            if (resultado.exito()) {
+                eventPublisher.publishEvent(switch (resultado.tipo()) {
+                    case CREAR -> new ProductoModificadoEvent(resultado.id(), TipoModificacion.CREADO,
+                            CampoActualizableProducto.valoresDe(existentes.get(resultado.id())));
+                    case ACTUALIZAR -> new ProductoModificadoEvent(resultado.id(), TipoModificacion.ACTUALIZADO,
+                            CampoActualizableProducto.valoresDe(existentes.get(resultado.id())));
+                    case ELIMINAR -> new ProductoModificadoEvent(resultado.id(), TipoModificacion.ELIMINADO);
+                });
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Reserva todo o nada: si algún producto no existe o no tiene stock suficiente se marca la
+     * transacción para rollback y se devuelven sus IDs; si la lista está vacía se reservó todo.
+     */
+    public List<Long> reservarStock(List<LineaStock> lineas) {
+        Agrupacion agrupacion = agruparPorProducto(lineas);
+        if (!agrupacion.desbordados().isEmpty()) {
+            return agrupacion.desbordados();
+        }
+        SortedMap<Long, Integer> cantidades = agrupacion.cantidades();
+        return confirmarAjuste(cantidades, -1, productoStockRepository.descontar(cantidades));
+    }
+
+    // Devuelve unidades reservadas previamente; falla (todo o nada) si algún producto no existe
+    // o su stock quedaría fuera del rango de la columna
+    public List<Long> liberarStock(List<LineaStock> lineas) {
+        Agrupacion agrupacion = agruparPorProducto(lineas);
+        if (!agrupacion.desbordados().isEmpty()) {
+            return agrupacion.desbordados();
+        }
+        SortedMap<Long, Integer> cantidades = agrupacion.cantidades();
+        return confirmarAjuste(cantidades, 1, productoStockRepository.reponer(cantidades));
+    }
+
+    // Importación masiva: COPY a una tabla temporal y un único upsert por codigo_producto
+    public long importarProductos(Iterator<FilaImportacion> filas) {
+        long fusionados = productoCopyRepository.cargarYFusionar(filas);
+        eventPublisher.publishEvent(new CatalogoRecargadoEvent(fusionados));
+        return fusionados;
     }
 
     public Optional<Producto> obtenerProductoPorId(Long id) {
         return productoRepository.buscarPorId(id);
     }
 
+    @Transactional(readOnly = true)
+    public List<Producto> obtenerProductosPorIds(List<Long> ids) {
+        return productoRepository.buscarPorIds(ids);
+    }
+
+    // Servido desde la caché de segundo nivel cuando el código y la entidad ya están en ella
+    @Transactional(readOnly = true)
+    public Optional<Producto> obtenerProductoPorCodigo(String codigoProducto) {
+        return productoRepository.buscarPorCodigoProducto(codigoProducto);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> obtenerVersion(Long id) {
+        return productoRepository.findVersionById(id);
+    }
+
     public List<Producto> listarTodosLosProductos() {
         return productoRepository.listarTodos();
     }
 
+    // Recorre el catálogo completo con un cursor del servidor; la memoria no depende del tamaño
+    @Transactional(readOnly = true)
+    public void recorrerProductos(int fetchSize, Consumer<Producto> consumidor) {
+        productoExportacionRepository.recorrerTodos(fetchSize, consumidor);
+    }
+
     // Nuevo método con paginación
-    public Page<Producto> listarProductosPaginados(Pageable pageable) {
-        return productoRepository.findAll(pageable);
+    public Page<Producto> listarProductosPaginados(Pageable pageable, FiltroProductos filtro) {
+        return filtro.estaVacio()
+                ? productoRepository.findAll(pageable)
+                : productoRepository.listarFiltrados(filtro, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Producto> listarProductosSinConteo(Pageable pageable, FiltroProductos filtro) {
+        return filtro.estaVacio()
+                ? productoRepository.findAllBy(pageable)
+                : productoRepository.listarFiltradosSinConteo(filtro, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FacetaCategoria> contarPorCategoria(FiltroProductos filtro) {
+        return productoRepository.contarPorCategoria(filtro);
+    }
+
+    // Total aproximado servido desde memoria; se refresca en segundo plano
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long obtenerTotalEstimado() {
+        return estimadorTotalProductos.getTotalEstimado();
+    }
+
+    // Agregados mantenidos en memoria con cada escritura; no consulta la base
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<EstadisticaCategoria> obtenerEstadisticasPorCategoria() {
+        return estadisticasPorCategoria.obtener();
+    }
+
+    // Autocompletado desde el índice en memoria; no consulta la base
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<SugerenciaProducto> sugerirProductos(String prefijo, int limite) {
+        return indicePrefijosProductos.sugerir(prefijo, limite);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Producto> listarProductosPorCursor(CampoOrdenProducto campo, boolean descendente,
+                                                   Object valorDesde, Long idDesde, int limite,
+                                                   FiltroProductos filtro) {
+        return productoRepository.listarPorCursor(campo, descendente, valorDesde, idDesde, limite, filtro);
+    }
+
+    private record Agrupacion(SortedMap<Long, Integer> cantidades, List<Long> desbordados) {
+    }
+
+    // Las líneas repetidas se suman; el orden por ID fija el orden de bloqueo de las filas.
+    // Un total que no cabe en un int no puede reservarse ni liberarse: el producto se rechaza
+    // antes de enviar nada a la base
+    private Agrupacion agruparPorProducto(List<LineaStock> lineas) {
+        SortedMap<Long, Integer> cantidades = new TreeMap<>();
+        Set<Long> desbordados = new TreeSet<>();
+        for (LineaStock linea : lineas) {
+            try {
+                cantidades.merge(linea.productoId(), linea.cantidad(), Math::addExact);
+            } catch (ArithmeticException e) {
+                desbordados.add(linea.productoId());
+            }
+        }
+        return new Agrupacion(cantidades, new ArrayList<>(desbordados));
+    }
+
+    private List<Long> confirmarAjuste(SortedMap<Long, Integer> cantidades, int signo, List<Long> rechazados) {
+        if (!rechazados.isEmpty()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return rechazados;
+        }
+        Map<Long, Integer> variaciones = new HashMap<>();
+        for (Map.Entry<Long, Integer> linea : cantidades.entrySet()) {
+            eventPublisher.publishEvent(new ProductoModificadoEvent(linea.getKey(), TipoModificacion.ACTUALIZADO));
+            variaciones.put(linea.getKey(), signo * linea.getValue());
+        }
+        eventPublisher.publishEvent(new StockAjustadoEvent(variaciones));
+        return rechazados;
+    }
+
+    // Un código repetido se informa con el mismo mensaje que antes daba la consulta previa
+    private RuntimeException traducirViolacion(DataIntegrityViolationException e, String codigoProducto) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion && violaCodigoUnico(violacion)) {
+                return new RuntimeException("Ya existe un producto con el código: " + codigoProducto);
+            }
+        }
+        return e;
+    }
+
+    // Las migraciones nombran la restricción; el esquema que genera Hibernate (pruebas) la deja
+    // sin nombre porque la deduce del identificador natural, así que también se mira la columna
+    private boolean violaCodigoUnico(ConstraintViolationException violacion) {
+        String restriccion = violacion.getConstraintName();
+        if (restriccion != null && restriccion.toLowerCase().contains(Producto.UK_CODIGO_PRODUCTO)) {
+            return true;
+        }
+        String detalle = violacion.getSQLException() != null ? violacion.getSQLException().getMessage() : null;
+        return detalle != null && detalle.toLowerCase().contains("codigo_producto");
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResultadoBusqueda> buscarProductos(String texto, Float rangoDesde, Long idDesde, int limite) {
+        return productoBusquedaRepository.buscar(texto, rangoDesde, idDesde, limite);
+    }
+
+    @Transactional(readOnly = true)
+    public InstantaneaCambios obtenerInstantaneaCambios() {
+        return productoCambiosRepository.instantanea();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CambioProducto> listarCambios(long xidDesde, long idDesde, boolean conEliminados, int limite) {
+        return productoCambiosRepository.listarDesde(xidDesde, idDesde, conEliminados, limite);
+    }
+
+    private void copiarDatos(Producto origen, Producto destino) {
+        destino.setNombre(origen.getNombre());
+        destino.setDescripcion(origen.getDescripcion());
+        destino.setPrecio(origen.getPrecio());
+        destino.setStock(origen.getStock());
+        destino.setCategoria(origen.getCategoria());
+        destino.setCodigoProducto(origen.getCodigoProducto());
+        destino.setEstaActivo(origen.getEstaActivo());
     }
 }
\ No newline at end of file
@@ -0,0 +1,389 @@
+// src/main/java/com/microservicio/productos/infrastructure/cache/IndicePrefijosProductos.java
+package com.microservicio.productos.infrastructure.cache;
+
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.SugerenciaProducto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefijos en memoria para el autocompletado. Los términos son el código y cada
+ * palabra del nombre, normalizados (minúsculas, sin tildes), guardados una sola vez en un
+ * arreglo ordenado; cada término apunta a los productos que lo tienen (postings). Un prefijo
+ * es un rango del arreglo que se ubica con dos búsquedas binarias. Cada palabra de la consulta
+ * debe ser prefijo de algún término del producto, y se devuelven los mejores según RANKING.
+ *
+ * El índice es inmutable: cada escritura publica una copia con el cambio en un pequeño mapa de
+ * recientes que se consulta junto a la base, y cuando crece se compacta en una base nueva.
+ * Se construye al arrancar y se mantiene con los eventos de escritura de ProductoService.
+ */
+@Component
+public class IndicePrefijosProductos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndicePrefijosProductos.class);
+
+    private static final String SELECT_PRODUCTOS = "SELECT id, codigo_producto, nombre FROM productos";
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final char FIN_DE_RANGO = '\uffff';
+
+    // Cambios que se consultan por recorrido antes de compactarlos en la base
+    static final int MAX_RECIENTES = 512;
+
+    // Código que empieza con la primera palabra buscada, luego nombre que empieza con ella, luego
+    // el resto; a igualdad, el nombre más corto (la coincidencia cubre más del nombre) y el id menor
+    private static final Comparator<Candidato> RANKING = Comparator.comparingInt(Candidato::puntaje)
+            .thenComparingInt(candidato -> candidato.sugerencia().nombre() == null ? 0 : candidato.sugerencia().nombre().length())
+            .thenComparing(candidato -> candidato.sugerencia().id());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Indice indice = Indice.VACIO;
+    // No es null mientras se reconstruye: los eventos recibidos se repiten sobre el índice nuevo
+    private List<ProductoModificadoEvent> pendientes;
+    // Los eventos llegan en el hilo de la petición: con hilos virtuales un monitor ocupado
+    // (synchronized) bloquearía también al hilo portador, un ReentrantLock no
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        reconstruir();
+    }
+
+    // Una importación no publica eventos por producto: se reconstruye
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        reconstruir();
+    }
+
+    public void reconstruir() {
+        cerrojo.lock();
+        try {
+            pendientes = new ArrayList<>();
+        } finally {
+            cerrojo.unlock();
+        }
+        List<SugerenciaProducto> leidos = new ArrayList<>();
+        try {
+            jdbcTemplate.query(SELECT_PRODUCTOS, rs -> {
+                leidos.add(new SugerenciaProducto(rs.getLong("id"), rs.getString("codigo_producto"), rs.getString("nombre")));
+            });
+        } catch (Exception e) {
+            log.warn("No se pudo construir el índice de sugerencias: {}", e.getMessage());
+            cerrojo.lock();
+            try {
+                pendientes = null;
+            } finally {
+                cerrojo.unlock();
+            }
+            return;
+        }
+        Indice nuevo = Indice.construir(leidos);
+        cerrojo.lock();
+        try {
+            for (ProductoModificadoEvent evento : pendientes) {
+                nuevo = aplicar(nuevo, evento);
+            }
+            pendientes = null;
+            indice = nuevo;
+        } finally {
+            cerrojo.unlock();
+        }
+        log.info("Índice de sugerencias construido con {} productos y {} términos", leidos.size(), nuevo.terminos.length);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        cerrojo.lock();
+        try {
+            indice = aplicar(indice, evento);
+            if (pendientes != null) {
+                pendientes.add(evento);
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // Lectura sin bloqueo sobre el índice publicado; cada producto aparece una sola vez
+    public List<SugerenciaProducto> sugerir(String prefijo, int limite) {
+        String[] palabras = separarPalabras(normalizar(prefijo));
+        if (palabras.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        Indice actual = indice;
+        // Los peores arriba para descartarlos al superar el límite
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite + 1, RANKING.reversed());
+        actual.buscar(palabras, candidato -> {
+            mejores.add(candidato);
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+        });
+        List<Candidato> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(RANKING);
+        return ordenados.stream().map(Candidato::sugerencia).toList();
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static String[] separarPalabras(String normalizado) {
+        return normalizado.isEmpty() ? new String[0] : normalizado.split(" ");
+    }
+
+    // Los campos que no vienen en el evento (PATCH) se conservan de la entrada actual
+    private static Indice aplicar(Indice destino, ProductoModificadoEvent evento) {
+        if (evento.tipo() == ProductoModificadoEvent.TipoModificacion.ELIMINADO) {
+            return destino.con(evento.id(), null);
+        }
+        Map<CampoActualizableProducto, Object> valores = evento.valores();
+        boolean cambiaCodigo = valores.containsKey(CampoActualizableProducto.CODIGO_PRODUCTO);
+        boolean cambiaNombre = valores.containsKey(CampoActualizableProducto.NOMBRE);
+        if (!cambiaCodigo && !cambiaNombre) {
+            return destino;
+        }
+        SugerenciaProducto actual = destino.buscarPorId(evento.id());
+        if (actual == null && !(cambiaCodigo && cambiaNombre)) {
+            log.debug("Producto {} fuera del índice de sugerencias; se incluirá en la próxima reconstrucción", evento.id());
+            return destino;
+        }
+        return destino.con(evento.id(), new SugerenciaProducto(evento.id(),
+                cambiaCodigo ? (String) valores.get(CampoActualizableProducto.CODIGO_PRODUCTO) : actual.codigoProducto(),
+                cambiaNombre ? (String) valores.get(CampoActualizableProducto.NOMBRE) : actual.nombre()));
+    }
+
+    private record Candidato(SugerenciaProducto sugerencia, int puntaje) {
+    }
+
+    // Términos normalizados de un producto de recientes; se calculan una vez al aplicar el evento
+    private record Reciente(SugerenciaProducto sugerencia, String codigo, String[] palabras) {
+
+        static Reciente de(SugerenciaProducto sugerencia) {
+            return new Reciente(sugerencia, normalizar(sugerencia.codigoProducto()), separarPalabras(normalizar(sugerencia.nombre())));
+        }
+
+        // -1 si alguna palabra de la consulta no es prefijo de ningún término
+        int puntaje(String[] consulta) {
+            for (String buscada : consulta) {
+                boolean encontrada = !codigo.isEmpty() && codigo.startsWith(buscada);
+                for (int i = 0; !encontrada && i < palabras.length; i++) {
+                    encontrada = palabras[i].startsWith(buscada);
+                }
+                if (!encontrada) {
+                    return -1;
+                }
+            }
+            if (!codigo.isEmpty() && codigo.startsWith(consulta[0])) {
+                return 0;
+            }
+            return palabras.length > 0 && palabras[0].startsWith(consulta[0]) ? 1 : 2;
+        }
+    }
+
+    private static final class Indice {
+
+        static final Indice VACIO = construir(List.of());
+
+        // Base compacta; la posición en ids/productos es el número de producto de los postings
+        private final long[] ids;
+        private final SugerenciaProducto[] productos;
+        private final String[] terminos;
+        // Los productos de terminos[t] están en postings[inicios[t] .. inicios[t + 1])
+        private final int[] inicios;
+        private final int[] postings;
+        // Término del código y de la primera palabra del nombre de cada producto (-1 si no tiene),
+        // para puntuar sin volver a normalizar
+        private final int[] terminoCodigo;
+        private final int[] terminoPrimeraPalabra;
+        // Escrituras posteriores a la base; un valor null es un producto eliminado
+        private final Map<Long, Reciente> recientes;
+
+        private Indice(long[] ids, SugerenciaProducto[] productos, String[] terminos, int[] inicios, int[] postings,
+                       int[] terminoCodigo, int[] terminoPrimeraPalabra, Map<Long, Reciente> recientes) {
+            this.ids = ids;
+            this.productos = productos;
+            this.terminos = terminos;
+            this.inicios = inicios;
+            this.postings = postings;
+            this.terminoCodigo = terminoCodigo;
+            this.terminoPrimeraPalabra = terminoPrimeraPalabra;
+            this.recientes = recientes;
+        }
+
+        static Indice construir(Collection<SugerenciaProducto> sugerencias) {
+            SugerenciaProducto[] productos = sugerencias.toArray(SugerenciaProducto[]::new);
+            Arrays.sort(productos, Comparator.comparing(SugerenciaProducto::id));
+            long[] ids = new long[productos.length];
+            String[] codigos = new String[productos.length];
+            String[][] nombres = new String[productos.length][];
+            // Solo durante la construcción: término -> productos que lo tienen
+            TreeMap<String, List<Integer>> porTermino = new TreeMap<>();
+            for (int p = 0; p < productos.length; p++) {
+                ids[p] = productos[p].id();
+                codigos[p] = normalizar(productos[p].codigoProducto());
+                nombres[p] = separarPalabras(normalizar(productos[p].nombre()));
+                if (!codigos[p].isEmpty()) {
+                    agregarPosting(porTermino, codigos[p], p);
+                }
+                for (String palabra : nombres[p]) {
+                    agregarPosting(porTermino, palabra, p);
+                }
+            }
+
+            String[] terminos = porTermino.keySet().toArray(String[]::new);
+            int[] inicios = new int[terminos.length + 1];
+            int[] postings = new int[porTermino.values().stream().mapToInt(List::size).sum()];
+            int t = 0;
+            int siguiente = 0;
+            for (List<Integer> lista : porTermino.values()) {
+                inicios[t++] = siguiente;
+                for (int p : lista) {
+                    postings[siguiente++] = p;
+                }
+            }
+            inicios[t] = siguiente;
+
+            int[] terminoCodigo = new int[productos.length];
+            int[] terminoPrimeraPalabra = new int[productos.length];
+            for (int p = 0; p < productos.length; p++) {
+                terminoCodigo[p] = codigos[p].isEmpty() ? -1 : Arrays.binarySearch(terminos, codigos[p]);
+                terminoPrimeraPalabra[p] = nombres[p].length == 0 ? -1 : Arrays.binarySearch(terminos, nombres[p][0]);
+            }
+            return new Indice(ids, productos, terminos, inicios, postings, terminoCodigo, terminoPrimeraPalabra, Map.of());
+        }
+
+        // Un producto con dos palabras iguales figura una sola vez en el posting del término
+        private static void agregarPosting(TreeMap<String, List<Integer>> porTermino, String termino, int producto) {
+            List<Integer> lista = porTermino.computeIfAbsent(termino, clave -> new ArrayList<>(1));
+            if (lista.isEmpty() || lista.get(lista.size() - 1) != producto) {
+                lista.add(producto);
+            }
+        }
+
+        SugerenciaProducto buscarPorId(Long id) {
+            if (recientes.containsKey(id)) {
+                Reciente reciente = recientes.get(id);
+                return reciente == null ? null : reciente.sugerencia();
+            }
+            int p = Arrays.binarySearch(ids, id);
+            return p < 0 ? null : productos[p];
+        }
+
+        // Copia con el cambio; la base se comparte salvo que toque compactar
+        Indice con(Long id, SugerenciaProducto sugerencia) {
+            Map<Long, Reciente> copia = new HashMap<>(recientes);
+            copia.put(id, sugerencia == null ? null : Reciente.de(sugerencia));
+            Indice siguiente = new Indice(ids, productos, terminos, inicios, postings, terminoCodigo, terminoPrimeraPalabra, copia);
+            return copia.size() > MAX_RECIENTES ? construir(siguiente.vigentes()) : siguiente;
+        }
+
+        private List<SugerenciaProducto> vigentes() {
+            List<SugerenciaProducto> vigentes = new ArrayList<>(productos.length + recientes.size());
+            for (int p = 0; p < productos.length; p++) {
+                if (!recientes.containsKey(ids[p])) {
+                    vigentes.add(productos[p]);
+                }
+            }
+            recientes.values().stream().filter(reciente -> reciente != null).forEach(reciente -> vigentes.add(reciente.sugerencia()));
+            return vigentes;
+        }
+
+        void buscar(String[] consulta, Consumer<Candidato> destino) {
+            int[] desde = new int[consulta.length];
+            int[] hasta = new int[consulta.length];
+            int guia = 0;
+            for (int k = 0; k < consulta.length; k++) {
+                desde[k] = primeraPosicion(consulta[k]);
+                hasta[k] = primeraPosicion(consulta[k] + FIN_DE_RANGO);
+                if (tamanoRango(desde[k], hasta[k]) < tamanoRango(desde[guia], hasta[guia])) {
+                    guia = k;
+                }
+            }
+
+            // La palabra con menos productos guía el recorrido; las demás se comprueban con un BitSet
+            BitSet[] otras = new BitSet[consulta.length];
+            for (int k = 0; k < consulta.length; k++) {
+                if (k != guia) {
+                    otras[k] = new BitSet(productos.length);
+                    for (int i = inicios[desde[k]]; i < inicios[hasta[k]]; i++) {
+                        otras[k].set(postings[i]);
+                    }
+                }
+            }
+            BitSet vistos = new BitSet(productos.length);
+            for (int i = inicios[desde[guia]]; i < inicios[hasta[guia]]; i++) {
+                int p = postings[i];
+                if (vistos.get(p) || recientes.containsKey(ids[p]) || !enTodas(otras, p)) {
+                    continue;
+                }
+                vistos.set(p);
+                destino.accept(new Candidato(productos[p], puntaje(p, desde[0], hasta[0])));
+            }
+
+            for (Reciente reciente : recientes.values()) {
+                int puntaje = reciente == null ? -1 : reciente.puntaje(consulta);
+                if (puntaje >= 0) {
+                    destino.accept(new Candidato(reciente.sugerencia(), puntaje));
+                }
+            }
+        }
+
+        private int puntaje(int p, int desde, int hasta) {
+            if (terminoCodigo[p] >= desde && terminoCodigo[p] < hasta) {
+                return 0;
+            }
+            return terminoPrimeraPalabra[p] >= desde && terminoPrimeraPalabra[p] < hasta ? 1 : 2;
+        }
+
+        private int tamanoRango(int desde, int hasta) {
+            return inicios[hasta] - inicios[desde];
+        }
+
+        private static boolean enTodas(BitSet[] otras, int producto) {
+            for (BitSet otra : otras) {
+                if (otra != null && !otra.get(producto)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Primer término mayor o igual que el dado
+        private int primeraPosicion(String termino) {
+            int posicion = Arrays.binarySearch(terminos, termino);
+            return posicion >= 0 ? posicion : -posicion - 1;
+        }
+    }
+}
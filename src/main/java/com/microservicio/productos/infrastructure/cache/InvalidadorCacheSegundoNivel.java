@@ -0,0 +1,131 @@
+// src/main/java/com/microservicio/productos/infrastructure/cache/InvalidadorCacheSegundoNivel.java
+package com.microservicio.productos.infrastructure.cache;
+
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.model.Producto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantiene la caché de segundo nivel al día con las escrituras que no pasan por Hibernate.
+ * Lo que se guarda con JPA (POST, PUT, lote) lo actualiza Hibernate. Los UPDATE/DELETE en SQL
+ * de PATCH, DELETE y los ajustes de stock bloquean antes de ejecutarse solo las entradas que
+ * tocan; la importación descarta las entidades tras el commit. Corre antes que los demás oyentes
+ * del commit: el stream de cambios vuelve a leer los productos modificados.
+ */
+@Component
+public class InvalidadorCacheSegundoNivel {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Llamar antes de la sentencia. Marca las entidades (y el código, si la escritura lo
+     * asigna) como en escritura, igual que hace Hibernate con sus propios UPDATE en una región
+     * READ_WRITE: hasta que termine la transacción ninguna carga concurrente puede volver a
+     * guardar la fila anterior, y después solo la guardan las transacciones que empiecen más tarde.
+     */
+    public void bloquearHastaFinDeTransaccion(Collection<Long> ids, String codigoProducto) {
+        EntityPersister persister = persister();
+        // Con la caché de segundo nivel deshabilitada no hay regiones
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        SharedSessionContractImplementor sesion = entityManager.unwrap(SharedSessionContractImplementor.class);
+        List<Bloqueo> bloqueos = new ArrayList<>(ids.size() + 1);
+        EntityDataAccess entidades = persister.getCacheAccessStrategy();
+        for (Long id : ids) {
+            bloqueos.add(Bloqueo.tomar(sesion, entidades, entidades.generateCacheKey(id, persister, sesion.getFactory(), null)));
+        }
+        NaturalIdDataAccess codigos = persister.getNaturalIdCacheAccessStrategy();
+        if (codigoProducto != null && codigos != null) {
+            bloqueos.add(Bloqueo.tomar(sesion, codigos, claveCodigo(persister, sesion, codigoProducto)));
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sin transacción la sentencia se confirma sola: basta con no dejar nada en la caché
+            bloqueos.forEach(Bloqueo::descartar);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                bloqueos.forEach(bloqueo -> bloqueo.liberar(sesion));
+            }
+        });
+    }
+
+    /**
+     * Descarta la resolución codigoProducto -> id en caché; la usa la búsqueda por código cuando
+     * la resolución apunta a un producto eliminado o que ya tiene otro código.
+     */
+    public void descartarCodigo(String codigoProducto) {
+        EntityPersister persister = persister();
+        NaturalIdDataAccess codigos = persister.getNaturalIdCacheAccessStrategy();
+        if (codigos != null) {
+            SharedSessionContractImplementor sesion = entityManager.unwrap(SharedSessionContractImplementor.class);
+            codigos.evict(claveCodigo(persister, sesion, codigoProducto));
+        }
+    }
+
+    // El upsert por código nunca cambia el código de una fila existente: la región
+    // codigoProducto -> id sigue siendo válida y solo se descartan las entidades
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        entityManagerFactory.getCache().evict(Producto.class);
+    }
+
+    private EntityPersister persister() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Producto.class);
+    }
+
+    private static Object claveCodigo(EntityPersister persister, SharedSessionContractImplementor sesion, String codigo) {
+        return persister.getNaturalIdCacheAccessStrategy()
+                .generateCacheKey(persister.getNaturalIdMapping().normalizeInput(codigo), persister, sesion);
+    }
+
+    private record Bloqueo(CachedDomainDataAccess region, Object clave, SoftLock bloqueo) {
+
+        static Bloqueo tomar(SharedSessionContractImplementor sesion, CachedDomainDataAccess region, Object clave) {
+            return new Bloqueo(region, clave, region.lockItem(sesion, clave, null));
+        }
+
+        void liberar(SharedSessionContractImplementor sesion) {
+            region.unlockItem(sesion, clave, bloqueo);
+        }
+
+        void descartar() {
+            region.evict(clave);
+        }
+    }
+}
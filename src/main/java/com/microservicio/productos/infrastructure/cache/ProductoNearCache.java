@@ -0,0 +1,87 @@
+// src/main/java/com/microservicio/productos/infrastructure/cache/ProductoNearCache.java
+package com.microservicio.productos.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caché local de productos ya serializados a JSON. Caffeine usa W-TinyLFU para
+ * desalojar y, ante fallos concurrentes del mismo id, ejecuta una sola carga.
+ *
+ * Las escrituras de esta instancia la invalidan al confirmarse; las de otra instancia no.
+ * La carga pasa por la caché de segundo nivel, que también es local y puede tener una copia
+ * guardada hasta su ttl antes, así que un cambio hecho en otra instancia puede tardar hasta
+ * productos.cache.ttl + productos.cache-segundo-nivel.ttl en verse aquí (60s por defecto),
+ * también en la versión con la que se responde 304 a If-None-Match.
+ */
+@Component
+public class ProductoNearCache {
+
+    private final Cache<Long, ProductoSerializado> cache;
+    private final ObjectMapper objectMapper;
+
+    public ProductoNearCache(ObjectMapper objectMapper,
+                             @Value("${productos.cache.max-entradas:10000}") long maxEntradas,
+                             @Value("${productos.cache.ttl:30s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public ProductoSerializado obtener(Long id, Function<Long, ProductoResponseDTO> cargador) {
+        return cache.get(id, clave -> serializar(cargador.apply(clave)));
+    }
+
+    // Versión del producto si está en caché, sin cargarlo ni contar en las estadísticas; null si no está
+    public Long versionEnCache(Long id) {
+        ProductoSerializado producto = cache.policy().getIfPresentQuietly(id);
+        return producto != null ? producto.version() : null;
+    }
+
+    public void invalidar(Long id) {
+        cache.invalidate(id);
+    }
+
+    // Se ejecuta en el mismo hilo justo después del commit, antes de responder al cliente
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        invalidar(evento.id());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getEstadisticas() {
+        return cache.stats();
+    }
+
+    public long getTamano() {
+        return cache.estimatedSize();
+    }
+
+    private ProductoSerializado serializar(ProductoResponseDTO producto) {
+        try {
+            return new ProductoSerializado(objectMapper.writeValueAsBytes(producto), producto.getVersion());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error al serializar el producto: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/microservicio/productos/infrastructure/cache/ProductoSerializado.java
+package com.microservicio.productos.infrastructure.cache;
+
+/**
+ * JSON ya serializado de un producto junto con su versión, de la que se deriva el ETag.
+ */
+public record ProductoSerializado(byte[] json, long version) {
+
+    public String etag() {
+        return etagDe(version);
+    }
+
+    // ETag fuerte: la versión cambia con cada escritura del producto
+    public static String etagDe(long version) {
+        return "\"" + version + "\"";
+    }
+}
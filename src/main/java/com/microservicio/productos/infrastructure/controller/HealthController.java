@@ -1,39 +1,71 @@
 // src/main/java/com/microservicio/productos/infrastructure/controller/HealthController.java
 package com.microservicio.productos.infrastructure.controller;
 
+import com.microservicio.productos.infrastructure.controller.respuesta.EstadoReadiness;
+import com.microservicio.productos.infrastructure.persistence.VerificadorBaseDatos;
+import com.microservicio.productos.infrastructure.persistence.VerificadorBaseDatos.EstadoBaseDatos;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @Tag(name = "Root", description = "Endpoints básicos del servicio")
 public class HealthController {
 
+    // Cuerpos que nunca cambian: se responden siempre los mismos bytes, sin serializar
+    private static final byte[] CUERPO_RAIZ = """
+            {"mensaje":"Microservicio de Productos","version":"1.0.0","estado":"activo",\
+            "documentacion":{"swagger":"http://localhost:8080/api/swagger-ui.html",\
+            "openapi":"http://localhost:8080/api/api-docs"}}""".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CUERPO_SALUDABLE = "{\"estado\":\"saludable\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CUERPO_VIVO = "{\"estado\":\"vivo\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private VerificadorBaseDatos verificadorBaseDatos;
+
     @GetMapping("/")
     @Operation(summary = "Información del servicio", description = "Obtiene información básica del microservicio")
-    public Map<String, Object> root() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("mensaje", "Microservicio de Productos");
-        response.put("version", "1.0.0");
-        response.put("estado", "activo");
-        
-        Map<String, String> documentacion = new HashMap<>();
-        documentacion.put("swagger", "http://localhost:8080/api/swagger-ui.html");
-        documentacion.put("openapi", "http://localhost:8080/api/api-docs");
-        response.put("documentacion", documentacion);
-        
-        return response;
+    public ResponseEntity<byte[]> root() {
+        return json(CUERPO_RAIZ);
     }
 
     @GetMapping("/health")
     @Operation(summary = "Health Check", description = "Verifica el estado de salud del servicio")
-    public Map<String, String> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("estado", "saludable");
-        return response;
+    public ResponseEntity<byte[]> health() {
+        return json(CUERPO_SALUDABLE);
+    }
+
+    // Liveness: el proceso responde; no depende de la base para no reiniciar pods por una caída de PostgreSQL
+    @GetMapping("/health/liveness")
+    @Operation(summary = "Liveness", description = "Indica que el proceso está vivo y atiende peticiones")
+    public ResponseEntity<byte[]> liveness() {
+        return json(CUERPO_VIVO);
+    }
+
+    // Readiness: resultado en memoria de la última verificación en segundo plano; no usa el pool
+    @GetMapping("/health/readiness")
+    @Operation(summary = "Readiness", description = "Conectividad con la base y saturación del pool; 503 si no está listo")
+    public ResponseEntity<EstadoReadiness> readiness() {
+        EstadoBaseDatos estado = verificadorBaseDatos.getEstado();
+        EstadoReadiness response = new EstadoReadiness(
+                estado.listo() ? "listo" : "no_listo",
+                estado.baseDatosDisponible() ? "disponible" : "no_disponible",
+                estado.conexionesActivas(),
+                estado.conexionesMaximas(),
+                estado.hilosEsperando(),
+                estado.verificadoEn().toString(),
+                estado.detalle());
+        return ResponseEntity.status(estado.listo() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] cuerpo) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
     }
-}
\ No newline at end of file
+}
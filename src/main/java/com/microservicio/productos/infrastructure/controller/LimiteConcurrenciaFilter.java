@@ -0,0 +1,123 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/LimiteConcurrenciaFilter.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las peticiones de /api/productos en curso según el tamaño del pool de conexiones.
+ * Con hilos de plataforma el pool de Tomcat ya acota la concurrencia; con hilos virtuales
+ * no hay tope y, si la base se pone lenta, miles de peticiones quedarían esperando una
+ * conexión hasta el timeout de Hikari. Aquí esperan como mucho espera-maxima y después
+ * reciben 503, que el cliente puede reintentar.
+ */
+@Component
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteConcurrenciaFilter.class);
+
+    private static final String RUTA_LIMITADA = "/api/productos";
+    // Una conexión SSE dura minutos sin usar la base: ocuparía un permiso todo ese tiempo
+    private static final String RUTA_STREAM = "/api/productos/stream";
+    private static final String RESPUESTA_SATURADO = "{\"error\": \"Servicio saturado, reintente en unos segundos\"}";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${productos.concurrencia.habilitado:${spring.threads.virtual.enabled:false}}")
+    private boolean habilitado;
+
+    // Parte de cada petición no usa la conexión (JWT, serialización): se admiten algunas más que conexiones
+    @Value("${productos.concurrencia.peticiones-por-conexion:2}")
+    private int peticionesPorConexion;
+
+    @Value("${productos.concurrencia.espera-maxima:1s}")
+    private Duration esperaMaxima;
+
+    private Semaphore permisos;
+    private Counter rechazos;
+
+    @PostConstruct
+    public void inicializar() {
+        int conexiones = maximoConexiones();
+        int limite = Math.max(1, conexiones * peticionesPorConexion);
+        permisos = new Semaphore(limite, true);
+        rechazos = Counter.builder("productos.concurrencia.rechazos")
+                .description("Peticiones rechazadas con 503 por superar el límite de concurrencia")
+                .register(meterRegistry);
+        Gauge.builder("productos.concurrencia.en.curso", permisos, p -> limite - p.availablePermits())
+                .description("Peticiones de /api/productos en curso")
+                .register(meterRegistry);
+        if (habilitado) {
+            log.info("Límite de concurrencia: {} peticiones ({} conexiones x {})", limite, conexiones, peticionesPorConexion);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getServletPath();
+        return !habilitado || !ruta.startsWith(RUTA_LIMITADA) || ruta.equals(RUTA_STREAM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean obtenido;
+        try {
+            obtenido = permisos.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtenido = false;
+        }
+        if (!obtenido) {
+            rechazos.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(RESPUESTA_SATURADO);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private int maximoConexiones() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo leer el tamaño del pool de conexiones: {}", e.getMessage());
+        }
+        return 10;
+    }
+}
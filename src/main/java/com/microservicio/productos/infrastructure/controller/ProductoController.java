@@ -1,9 +1,40 @@
 // src/main/java/com/microservicio/productos/infrastructure/controller/ProductoController.java
 package com.microservicio.productos.infrastructure.controller;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.microservicio.productos.application.dto.CambiosDTO;
+import com.microservicio.productos.application.dto.ImportacionDTO;
+import com.microservicio.productos.application.dto.ObtenerVariosDTO;
+import com.microservicio.productos.application.dto.OperacionLoteDTO;
+import com.microservicio.productos.application.dto.PaginaCursorDTO;
 import com.microservicio.productos.application.dto.ProductoRequestDTO;
 import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.dto.ReservaStockDTO;
+import com.microservicio.productos.application.dto.ResultadoLoteDTO;
+import com.microservicio.productos.application.usecase.ProductoExportacionUseCase;
+import com.microservicio.productos.application.usecase.ProductoImportacionUseCase;
 import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.infrastructure.cache.ProductoNearCache;
+import com.microservicio.productos.infrastructure.cache.ProductoSerializado;
+import com.microservicio.productos.infrastructure.controller.respuesta.EstadisticasCache;
+import com.microservicio.productos.infrastructure.controller.respuesta.PaginaCursorProductos;
+import com.microservicio.productos.infrastructure.controller.respuesta.PaginaProductos;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaCambios;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaCamposActualizados;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaEstadisticas;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaImportacion;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaLote;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaMensaje;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaProducto;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaSugerencias;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaStockRechazado;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaVarios;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,19 +43,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/productos")
@@ -32,9 +74,36 @@ import java.util.Map;
 @SecurityRequirement(name = "Bearer Authentication")
 public class ProductoController {
 
+    private static final int TAMANO_MAXIMO_CURSOR = 100;
+
+    private static final int TAMANO_MAXIMO_CAMBIOS = 1000;
+
+    private static final int LONGITUD_MAXIMA_BUSQUEDA = 200;
+
+    private static final int LONGITUD_MAXIMA_SUGERENCIA = 100;
+
+    private static final int LIMITE_MAXIMO_SUGERENCIAS = 50;
+
+    private static final RespuestaMensaje VERSION_OBSOLETA = new RespuestaMensaje(
+            "El producto fue modificado por otra petición; obténgalo de nuevo antes de actualizar");
+
+    private static final RespuestaMensaje PRODUCTO_ELIMINADO = new RespuestaMensaje("Producto eliminado exitosamente");
+
     @Autowired
     private ProductoUseCase productoUseCase;
 
+    @Autowired
+    private ProductoImportacionUseCase productoImportacionUseCase;
+
+    @Autowired
+    private ProductoExportacionUseCase productoExportacionUseCase;
+
+    @Autowired
+    private ProductoNearCache productoNearCache;
+
+    @Value("${productos.lote.max-operaciones:50000}")
+    private int maxOperacionesLote;
+
     @PostMapping
     @Operation(summary = "Crear producto", description = "Crea un nuevo producto en el sistema")
     @ApiResponses(value = {
@@ -43,59 +112,371 @@ public class ProductoController {
         @ApiResponse(responseCode = "400", description = "Datos inválidos"),
         @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<Map<String, Object>> crearProducto(
+    public ResponseEntity<RespuestaProducto> crearProducto(
             @Valid @RequestBody ProductoRequestDTO requestDTO) {
         ProductoResponseDTO productoCreado = productoUseCase.crearProducto(requestDTO);
-        Map<String, Object> response = new HashMap<>();
-        response.put("mensaje", "Producto creado exitosamente");
-        response.put("producto", productoCreado);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new RespuestaProducto("Producto creado exitosamente", productoCreado));
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Operaciones masivas", description = "Crea, actualiza y elimina productos en lote, en bloques transaccionales con inserciones y actualizaciones JDBC por lotes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; cada operación informa su resultado"),
+        @ApiResponse(responseCode = "413", description = "El lote excede el máximo de operaciones"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> procesarLote(
+            @RequestBody List<OperacionLoteDTO> operaciones) {
+        if (operaciones.size() > maxOperacionesLote) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(new RespuestaMensaje("El lote no puede exceder " + maxOperacionesLote + " operaciones"));
+        }
+
+        List<ResultadoLoteDTO> resultados = productoUseCase.procesarLote(operaciones);
+        long exitosas = resultados.stream().filter(ResultadoLoteDTO::isExito).count();
+        return ResponseEntity.ok(new RespuestaLote("Lote procesado", resultados.size(), exitosas,
+                resultados.size() - exitosas, resultados));
+    }
+
+    @PostMapping("/stock/reservas")
+    @Operation(summary = "Reservar stock", description = "Descuenta stock de varios productos con UPDATE condicionales; si alguno no tiene stock suficiente no se reserva nada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock reservado para todos los productos"),
+        @ApiResponse(responseCode = "409", description = "Algún producto no existe o no tiene stock suficiente; no se reservó nada"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> reservarStock(
+            @Valid @RequestBody ReservaStockDTO reservaDTO) {
+        List<Long> rechazados = productoUseCase.reservarStock(reservaDTO.getLineas());
+        return respuestaAjusteStock(rechazados, "Stock reservado exitosamente",
+                "Stock insuficiente o producto inexistente; no se reservó ningún producto");
+    }
+
+    @PostMapping("/stock/liberaciones")
+    @Operation(summary = "Liberar stock", description = "Devuelve al stock unidades reservadas previamente; si algún producto no existe o su stock superaría el máximo (2147483647) no se libera nada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock liberado para todos los productos"),
+        @ApiResponse(responseCode = "409", description = "Algún producto no existe o superaría el stock máximo; no se liberó nada"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> liberarStock(
+            @Valid @RequestBody ReservaStockDTO reservaDTO) {
+        List<Long> rechazados = productoUseCase.liberarStock(reservaDTO.getLineas());
+        return respuestaAjusteStock(rechazados, "Stock liberado exitosamente",
+                "Producto inexistente o stock fuera de rango; no se liberó ningún producto");
+    }
+
+    private ResponseEntity<Respuesta> respuestaAjusteStock(List<Long> rechazados,
+                                                           String mensajeExito, String mensajeError) {
+        if (!rechazados.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new RespuestaStockRechazado(mensajeError, rechazados));
+        }
+        return ResponseEntity.ok(new RespuestaMensaje(mensajeExito));
+    }
+
+    @PostMapping("/obtener-varios")
+    @Operation(summary = "Obtener varios productos", description = "Una sola consulta para todos los ids (los que no estén en la caché de segundo nivel); la respuesta sigue el orden pedido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos encontrados e ids inexistentes"),
+        @ApiResponse(responseCode = "400", description = "Sin ids o más de los permitidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<RespuestaVarios> obtenerVarios(@Valid @RequestBody ObtenerVariosDTO pedido) {
+        List<ProductoResponseDTO> productos = productoUseCase.obtenerVarios(pedido.getIds());
+        Set<Long> encontrados = new HashSet<>();
+        productos.forEach(producto -> encontrados.add(producto.getId()));
+        List<Long> noEncontrados = pedido.getIds().stream().distinct().filter(id -> !encontrados.contains(id)).toList();
+        return ResponseEntity.ok(new RespuestaVarios(productos, noEncontrados));
+    }
+
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importar catálogo", description = "Importa productos desde un CSV con cabecera o NDJSON leído en streaming; se cargan con COPY y se fusionan por código de producto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación completada con el detalle de filas rechazadas"),
+        @ApiResponse(responseCode = "415", description = "Formato no soportado"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<RespuestaImportacion> importarProductos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+        boolean esCsv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        ImportacionDTO importacion = productoImportacionUseCase.importar(request.getInputStream(), esCsv);
+
+        return ResponseEntity.ok(new RespuestaImportacion("Importación completada", importacion));
+    }
+
+    @GetMapping("/importaciones")
+    @Operation(summary = "Progreso de importaciones", description = "Lista las importaciones en curso y recientes con su progreso")
+    public ResponseEntity<List<ImportacionDTO>> listarImportaciones() {
+        return ResponseEntity.ok(productoImportacionUseCase.listarImportaciones());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar catálogo", description = "Exporta todos los productos en NDJSON o CSV escribiendo en streaming desde un cursor de base de datos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo exportado"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public void exportarProductos(
+            @Parameter(description = "Formato de salida (ndjson o csv)")
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+        boolean esCsv = formato.equalsIgnoreCase("csv");
+        response.setContentType(esCsv ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"productos." + (esCsv ? "csv" : "ndjson") + "\"");
+        if (esCsv) {
+            productoExportacionUseCase.exportarCsv(response.getOutputStream());
+        } else {
+            productoExportacionUseCase.exportarNdjson(response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar productos", description = "Búsqueda de texto completo en nombre, descripción y código, ordenada por relevancia y paginada por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados de la búsqueda"),
+        @ApiResponse(responseCode = "400", description = "Consulta vacía o demasiado larga, o cursor inválido"),
+        @ApiResponse(responseCode = "503", description = "La búsqueda excedió el tiempo máximo"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> buscarProductos(
+            @Parameter(description = "Texto a buscar (admite \"frases\", OR y -exclusiones)")
+            @RequestParam String q,
+            @Parameter(description = "Tamaño de página")
+            @RequestParam(defaultValue = "15") int size,
+            @Parameter(description = "Cursor devuelto como siguienteCursor en la página anterior")
+            @RequestParam(required = false) String cursor) {
+        if (q.isBlank() || q.length() > LONGITUD_MAXIMA_BUSQUEDA) {
+            return ResponseEntity.badRequest()
+                    .body(new RespuestaMensaje("La búsqueda debe tener entre 1 y " + LONGITUD_MAXIMA_BUSQUEDA + " caracteres"));
+        }
+        String error = productoUseCase.validarCursorBusqueda(cursor);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(new RespuestaMensaje(error));
+        }
+
+        int tamano = Math.min(Math.max(size, 1), TAMANO_MAXIMO_CURSOR);
+        PaginaCursorDTO<ProductoResponseDTO> pagina;
+        try {
+            pagina = productoUseCase.buscarProductos(q, cursor, tamano);
+        } catch (QueryTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new RespuestaMensaje(e.getMessage()));
+        }
+        return ResponseEntity.ok(new PaginaCursorProductos(pagina.getContenido(), pagina.getSiguienteCursor(),
+                pagina.isHayMas(), tamano, null));
+    }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Cambios desde un token", description = "Productos creados, modificados y eliminados desde el token de la llamada anterior; sin token devuelve el catálogo completo. Se repite con el token devuelto mientras hayMas sea true")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios y token para la siguiente llamada"),
+        @ApiResponse(responseCode = "400", description = "Token inválido o de un formato anterior; se debe volver a sincronizar sin token"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> obtenerCambios(
+            @Parameter(description = "Token devuelto por la llamada anterior")
+            @RequestParam(required = false) String desde,
+            @Parameter(description = "Máximo de cambios por respuesta")
+            @RequestParam(defaultValue = "500") int size) {
+        String error = productoUseCase.validarTokenCambios(desde);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(new RespuestaMensaje(error));
+        }
+        int tamano = Math.min(Math.max(size, 1), TAMANO_MAXIMO_CAMBIOS);
+        CambiosDTO cambios = productoUseCase.obtenerCambios(desde, tamano);
+        return ResponseEntity.ok(new RespuestaCambios(cambios.getProductos(), cambios.getEliminados(),
+                cambios.getToken(), cambios.isHayMas(), cambios.isResincronizar()));
     }
 
     @GetMapping
     @Operation(summary = "Listar productos con paginación", description = "Obtiene la lista paginada de productos")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Campo de ordenamiento no permitido, o cursor inválido o de otro ordenamiento"),
         @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<Map<String, Object>> listarProductos(
+    public ResponseEntity<Respuesta> listarProductos(
             @Parameter(description = "Número de página (inicia en 0)") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamaño de página") 
             @RequestParam(defaultValue = "15") int size,
-            @Parameter(description = "Campo para ordenar") 
+            @Parameter(description = "Campo para ordenar (id, nombre, precio o fechaCreacion)") 
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Dirección de ordenamiento (asc o desc)") 
-            @RequestParam(defaultValue = "asc") String direction) {
-        
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Modo de paginación: offset (total exacto), sin-conteo, estimada o cursor") 
+            @RequestParam(defaultValue = "offset") String paginacion,
+            @Parameter(description = "Cursor devuelto como siguienteCursor en la página anterior (modo cursor)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Filtrar por categoría exacta")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Precio mínimo (inclusive)")
+            @RequestParam(required = false) BigDecimal precioMin,
+            @Parameter(description = "Precio máximo (inclusive)")
+            @RequestParam(required = false) BigDecimal precioMax,
+            @Parameter(description = "Solo productos con stock mayor a cero")
+            @RequestParam(defaultValue = "false") boolean conStock,
+            @Parameter(description = "Filtrar por estado activo/inactivo")
+            @RequestParam(required = false) Boolean estaActivo,
+            @Parameter(description = "Incluir el conteo de productos por categoría con los demás filtros")
+            @RequestParam(defaultValue = "false") boolean facetas) {
         
-        Page<ProductoResponseDTO> productosPage = productoUseCase.listarProductosPaginados(pageable);
+        CampoOrdenProducto campoOrden = CampoOrdenProducto.buscarPorPropiedad(sortBy).orElse(null);
+        if (campoOrden == null) {
+            return ResponseEntity.badRequest().body(new RespuestaMensaje("Campo de ordenamiento no permitido: " + sortBy));
+        }
+        boolean descendente = direction.equalsIgnoreCase("desc");
+        FiltroProductos filtro = new FiltroProductos(
+                categoria == null || categoria.isBlank() ? null : categoria, precioMin, precioMax, conStock, estaActivo);
+
+        if (paginacion.equalsIgnoreCase("cursor")) {
+            String error = productoUseCase.validarCursor(cursor, campoOrden, descendente);
+            if (error != null) {
+                return ResponseEntity.badRequest().body(new RespuestaMensaje(error));
+            }
+            int tamano = Math.min(Math.max(size, 1), TAMANO_MAXIMO_CURSOR);
+            PaginaCursorDTO<ProductoResponseDTO> pagina =
+                    productoUseCase.listarProductosPorCursor(cursor, campoOrden, descendente, tamano, filtro);
+
+            return ResponseEntity.ok(new PaginaCursorProductos(pagina.getContenido(), pagina.getSiguienteCursor(),
+                    pagina.isHayMas(), tamano, facetas(facetas, filtro)));
+        }
+
+        Sort.Direction sortDirection = descendente ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(sortDirection, campoOrden.getPropiedad());
+        if (campoOrden != CampoOrdenProducto.ID) {
+            sort = sort.and(Sort.by(sortDirection, "id"));
+        }
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        // sin-conteo y estimada evitan el SELECT count(*) de la paginación exacta
+        if (paginacion.equalsIgnoreCase("sin-conteo") || paginacion.equalsIgnoreCase("estimada")) {
+            Slice<ProductoResponseDTO> productosSlice = productoUseCase.listarProductosSinConteo(pageable, filtro);
+
+            Long totalEstimado = null;
+            Integer totalPaginas = null;
+            // La estimación es de la tabla completa; con filtros no se informa total
+            if (paginacion.equalsIgnoreCase("estimada") && filtro.estaVacio()) {
+                totalEstimado = productoUseCase.obtenerTotalEstimado();
+                totalPaginas = (int) Math.ceil((double) totalEstimado / productosSlice.getSize());
+            }
+            return ResponseEntity.ok(new PaginaProductos(productosSlice.getContent(), productosSlice.getNumber(),
+                    productosSlice.getSize(), totalEstimado, totalPaginas, totalEstimado != null ? Boolean.TRUE : null,
+                    productosSlice.hasNext(), productosSlice.isLast(), productosSlice.isFirst(), facetas(facetas, filtro)));
+        }
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("productos", productosPage.getContent());
-        response.put("paginaActual", productosPage.getNumber());
-        response.put("totalElementos", productosPage.getTotalElements());
-        response.put("totalPaginas", productosPage.getTotalPages());
-        response.put("tamanoPagina", productosPage.getSize());
-        response.put("esUltimaPagina", productosPage.isLast());
-        response.put("esPrimeraPagina", productosPage.isFirst());
+        Page<ProductoResponseDTO> productosPage = productoUseCase.listarProductosPaginados(pageable, filtro);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(new PaginaProductos(productosPage.getContent(), productosPage.getNumber(),
+                productosPage.getSize(), productosPage.getTotalElements(), productosPage.getTotalPages(), null,
+                null, productosPage.isLast(), productosPage.isFirst(), facetas(facetas, filtro)));
+    }
+
+    // Las facetas ignoran el filtro de categoría para que el cliente vea todas las opciones
+    private List<FacetaCategoria> facetas(boolean facetas, FiltroProductos filtro) {
+        return facetas ? productoUseCase.contarPorCategoria(filtro.sinCategoria()) : null;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener producto", description = "Obtiene un producto específico por su ID")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Producto encontrado"),
+        @ApiResponse(responseCode = "200", description = "Producto encontrado",
+                content = @Content(schema = @Schema(implementation = ProductoResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "El producto no cambió desde el ETag indicado en If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
         @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<ProductoResponseDTO> obtenerProducto(
-            @Parameter(description = "ID del producto") @PathVariable Long id) {
-        ProductoResponseDTO producto = productoUseCase.obtenerProductoPorId(id);
-        return ResponseEntity.ok(producto);
+    public ResponseEntity<byte[]> obtenerProducto(
+            @Parameter(description = "ID del producto") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Se compara solo la versión: de la caché si está, si no con un SELECT de esa columna
+            Long version = productoNearCache.versionEnCache(id);
+            if (version == null) {
+                version = productoUseCase.obtenerVersion(id).orElse(null);
+            }
+            if (version != null && (ifNoneMatch.trim().equals("*") || versionesDeEtags(ifNoneMatch, true).contains(version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(ProductoSerializado.etagDe(version))
+                        .build();
+            }
+        }
+
+        // El JSON se sirve tal cual desde la caché, sin volver a serializar
+        ProductoSerializado producto = productoNearCache.obtener(id, productoUseCase::obtenerProductoPorId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(producto.etag())
+                .body(producto.json());
+    }
+
+    @GetMapping("/codigo/{codigo}")
+    @Operation(summary = "Obtener producto por código", description = "Obtiene un producto por su codigoProducto, servido desde la caché de segundo nivel")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto encontrado",
+                content = @Content(schema = @Schema(implementation = ProductoResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "El producto no cambió desde el ETag indicado en If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Object> obtenerProductoPorCodigo(
+            @Parameter(description = "Código del producto") @PathVariable String codigo,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductoResponseDTO producto = productoUseCase.obtenerProductoPorCodigo(codigo).orElse(null);
+        if (producto == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new RespuestaMensaje("Producto no encontrado con código: " + codigo));
+        }
+        String etag = ProductoSerializado.etagDe(producto.getVersion());
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*")
+                || versionesDeEtags(ifNoneMatch, true).contains(producto.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(producto);
+    }
+
+    @GetMapping("/sugerencias")
+    @Operation(summary = "Sugerencias por prefijo", description = "Autocompletado por código o nombre (sin tildes ni mayúsculas) servido desde memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos cuyo código o alguna palabra del nombre empieza por el prefijo"),
+        @ApiResponse(responseCode = "400", description = "Prefijo vacío o demasiado largo"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> sugerirProductos(
+            @Parameter(description = "Inicio del código o de una palabra del nombre")
+            @RequestParam String prefijo,
+            @Parameter(description = "Cantidad máxima de sugerencias")
+            @RequestParam(defaultValue = "10") int limite) {
+        if (prefijo.isBlank() || prefijo.length() > LONGITUD_MAXIMA_SUGERENCIA) {
+            return ResponseEntity.badRequest()
+                    .body(new RespuestaMensaje("El prefijo debe tener entre 1 y " + LONGITUD_MAXIMA_SUGERENCIA + " caracteres"));
+        }
+        return ResponseEntity.ok(new RespuestaSugerencias(productoUseCase.sugerirProductos(prefijo,
+                Math.min(Math.max(limite, 1), LIMITE_MAXIMO_SUGERENCIAS))));
+    }
+
+    @GetMapping("/estadisticas")
+    @Operation(summary = "Estadísticas por categoría",
+            description = "Cantidad, stock total, valor de inventario y precio mínimo/máximo/promedio por categoría. "
+                    + "Se mantienen en memoria con las escrituras de esta instancia y se reconcilian con la base cada "
+                    + "5 minutos (PRODUCTOS_ESTADISTICAS_RECONCILIACION_MS): las escrituras de otras instancias pueden "
+                    + "tardar hasta ese intervalo en reflejarse")
+    public ResponseEntity<RespuestaEstadisticas> obtenerEstadisticasPorCategoria() {
+        List<EstadisticaCategoria> categorias = productoUseCase.obtenerEstadisticasPorCategoria();
+        return ResponseEntity.ok(new RespuestaEstadisticas(categorias, categorias.size()));
+    }
+
+    @GetMapping("/cache/estadisticas")
+    @Operation(summary = "Estadísticas de la caché", description = "Aciertos, desalojos y tiempo de carga de la caché de productos")
+    public ResponseEntity<EstadisticasCache> obtenerEstadisticasCache() {
+        CacheStats estadisticas = productoNearCache.getEstadisticas();
+        return ResponseEntity.ok(new EstadisticasCache(productoNearCache.getTamano(), estadisticas.hitCount(),
+                estadisticas.missCount(), estadisticas.hitRate(), estadisticas.evictionCount(),
+                estadisticas.loadCount(), estadisticas.averageLoadPenalty() / 1_000_000.0));
     }
 
     @PutMapping("/{id}")
@@ -104,16 +485,77 @@ public class ProductoController {
         @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
         @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "412", description = "El ETag de If-Match ya no corresponde a la versión actual"),
         @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<Map<String, Object>> actualizarProducto(
+    public ResponseEntity<Respuesta> actualizarProducto(
             @Parameter(description = "ID del producto") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductoRequestDTO requestDTO) {
-        ProductoResponseDTO productoActualizado = productoUseCase.actualizarProducto(id, requestDTO);
-        Map<String, Object> response = new HashMap<>();
-        response.put("mensaje", "Producto actualizado exitosamente");
-        response.put("producto", productoActualizado);
-        return ResponseEntity.ok(response);
+        ProductoResponseDTO productoActualizado;
+        try {
+            productoActualizado = productoUseCase.actualizarProducto(id, requestDTO, versionesEsperadas(ifMatch));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(VERSION_OBSOLETA);
+        }
+        return ResponseEntity.ok()
+                .eTag(ProductoSerializado.etagDe(productoActualizado.getVersion()))
+                .body(new RespuestaProducto("Producto actualizado exitosamente", productoActualizado));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Actualizar campos de un producto", description = "Aplica un JSON merge patch con un único UPDATE de las columnas recibidas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "412", description = "El ETag de If-Match ya no corresponde a la versión actual"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<Respuesta> actualizarParcialmente(
+            @Parameter(description = "ID del producto") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody ObjectNode parche) {
+        String error = productoUseCase.validarParche(parche);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(new RespuestaMensaje(error));
+        }
+        try {
+            productoUseCase.actualizarParcialmente(id, parche, versionesEsperadas(ifMatch));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(VERSION_OBSOLETA);
+        }
+        List<String> camposActualizados = new ArrayList<>();
+        parche.fieldNames().forEachRemaining(camposActualizados::add);
+        return ResponseEntity.ok(new RespuestaCamposActualizados("Producto actualizado exitosamente", camposActualizados));
+    }
+
+    // If-Match: * solo exige que el producto exista, igual que sin cabecera
+    private Set<Long> versionesEsperadas(String ifMatch) {
+        return ifMatch == null || ifMatch.trim().equals("*") ? null : versionesDeEtags(ifMatch, false);
+    }
+
+    // Versiones de una lista de ETags ("3", W/"4"). If-Match usa comparación fuerte, así que
+    // ahí los débiles se ignoran; If-None-Match usa comparación débil y los acepta.
+    private Set<Long> versionesDeEtags(String cabecera, boolean aceptarDebiles) {
+        Set<Long> versiones = new HashSet<>();
+        for (String etag : cabecera.split(",")) {
+            etag = etag.trim();
+            if (etag.startsWith("W/")) {
+                if (!aceptarDebiles) {
+                    continue;
+                }
+                etag = etag.substring(2);
+            }
+            if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+                try {
+                    versiones.add(Long.parseLong(etag.substring(1, etag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // ETag que no generamos nosotros: no coincide con ninguna versión
+                }
+            }
+        }
+        return versiones;
     }
 
     @DeleteMapping("/{id}")
@@ -123,11 +565,9 @@ public class ProductoController {
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
         @ApiResponse(responseCode = "401", description = "No autorizado")
     })
-    public ResponseEntity<Map<String, String>> eliminarProducto(
+    public ResponseEntity<RespuestaMensaje> eliminarProducto(
             @Parameter(description = "ID del producto") @PathVariable Long id) {
         productoUseCase.eliminarProducto(id);
-        Map<String, String> response = new HashMap<>();
-        response.put("mensaje", "Producto eliminado exitosamente");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(PRODUCTO_ELIMINADO);
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/ProductoReactivoController.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.usecase.ProductoLecturaReactivaUseCase;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaMensaje;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaVarios;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * API de solo lectura sobre R2DBC. Spring MVC libera el hilo de la petición mientras espera
+ * a la base y vuelve a él solo para escribir la respuesta; con Accept: application/x-ndjson
+ * el listado se escribe producto a producto y pide el siguiente cuando el anterior se
+ * entregó al cliente. La autenticación es la misma de /api/productos (filtro JWT).
+ */
+@RestController
+@RequestMapping("/api/v2/productos")
+@Tag(name = "Productos (lectura reactiva)", description = "Consultas de productos sin bloqueo sobre R2DBC")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ProductoReactivoController {
+
+    private static final int LIMITE_MAXIMO_LISTADO = 1000;
+
+    private static final int MAXIMO_IDS = 100;
+
+    @Autowired
+    private ProductoLecturaReactivaUseCase productoLecturaReactivaUseCase;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Listar productos", description = "Productos ordenados por id a partir de despuesDe; en NDJSON se transmiten a medida que el cliente los consume")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista obtenida exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public Flux<ProductoResponseDTO> listarProductos(
+            @Parameter(description = "Id del último producto recibido; se devuelven los siguientes")
+            @RequestParam(required = false) Long despuesDe,
+            @Parameter(description = "Filtrar por categoría exacta")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Cantidad máxima de productos (hasta 1000)")
+            @RequestParam(defaultValue = "15") int limite) {
+        return productoLecturaReactivaUseCase.listarProductos(despuesDe,
+                categoria == null || categoria.isBlank() ? null : categoria,
+                Math.min(Math.max(limite, 1), LIMITE_MAXIMO_LISTADO));
+    }
+
+    @GetMapping("/varios")
+    @Operation(summary = "Obtener varios productos", description = "Un solo SELECT ... IN para todos los ids; la respuesta sigue el orden pedido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos encontrados e ids inexistentes"),
+        @ApiResponse(responseCode = "400", description = "Más ids de los permitidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public Mono<ResponseEntity<Respuesta>> obtenerVarios(
+            @Parameter(description = "Ids separados por coma (hasta 100)")
+            @RequestParam List<Long> ids) {
+        if (ids.size() > MAXIMO_IDS) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new RespuestaMensaje("No se pueden pedir más de " + MAXIMO_IDS + " productos a la vez")));
+        }
+        return productoLecturaReactivaUseCase.obtenerVarios(ids).map(productos -> {
+            Set<Long> encontrados = new HashSet<>();
+            productos.forEach(producto -> encontrados.add(producto.getId()));
+            List<Long> noEncontrados = ids.stream().distinct().filter(id -> !encontrados.contains(id)).toList();
+            return ResponseEntity.ok(new RespuestaVarios(productos, noEncontrados));
+        });
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener producto", description = "Obtiene un producto por su ID sin bloquear un hilo mientras consulta la base")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto encontrado",
+                content = @Content(schema = @Schema(implementation = ProductoResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public Mono<ResponseEntity<Object>> obtenerProducto(
+            @Parameter(description = "ID del producto") @PathVariable Long id) {
+        return productoLecturaReactivaUseCase.obtenerProductoPorId(id)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new RespuestaMensaje("Producto no encontrado con ID: " + id)));
+    }
+}
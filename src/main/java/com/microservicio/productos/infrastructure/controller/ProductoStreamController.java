@@ -0,0 +1,66 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/ProductoStreamController.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.infrastructure.difusion.DifusorCambiosProducto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cambios de productos en vivo por Server-Sent Events. La conexión no ocupa un hilo mientras
+ * espera; el límite de concurrencia de /api/productos no se le aplica.
+ */
+@RestController
+@RequestMapping("/api/productos")
+@Tag(name = "Productos", description = "Gestión de productos")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ProductoStreamController {
+
+    private static final int MAXIMO_IDS = 100;
+
+    @Autowired
+    private DifusorCambiosProducto difusorCambiosProducto;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de cambios", description = "Eventos creado, actualizado y eliminado tras cada commit, con el producto en JSON. resincronizar indica que se perdieron eventos y hay que volver a leer los productos mostrados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream abierto"),
+        @ApiResponse(responseCode = "400", description = "Más ids de los permitidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas conexiones abiertas"),
+        @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    public ResponseEntity<SseEmitter> stream(
+            @Parameter(description = "Solo estos productos (ids=1,2,3)")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Solo productos de esta categoría")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Último evento recibido; se reenvían los posteriores")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        if (ids != null && ids.size() > MAXIMO_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<Long> filtroIds = ids == null || ids.isEmpty() ? null : new HashSet<>(ids);
+        String filtroCategoria = categoria == null || categoria.isBlank() ? null : categoria;
+        return difusorCambiosProducto.suscribir(filtroIds, filtroCategoria, ultimoEventoId)
+                .map(emitter -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build());
+    }
+}
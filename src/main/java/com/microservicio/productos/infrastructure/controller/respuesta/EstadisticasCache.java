@@ -0,0 +1,6 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/EstadisticasCache.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+public record EstadisticasCache(long entradas, long aciertos, long fallos, double tasaAciertos,
+                                long desalojos, long cargas, double tiempoPromedioCargaMs) implements Respuesta {
+}
@@ -0,0 +1,6 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/EstadoReadiness.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+public record EstadoReadiness(String estado, String baseDatos, int conexionesActivas, int conexionesMaximas,
+                              int hilosEsperando, String verificadoEn, String detalle) implements Respuesta {
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/PaginaCursorProductos.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+
+import java.util.List;
+
+// Paginación por cursor y búsqueda; siguienteCursor se envía aunque sea null
+public record PaginaCursorProductos(
+        List<ProductoResponseDTO> productos,
+        String siguienteCursor,
+        boolean hayMas,
+        int tamanoPagina,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<FacetaCategoria> facetas) implements Respuesta {
+}
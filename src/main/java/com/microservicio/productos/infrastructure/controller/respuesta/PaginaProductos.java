@@ -0,0 +1,25 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/PaginaProductos.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+
+import java.util.List;
+
+/**
+ * Paginación offset (con total exacto) y sin-conteo/estimada (con hayMas). Los campos que no
+ * corresponden al modo quedan en null y se omiten, como en el sobre HashMap anterior.
+ */
+public record PaginaProductos(
+        List<ProductoResponseDTO> productos,
+        int paginaActual,
+        int tamanoPagina,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElementos,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer totalPaginas,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Boolean totalEsEstimado,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Boolean hayMas,
+        boolean esUltimaPagina,
+        boolean esPrimeraPagina,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<FacetaCategoria> facetas) implements Respuesta {
+}
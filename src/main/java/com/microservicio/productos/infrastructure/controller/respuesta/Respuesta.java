@@ -0,0 +1,9 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/Respuesta.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+/**
+ * Sobres JSON tipados de los controladores. RespuestaHttpMessageConverter los escribe con un
+ * ObjectWriter resuelto una sola vez por tipo, directamente en el cuerpo de la respuesta.
+ */
+public interface Respuesta {
+}
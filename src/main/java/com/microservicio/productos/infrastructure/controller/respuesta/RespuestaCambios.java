@@ -0,0 +1,14 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaCambios.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+
+import java.util.List;
+
+public record RespuestaCambios(
+        List<ProductoResponseDTO> productos,
+        List<Long> eliminados,
+        String token,
+        boolean hayMas,
+        boolean resincronizar) implements Respuesta {
+}
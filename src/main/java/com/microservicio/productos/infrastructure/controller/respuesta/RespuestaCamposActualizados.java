@@ -0,0 +1,7 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaCamposActualizados.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import java.util.List;
+
+public record RespuestaCamposActualizados(String mensaje, List<String> camposActualizados) implements Respuesta {
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaEstadisticas.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+
+import java.util.List;
+
+public record RespuestaEstadisticas(List<EstadisticaCategoria> categorias, int totalCategorias) implements Respuesta {
+}
@@ -0,0 +1,56 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaHttpMessageConverter.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Escribe los sobres {@link Respuesta} con un ObjectWriter por tipo creado en la primera
+ * respuesta y reutilizado después: el serializador del record ya está resuelto, sin la
+ * búsqueda por valor que hace Jackson con cada entrada de un Map&lt;String, Object&gt;.
+ * El JSON va directo al stream de la respuesta, sin buffer intermedio.
+ */
+public class RespuestaHttpMessageConverter extends AbstractHttpMessageConverter<Respuesta> {
+
+    private final ClassValue<ObjectWriter> escritores;
+
+    public RespuestaHttpMessageConverter(ObjectMapper objectMapper) {
+        // Sin charset por defecto: Content-Type igual al del conversor de Jackson (JSON es UTF-8)
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        // El contenedor cierra el stream de la respuesta; Jackson no debe hacerlo
+        this.escritores = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> tipo) {
+                return objectMapper.writerFor(tipo).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            }
+        };
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Respuesta.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Respuesta readInternal(Class<? extends Respuesta> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Los sobres de respuesta no se leen", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Respuesta respuesta, HttpOutputMessage outputMessage) throws IOException {
+        escritores.get(respuesta.getClass()).writeValue(outputMessage.getBody(), respuesta);
+    }
+}
@@ -0,0 +1,7 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaImportacion.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.application.dto.ImportacionDTO;
+
+public record RespuestaImportacion(String mensaje, ImportacionDTO importacion) implements Respuesta {
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaLote.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.application.dto.ResultadoLoteDTO;
+
+import java.util.List;
+
+public record RespuestaLote(String mensaje, int total, long exitosas, long fallidas,
+                            List<ResultadoLoteDTO> resultados) implements Respuesta {
+}
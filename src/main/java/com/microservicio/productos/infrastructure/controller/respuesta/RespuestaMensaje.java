@@ -0,0 +1,5 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaMensaje.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+public record RespuestaMensaje(String mensaje) implements Respuesta {
+}
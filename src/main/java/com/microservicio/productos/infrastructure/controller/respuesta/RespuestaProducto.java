@@ -0,0 +1,7 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaProducto.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+
+public record RespuestaProducto(String mensaje, ProductoResponseDTO producto) implements Respuesta {
+}
@@ -0,0 +1,7 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaStockRechazado.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import java.util.List;
+
+public record RespuestaStockRechazado(String mensaje, List<Long> productosRechazados) implements Respuesta {
+}
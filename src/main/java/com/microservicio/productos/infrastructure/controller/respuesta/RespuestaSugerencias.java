@@ -0,0 +1,9 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaSugerencias.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.domain.model.SugerenciaProducto;
+
+import java.util.List;
+
+public record RespuestaSugerencias(List<SugerenciaProducto> sugerencias) implements Respuesta {
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaVarios.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+
+import java.util.List;
+
+public record RespuestaVarios(List<ProductoResponseDTO> productos, List<Long> noEncontrados) implements Respuesta {
+}
@@ -0,0 +1,298 @@
+// src/main/java/com/microservicio/productos/infrastructure/difusion/DifusorCambiosProducto.java
+package com.microservicio.productos.infrastructure.difusion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Difunde por SSE las escrituras confirmadas de ProductoService. Tras el commit solo se encola
+ * un aviso; un hilo propio junta los avisos, carga los productos en una consulta, serializa
+ * cada evento una vez y lo deja en la cola de cada suscripción que lo acepta, sin bloquear.
+ * Los últimos eventos se guardan para reanudar con Last-Event-ID; si el id ya no está (o es de
+ * otra instancia) el cliente recibe resincronizar y debe volver a leer lo que muestra.
+ *
+ * Cada instancia difunde solo las escrituras que atendió ella.
+ */
+@Component
+public class DifusorCambiosProducto {
+
+    private static final Logger log = LoggerFactory.getLogger(DifusorCambiosProducto.class);
+
+    // Mismo tope que POST /obtener-varios: una consulta por lote
+    private static final int MAX_LOTE = 100;
+
+    private static final int MAX_AVISOS_PENDIENTES = 10_000;
+
+    @Autowired
+    private ProductoUseCase productoUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${productos.stream.buffer:256}")
+    private int capacidadBuffer;
+
+    @Value("${productos.stream.historial:1000}")
+    private int capacidadHistorial;
+
+    @Value("${productos.stream.max-suscripciones:10000}")
+    private int maxSuscripciones;
+
+    @Value("${productos.stream.duracion-maxima:30m}")
+    private Duration duracionMaxima;
+
+    private record Aviso(Long id, TipoModificacion tipo) {
+        static final Aviso RECARGA = new Aviso(null, null);
+    }
+
+    // Los ids de otra ejecución no se confunden con los de esta
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<SuscripcionCambios> suscripciones = ConcurrentHashMap.newKeySet();
+    private final LinkedBlockingQueue<Aviso> avisos = new LinkedBlockingQueue<>(MAX_AVISOS_PENDIENTES);
+
+    // Protegen la numeración, el historial y el alta de suscripciones
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final ArrayDeque<EventoCambio> historial = new ArrayDeque<>();
+    private long secuencia;
+    private boolean avisosOmitidos;
+
+    private ExecutorService escritores;
+    private Thread difusion;
+    private Counter descartes;
+
+    @PostConstruct
+    public void iniciar() {
+        escritores = Executors.newVirtualThreadPerTaskExecutor();
+        difusion = Thread.ofVirtual().name("difusion-cambios-productos").start(this::difundir);
+        Gauge.builder("productos.stream.suscripciones", suscripciones, Set::size)
+                .description("Conexiones abiertas a GET /api/productos/stream")
+                .register(meterRegistry);
+        descartes = Counter.builder("productos.stream.descartes")
+                .description("Colas de suscripción desbordadas por clientes lentos (reciben resincronizar)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void detener() {
+        difusion.interrupt();
+        suscripciones.forEach(SuscripcionCambios::cerrar);
+        escritores.shutdownNow();
+    }
+
+    public Optional<SseEmitter> suscribir(Set<Long> ids, String categoria, String ultimoEventoId) {
+        SseEmitter emitter = new SseEmitter(duracionMaxima.toMillis());
+        return suscribir(emitter, ids, categoria, ultimoEventoId) ? Optional.of(emitter) : Optional.empty();
+    }
+
+    boolean suscribir(SseEmitter emitter, Set<Long> ids, String categoria, String ultimoEventoId) {
+        if (suscripciones.size() >= maxSuscripciones) {
+            return false;
+        }
+        SuscripcionCambios suscripcion = new SuscripcionCambios(emitter, ids, categoria, capacidadBuffer,
+                escritores, suscripciones::remove);
+        emitter.onTimeout(suscripcion::cerrar);
+        emitter.onCompletion(suscripcion::desconectar);
+        emitter.onError(error -> suscripcion.desconectar());
+
+        cerrojo.lock();
+        try {
+            // Sin nadie conectado no se leyeron los productos: quien reanude antes de esto resincroniza
+            if (avisosOmitidos) {
+                avisosOmitidos = false;
+                publicar(List.of(EventoCambio.resincronizar(0, null)));
+            }
+            if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+                reanudar(suscripcion, ultimoEventoId);
+            }
+            suscripciones.add(suscripcion);
+        } finally {
+            cerrojo.unlock();
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        avisar(new Aviso(evento.id(), evento.tipo()));
+    }
+
+    // La importación no publica un evento por producto: los clientes deben volver a leer
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        avisar(Aviso.RECARGA);
+    }
+
+    @Scheduled(fixedDelayString = "${productos.stream.latido-ms:15000}")
+    public void latir() {
+        suscripciones.forEach(SuscripcionCambios::latir);
+    }
+
+    private void avisar(Aviso aviso) {
+        cerrojo.lock();
+        try {
+            if (suscripciones.isEmpty()) {
+                avisosOmitidos = true;
+                return;
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+        if (!avisos.offer(aviso)) {
+            // La difusión no da abasto: todos resincronizan en lugar de recibir cada cambio
+            avisos.clear();
+            avisos.offer(Aviso.RECARGA);
+        }
+    }
+
+    private void difundir() {
+        List<Aviso> lote = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(avisos.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            avisos.drainTo(lote, MAX_LOTE - 1);
+            List<EventoCambio> eventos;
+            try {
+                eventos = preparar(lote);
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron leer {} productos modificados para el stream: {}", lote.size(), e.getMessage());
+                eventos = List.of(EventoCambio.resincronizar(0, null));
+            }
+            cerrojo.lock();
+            try {
+                publicar(eventos);
+            } finally {
+                cerrojo.unlock();
+            }
+            lote.clear();
+        }
+    }
+
+    // Varios avisos del mismo producto en un lote se difunden una sola vez, con su estado actual
+    private List<EventoCambio> preparar(List<Aviso> lote) {
+        Map<Long, TipoModificacion> ultimos = new LinkedHashMap<>();
+        for (Aviso aviso : lote) {
+            if (aviso == Aviso.RECARGA) {
+                return List.of(EventoCambio.resincronizar(0, null));
+            }
+            ultimos.remove(aviso.id());
+            ultimos.put(aviso.id(), aviso.tipo());
+        }
+
+        List<Long> vigentes = ultimos.entrySet().stream()
+                .filter(entrada -> entrada.getValue() != TipoModificacion.ELIMINADO)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<Long, ProductoResponseDTO> productos = new HashMap<>();
+        if (!vigentes.isEmpty()) {
+            productoUseCase.obtenerVarios(vigentes).forEach(producto -> productos.put(producto.getId(), producto));
+        }
+
+        List<EventoCambio> eventos = new ArrayList<>(ultimos.size());
+        ultimos.forEach((id, tipo) -> {
+            String nombre = tipo.name().toLowerCase(Locale.ROOT);
+            if (tipo == TipoModificacion.ELIMINADO) {
+                eventos.add(new EventoCambio(0, null, nombre, id, null, "{\"id\":" + id + "}"));
+                return;
+            }
+            ProductoResponseDTO producto = productos.get(id);
+            // Si ya no existe, su aviso de eliminación viene detrás
+            if (producto != null) {
+                eventos.add(new EventoCambio(0, null, nombre, id, producto.getCategoria(), serializar(producto)));
+            }
+        });
+        return eventos;
+    }
+
+    // Con el cerrojo tomado: numera, guarda en el historial y entrega sin bloquear
+    private void publicar(List<EventoCambio> eventos) {
+        for (EventoCambio evento : eventos) {
+            EventoCambio numerado = evento.numerar(++secuencia, epoca);
+            historial.addLast(numerado);
+            if (historial.size() > capacidadHistorial) {
+                historial.removeFirst();
+            }
+            for (SuscripcionCambios suscripcion : suscripciones) {
+                if (suscripcion.acepta(numerado) && suscripcion.entregar(numerado)) {
+                    descartes.increment();
+                }
+            }
+        }
+    }
+
+    // Con el cerrojo tomado: reenvía lo posterior al último evento recibido, si sigue en el historial
+    private void reanudar(SuscripcionCambios suscripcion, String ultimoEventoId) {
+        long desde = secuenciaDe(ultimoEventoId);
+        long primeraGuardada = historial.isEmpty() ? secuencia + 1 : historial.peekFirst().secuencia();
+        if (desde < 0 || desde > secuencia || desde + 1 < primeraGuardada) {
+            suscripcion.entregar(EventoCambio.resincronizar(secuencia, epoca + "-" + secuencia));
+            return;
+        }
+        for (EventoCambio evento : historial) {
+            if (evento.secuencia() > desde && suscripcion.acepta(evento) && suscripcion.entregar(evento)) {
+                descartes.increment();
+            }
+        }
+    }
+
+    private long secuenciaDe(String eventoId) {
+        int separador = eventoId.lastIndexOf('-');
+        if (separador < 0 || !eventoId.substring(0, separador).equals(epoca)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String serializar(ProductoResponseDTO producto) {
+        try {
+            return objectMapper.writeValueAsString(producto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el producto " + producto.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+// src/main/java/com/microservicio/productos/infrastructure/difusion/EventoCambio.java
+package com.microservicio.productos.infrastructure.difusion;
+
+/**
+ * Evento de GET /api/productos/stream, serializado una vez y enviado igual a todas las
+ * suscripciones. id es época-secuencia (Last-Event-ID); nombre es creado, actualizado,
+ * eliminado o resincronizar; categoria es null en los eliminados (el aviso no la trae).
+ */
+record EventoCambio(long secuencia, String id, String nombre, Long productoId, String categoria, String datos) {
+
+    static final String RESINCRONIZAR = "resincronizar";
+
+    // Comentario SSE periódico: mantiene viva la conexión en proxies y detecta clientes caídos
+    static final EventoCambio LATIDO = new EventoCambio(0, null, null, null, null, null);
+
+    static EventoCambio resincronizar(long secuencia, String id) {
+        return new EventoCambio(secuencia, id, RESINCRONIZAR, null, null, "{}");
+    }
+
+    EventoCambio numerar(long secuencia, String epoca) {
+        return new EventoCambio(secuencia, epoca + "-" + secuencia, nombre, productoId, categoria, datos);
+    }
+
+    boolean esResincronizacion() {
+        return RESINCRONIZAR.equals(nombre);
+    }
+}
@@ -0,0 +1,137 @@
+// src/main/java/com/microservicio/productos/infrastructure/difusion/SuscripcionCambios.java
+package com.microservicio.productos.infrastructure.difusion;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Una conexión SSE con sus filtros y una cola acotada de eventos por enviar. La cola la vacía
+ * una tarea del ejecutor solo mientras tiene eventos: una conexión inactiva no ocupa hilo y un
+ * cliente lento solo detiene su propia tarea. Si la cola se llena se descarta su contenido y el
+ * cliente recibe resincronizar antes de los eventos siguientes.
+ */
+class SuscripcionCambios {
+
+    private final SseEmitter emitter;
+    private final Set<Long> ids;
+    private final String categoria;
+    private final BlockingQueue<EventoCambio> cola;
+    private final Executor escritores;
+    private final Consumer<SuscripcionCambios> alCerrar;
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private final AtomicBoolean cerrada = new AtomicBoolean();
+    // Id del último evento descartado; el resincronizar lo lleva para que Last-Event-ID siga valiendo
+    private final AtomicReference<String> resincronizarEn = new AtomicReference<>();
+
+    SuscripcionCambios(SseEmitter emitter, Set<Long> ids, String categoria, int capacidad,
+                       Executor escritores, Consumer<SuscripcionCambios> alCerrar) {
+        this.emitter = emitter;
+        this.ids = ids;
+        this.categoria = categoria;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.escritores = escritores;
+        this.alCerrar = alCerrar;
+    }
+
+    boolean acepta(EventoCambio evento) {
+        if (evento.esResincronizacion()) {
+            return true;
+        }
+        if (ids != null && !ids.contains(evento.productoId())) {
+            return false;
+        }
+        return categoria == null || evento.categoria() == null || categoria.equals(evento.categoria());
+    }
+
+    /**
+     * No bloquea: si el cliente no dio abasto, vacía la cola y marca la resincronización.
+     * Devuelve true si se descartaron eventos.
+     */
+    boolean entregar(EventoCambio evento) {
+        if (cerrada.get()) {
+            return false;
+        }
+        boolean descartados = !cola.offer(evento);
+        if (descartados) {
+            cola.clear();
+            resincronizarEn.set(evento.id());
+        }
+        programar();
+        return descartados;
+    }
+
+    void latir() {
+        if (cola.offer(EventoCambio.LATIDO)) {
+            programar();
+        }
+    }
+
+    // Al vencer la duración máxima o al detener la aplicación; el cliente se reconecta con Last-Event-ID
+    void cerrar() {
+        if (desconectar()) {
+            emitter.complete();
+        }
+    }
+
+    // La conexión ya terminó (el cliente se fue o el contenedor completó la petición)
+    boolean desconectar() {
+        if (!cerrada.compareAndSet(false, true)) {
+            return false;
+        }
+        alCerrar.accept(this);
+        cola.clear();
+        return true;
+    }
+
+    private void programar() {
+        if (programada.compareAndSet(false, true)) {
+            try {
+                escritores.execute(this::vaciar);
+            } catch (RejectedExecutionException e) {
+                // Ejecutor detenido: la aplicación se está cerrando
+                cerrar();
+            }
+        }
+    }
+
+    private void vaciar() {
+        do {
+            try {
+                String resincronizar = resincronizarEn.getAndSet(null);
+                if (resincronizar != null) {
+                    enviar(EventoCambio.resincronizar(0, resincronizar));
+                }
+                EventoCambio evento;
+                while ((evento = cola.poll()) != null && !cerrada.get()) {
+                    enviar(evento);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado: el contenedor avisa el error y completa la petición
+                desconectar();
+                return;
+            }
+            programada.set(false);
+        } while (pendiente() && programada.compareAndSet(false, true));
+    }
+
+    private boolean pendiente() {
+        return !cerrada.get() && (!cola.isEmpty() || resincronizarEn.get() != null);
+    }
+
+    private void enviar(EventoCambio evento) throws IOException {
+        if (evento == EventoCambio.LATIDO) {
+            emitter.send(SseEmitter.event().comment(""));
+            return;
+        }
+        emitter.send(SseEmitter.event().id(evento.id()).name(evento.nombre()).data(evento.datos()));
+    }
+}
@@ -0,0 +1,48 @@
+// src/main/java/com/microservicio/productos/infrastructure/metricas/MetricasNegocioProductos.java
+package com.microservicio.productos.infrastructure.metricas;
+
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Contadores de negocio a partir de los eventos de ProductoService. Se cuentan tras el
+ * commit, así que una escritura revertida no suma.
+ */
+@Component
+public class MetricasNegocioProductos {
+
+    private final Map<TipoModificacion, Counter> modificaciones = new EnumMap<>(TipoModificacion.class);
+    private final Counter importados;
+
+    public MetricasNegocioProductos(MeterRegistry meterRegistry) {
+        for (TipoModificacion tipo : TipoModificacion.values()) {
+            modificaciones.put(tipo, Counter.builder("productos.modificaciones")
+                    .description("Productos creados, actualizados y eliminados")
+                    .tag("tipo", tipo.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        importados = Counter.builder("productos.importados")
+                .description("Productos insertados o actualizados por importaciones masivas")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        modificaciones.get(evento.tipo()).increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        importados.increment(evento.productosAfectados());
+    }
+}
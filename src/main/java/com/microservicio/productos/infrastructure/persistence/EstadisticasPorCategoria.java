@@ -0,0 +1,233 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/EstadisticasPorCategoria.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.event.CatalogoRecargadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.StockAjustadoEvent;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estadísticas por categoría mantenidas en memoria. Cada escritura confirmada resta el aporte
+ * anterior del producto y suma el nuevo, así que consultarlas cuesta O(categorías). Una
+ * reconciliación periódica (productos.estadisticas.reconciliacion-ms, 5 minutos por defecto)
+ * las recalcula desde la base y corrige cualquier desviación.
+ *
+ * Los eventos son los de esta instancia: lo que escriben las demás solo aparece aquí en la
+ * siguiente reconciliación, así que con varias instancias cada una puede ir hasta un intervalo
+ * atrasada. Además, un evento confirmado mientras corre el SELECT de la reconciliación puede no
+ * estar en lo leído y se pierde al reemplazar los mapas; se recupera en la reconciliación
+ * siguiente.
+ */
+@Component
+public class EstadisticasPorCategoria {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasPorCategoria.class);
+
+    private static final String SELECT_APORTES = "SELECT id, categoria, precio, stock FROM productos";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Aporte vigente de cada producto: hace falta para restar el valor anterior en una
+    // actualización o eliminación, que no lo traen en el evento
+    private Map<Long, Aporte> aportes = new HashMap<>();
+    private Map<String, Acumulado> categorias = nuevasCategorias();
+    private boolean reconciliado;
+    // ReentrantLock y no synchronized: los listeners corren en el hilo de la petición y, con
+    // hilos virtuales, esperar un monitor ocupado bloquea también al hilo portador
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    // Un solo SELECT de las tres columnas que intervienen en los agregados
+    @Scheduled(initialDelay = 0, fixedDelayString = "${productos.estadisticas.reconciliacion-ms:300000}")
+    public void reconciliar() {
+        try {
+            Map<Long, Aporte> leidos = new HashMap<>();
+            jdbcTemplate.query(SELECT_APORTES, rs -> {
+                leidos.put(rs.getLong("id"),
+                        new Aporte(rs.getString("categoria"), rs.getBigDecimal("precio"), rs.getInt("stock")));
+            });
+            reemplazar(leidos);
+        } catch (Exception e) {
+            log.warn("No se pudieron reconciliar las estadísticas por categoría: {}", e.getMessage());
+        }
+    }
+
+    void reemplazar(Map<Long, Aporte> leidos) {
+        cerrojo.lock();
+        try {
+            List<EstadisticaCategoria> anteriores = reconciliado ? obtener() : null;
+            // Se acumula aparte y se cambian los dos mapas juntos al final
+            Map<String, Acumulado> recalculadas = nuevasCategorias();
+            leidos.values().forEach(aporte -> sumar(recalculadas, aporte));
+            aportes = leidos;
+            categorias = recalculadas;
+            reconciliado = true;
+            if (anteriores != null && !anteriores.equals(obtener())) {
+                log.info("Estadísticas por categoría corregidas en la reconciliación ({} productos)", leidos.size());
+            }
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        cerrojo.lock();
+        try {
+            Aporte anterior = aportes.get(evento.id());
+            if (evento.tipo() == ProductoModificadoEvent.TipoModificacion.ELIMINADO) {
+                if (anterior != null) {
+                    aportes.remove(evento.id());
+                    restar(anterior);
+                }
+                return;
+            }
+            Aporte nuevo = Aporte.combinar(anterior, evento.valores());
+            // Sin aporte previo y con datos parciales no se puede calcular el nuevo: lo corrige la reconciliación
+            if (nuevo == null || nuevo.equals(anterior)) {
+                return;
+            }
+            if (anterior != null) {
+                restar(anterior);
+            }
+            aportes.put(evento.id(), nuevo);
+            sumar(nuevo);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alAjustarStock(StockAjustadoEvent evento) {
+        cerrojo.lock();
+        try {
+            evento.variaciones().forEach((id, variacion) -> {
+                Aporte anterior = aportes.get(id);
+                if (anterior != null) {
+                    Aporte nuevo = new Aporte(anterior.categoria(), anterior.precio(), anterior.stock() + variacion);
+                    restar(anterior);
+                    aportes.put(id, nuevo);
+                    sumar(nuevo);
+                }
+            });
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // Una importación no publica eventos por producto: se recalcula todo
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alRecargarCatalogo(CatalogoRecargadoEvent evento) {
+        reconciliar();
+    }
+
+    public List<EstadisticaCategoria> obtener() {
+        cerrojo.lock();
+        try {
+            List<EstadisticaCategoria> estadisticas = new ArrayList<>(categorias.size());
+            categorias.forEach((categoria, acumulado) -> estadisticas.add(acumulado.aEstadistica(categoria)));
+            return estadisticas;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    // La columna categoria admite NULL: esos productos se agrupan en una entrada con categoría null
+    private static Map<String, Acumulado> nuevasCategorias() {
+        return new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private void sumar(Aporte aporte) {
+        sumar(categorias, aporte);
+    }
+
+    private static void sumar(Map<String, Acumulado> categorias, Aporte aporte) {
+        categorias.computeIfAbsent(aporte.categoria(), c -> new Acumulado()).sumar(aporte);
+    }
+
+    private void restar(Aporte aporte) {
+        Acumulado acumulado = categorias.get(aporte.categoria());
+        if (acumulado != null && acumulado.restar(aporte)) {
+            categorias.remove(aporte.categoria());
+        }
+    }
+
+    record Aporte(String categoria, BigDecimal precio, int stock) {
+
+        // Misma escala que la columna, para que el evento y la base den aportes iguales
+        Aporte {
+            precio = precio.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal valorInventario() {
+            return precio.multiply(BigDecimal.valueOf(stock));
+        }
+
+        // Los campos que no vienen en el evento se conservan del aporte anterior
+        static Aporte combinar(Aporte anterior, Map<CampoActualizableProducto, Object> valores) {
+            boolean completo = valores.containsKey(CampoActualizableProducto.CATEGORIA)
+                    && valores.containsKey(CampoActualizableProducto.PRECIO)
+                    && valores.containsKey(CampoActualizableProducto.STOCK);
+            if (anterior == null && !completo) {
+                return null;
+            }
+            return new Aporte(
+                    (String) valores.getOrDefault(CampoActualizableProducto.CATEGORIA, anterior == null ? null : anterior.categoria()),
+                    (BigDecimal) valores.getOrDefault(CampoActualizableProducto.PRECIO, anterior == null ? null : anterior.precio()),
+                    (Integer) valores.getOrDefault(CampoActualizableProducto.STOCK, anterior == null ? null : anterior.stock()));
+        }
+    }
+
+    // Sumas para cantidad, stock, valor y promedio; los precios en un multiconjunto ordenado
+    // para que el mínimo y el máximo sigan siendo exactos cuando se quita un producto
+    private static final class Acumulado {
+        private long cantidad;
+        private long stockTotal;
+        private BigDecimal valorInventario = BigDecimal.ZERO;
+        private BigDecimal sumaPrecios = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> precios = new TreeMap<>();
+
+        void sumar(Aporte aporte) {
+            cantidad++;
+            stockTotal += aporte.stock();
+            valorInventario = valorInventario.add(aporte.valorInventario());
+            sumaPrecios = sumaPrecios.add(aporte.precio());
+            precios.merge(aporte.precio(), 1, Integer::sum);
+        }
+
+        // Devuelve true si la categoría quedó vacía
+        boolean restar(Aporte aporte) {
+            cantidad--;
+            stockTotal -= aporte.stock();
+            valorInventario = valorInventario.subtract(aporte.valorInventario());
+            sumaPrecios = sumaPrecios.subtract(aporte.precio());
+            precios.computeIfPresent(aporte.precio(), (precio, veces) -> veces > 1 ? veces - 1 : null);
+            return cantidad <= 0;
+        }
+
+        EstadisticaCategoria aEstadistica(String categoria) {
+            return new EstadisticaCategoria(categoria, cantidad, stockTotal, valorInventario,
+                    precios.firstKey(), precios.lastKey(),
+                    sumaPrecios.divide(BigDecimal.valueOf(cantidad), 2, RoundingMode.HALF_UP));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/EstimadorTotalProductos.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene en memoria el total aproximado de productos leído de pg_class.reltuples,
+ * para no ejecutar SELECT count(*) en cada listado.
+ */
+@Component
+public class EstimadorTotalProductos {
+
+    private static final Logger log = LoggerFactory.getLogger(EstimadorTotalProductos.class);
+
+    @Autowired
+    private ProductoRepositoryImpl productoRepository;
+
+    private final AtomicLong totalEstimado = new AtomicLong();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${productos.total-estimado.intervalo-ms:60000}")
+    public void refrescar() {
+        try {
+            long estimado = productoRepository.estimarTotal();
+            // reltuples vale -1 mientras la tabla no se haya analizado: se usa el conteo exacto
+            totalEstimado.set(estimado >= 0 ? estimado : productoRepository.count());
+        } catch (Exception e) {
+            log.warn("No se pudo refrescar el total estimado de productos: {}", e.getMessage());
+        }
+    }
+
+    public long getTotalEstimado() {
+        return totalEstimado.get();
+    }
+}
@@ -0,0 +1,70 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoBusquedaRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.ResultadoBusqueda;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Búsqueda de texto completo sobre la columna generada busqueda (índice GIN).
+ * Los resultados se ordenan por relevancia y se paginan por keyset sobre (rango, id).
+ */
+@Repository
+public class ProductoBusquedaRepository {
+
+    // Código de PostgreSQL para una sentencia cancelada por statement/query timeout
+    private static final String SQLSTATE_CANCELADA = "57014";
+
+    private static final String SELECT = "SELECT " + ProductoRowMapper.COLUMNAS + """
+            , ts_rank_cd(busqueda, consulta) AS rango
+            FROM productos, websearch_to_tsquery('spanish', ?) AS consulta
+            WHERE busqueda @@ consulta""";
+
+    private static final String DESPUES_DE_CURSOR = """
+             AND (ts_rank_cd(busqueda, consulta) < ?
+                  OR (ts_rank_cd(busqueda, consulta) = ? AND id > ?))""";
+
+    private static final String ORDEN = " ORDER BY rango DESC, id LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Tope de latencia: el driver cancela la consulta en el servidor al vencer
+    @Value("${productos.busqueda.timeout:2s}")
+    private Duration timeout;
+
+    public List<ResultadoBusqueda> buscar(String texto, Float rangoDesde, Long idDesde, int limite) {
+        boolean conCursor = idDesde != null;
+        String sql = SELECT + (conCursor ? DESPUES_DE_CURSOR : "") + ORDEN;
+        try {
+            return jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+                int indice = 1;
+                statement.setString(indice++, texto);
+                if (conCursor) {
+                    statement.setFloat(indice++, rangoDesde);
+                    statement.setFloat(indice++, rangoDesde);
+                    statement.setLong(indice++, idDesde);
+                }
+                statement.setInt(indice, limite);
+                return statement;
+            }, (rs, fila) -> new ResultadoBusqueda(ProductoRowMapper.INSTANCIA.mapRow(rs, fila), rs.getFloat("rango")));
+        } catch (DataAccessException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && SQLSTATE_CANCELADA.equals(sqlException.getSQLState())) {
+                throw new QueryTimeoutException("La búsqueda excedió el tiempo máximo; refine la consulta", e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoCambiosRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.CambioProducto;
+import com.microservicio.productos.domain.model.InstantaneaCambios;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cambios de productos en orden de (xid_cambio, id), con las lápidas de productos_eliminados
+ * intercaladas. Ambas tablas se recorren por keyset sobre su índice (xid_cambio, id).
+ */
+@Repository
+public class ProductoCambiosRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoCambiosRepository.class);
+
+    private static final String INSTANTANEA = """
+            SELECT pg_snapshot_xmin(pg_current_snapshot())::text AS horizonte, now() AS fecha""";
+
+    private static final String PRODUCTOS = "SELECT " + ProductoRowMapper.COLUMNAS + """
+            , xid_cambio::text AS xid
+            FROM productos
+            WHERE (xid_cambio, id) > (CAST(? AS xid8), ?)
+            ORDER BY xid_cambio, id LIMIT ?""";
+
+    private static final String ELIMINADOS = """
+            SELECT id, xid_cambio::text AS xid
+            FROM productos_eliminados
+            WHERE (xid_cambio, id) > (CAST(? AS xid8), ?)
+            ORDER BY xid_cambio, id LIMIT ?""";
+
+    private static final String PURGA = """
+            DELETE FROM productos_eliminados WHERE fecha_eliminacion < now() - CAST(? AS interval)""";
+
+    private static final Comparator<CambioProducto> ORDEN =
+            Comparator.comparingLong(CambioProducto::xid).thenComparing(CambioProducto::id);
+
+    // Una transacción que elimina filas puede haber empezado antes de emitirse el token que
+    // las debe ver: las lápidas se guardan un poco más que lo que se aceptan los tokens
+    private static final Duration MARGEN_PURGA = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${productos.cambios.retencion:7d}")
+    private Duration retencion;
+
+    public InstantaneaCambios instantanea() {
+        return jdbcTemplate.queryForObject(INSTANTANEA, (rs, fila) -> new InstantaneaCambios(
+                Long.parseLong(rs.getString("horizonte")), rs.getTimestamp("fecha").toInstant()));
+    }
+
+    /**
+     * Hasta limite cambios posteriores a (xidDesde, idDesde). Se piden limite filas a cada tabla
+     * y se mezclan: lo que sobra de una vuelve a leerse en la página siguiente.
+     */
+    public List<CambioProducto> listarDesde(long xidDesde, long idDesde, boolean conEliminados, int limite) {
+        String xid = Long.toString(xidDesde);
+        List<CambioProducto> cambios = new ArrayList<>(jdbcTemplate.query(PRODUCTOS,
+                (rs, fila) -> new CambioProducto(Long.parseLong(rs.getString("xid")), rs.getLong("id"),
+                        ProductoRowMapper.INSTANCIA.mapRow(rs, fila)),
+                xid, idDesde, limite));
+        if (conEliminados) {
+            cambios.addAll(jdbcTemplate.query(ELIMINADOS,
+                    (rs, fila) -> new CambioProducto(Long.parseLong(rs.getString("xid")), rs.getLong("id"), null),
+                    xid, idDesde, limite));
+            cambios.sort(ORDEN);
+        }
+        return cambios.size() > limite ? cambios.subList(0, limite) : cambios;
+    }
+
+    @Scheduled(initialDelayString = "${productos.cambios.purga-ms:3600000}",
+            fixedDelayString = "${productos.cambios.purga-ms:3600000}")
+    public void purgarEliminados() {
+        try {
+            // Duration.toString() es ISO 8601 (PT169H), que PostgreSQL acepta como interval
+            int purgadas = jdbcTemplate.update(PURGA, retencion.plus(MARGEN_PURGA).toString());
+            if (purgadas > 0) {
+                log.info("Purgadas {} lápidas de productos eliminados", purgadas);
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo purgar productos_eliminados: {}", e.getMessage());
+        }
+    }
+}
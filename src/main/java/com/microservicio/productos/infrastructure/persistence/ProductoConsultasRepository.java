@@ -0,0 +1,39 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoConsultasRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.Producto;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas que Spring Data no puede derivar y se escriben a mano en SQL.
+ */
+public interface ProductoConsultasRepository {
+
+    List<Producto> listarPorCursor(CampoOrdenProducto campo, boolean descendente,
+                                   Object valorDesde, Long idDesde, int limite, FiltroProductos filtro);
+
+    Slice<Producto> listarFiltradosSinConteo(FiltroProductos filtro, Pageable pageable);
+
+    List<FacetaCategoria> contarPorCategoria(FiltroProductos filtro);
+
+    long estimarTotal();
+
+    Optional<Producto> buscarPorCodigoProducto(String codigoProducto);
+
+    List<Producto> buscarPorIds(List<Long> ids);
+
+    int actualizarCampos(Long id, Map<CampoActualizableProducto, Object> cambios, Set<Long> versionesEsperadas);
+
+    int eliminarPorId(Long id);
+}
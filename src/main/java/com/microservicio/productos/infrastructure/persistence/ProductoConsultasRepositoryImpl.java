@@ -0,0 +1,234 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoConsultasRepositoryImpl.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.infrastructure.cache.InvalidadorCacheSegundoNivel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+public class ProductoConsultasRepositoryImpl implements ProductoConsultasRepository {
+
+    private static final String ESPACIO_ESCRITURA_DIRECTA = "productos_escritura_directa";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private InvalidadorCacheSegundoNivel invalidadorCache;
+
+    // Paginación por keyset: WHERE (columna, id) > (?, ?) recorre el índice (columna, id)
+    // sin descartar filas, así que cualquier página cuesta lo mismo que la primera.
+    // La columna sale siempre de CampoOrdenProducto, nunca del request.
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Producto> listarPorCursor(CampoOrdenProducto campo, boolean descendente,
+                                          Object valorDesde, Long idDesde, int limite, FiltroProductos filtro) {
+        boolean porId = campo == CampoOrdenProducto.ID;
+        String direccion = descendente ? "DESC" : "ASC";
+        String comparador = descendente ? " < " : " > ";
+        List<String> condiciones = condicionesSql(filtro);
+        if (idDesde != null) {
+            condiciones.add(porId
+                    ? "id" + comparador + ":idDesde"
+                    : "(" + campo.getColumna() + ", id)" + comparador + "(:valorDesde, :idDesde)");
+        }
+        StringBuilder sql = new StringBuilder("SELECT * FROM productos");
+        if (!condiciones.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+        sql.append(" ORDER BY ");
+        if (!porId) {
+            sql.append(campo.getColumna()).append(' ').append(direccion).append(", ");
+        }
+        sql.append("id ").append(direccion).append(" LIMIT :limite");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Producto.class);
+        if (filtro.categoria() != null) {
+            query.setParameter("categoria", filtro.categoria());
+        }
+        if (filtro.precioMinimo() != null) {
+            query.setParameter("precioMinimo", filtro.precioMinimo());
+        }
+        if (filtro.precioMaximo() != null) {
+            query.setParameter("precioMaximo", filtro.precioMaximo());
+        }
+        if (idDesde != null) {
+            if (!porId) {
+                query.setParameter("valorDesde", valorDesde);
+            }
+            query.setParameter("idDesde", idDesde);
+        }
+        query.setParameter("limite", limite);
+        return query.getResultList();
+    }
+
+    // Mismas condiciones que ProductoEspecificaciones, en SQL nativo para el keyset
+    private static List<String> condicionesSql(FiltroProductos filtro) {
+        List<String> condiciones = new ArrayList<>();
+        if (filtro.categoria() != null) {
+            condiciones.add("categoria = :categoria");
+        }
+        if (filtro.estaActivo() != null) {
+            condiciones.add(filtro.estaActivo() ? "esta_activo = TRUE" : "esta_activo = FALSE");
+        }
+        if (filtro.precioMinimo() != null) {
+            condiciones.add("precio >= :precioMinimo");
+        }
+        if (filtro.precioMaximo() != null) {
+            condiciones.add("precio <= :precioMaximo");
+        }
+        if (filtro.soloConStock()) {
+            condiciones.add("stock > 0");
+        }
+        return condiciones;
+    }
+
+    // Slice filtrado: pide size + 1 filas y no ejecuta SELECT count(*)
+    @Override
+    public Slice<Producto> listarFiltradosSinConteo(FiltroProductos filtro, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Producto> consulta = cb.createQuery(Producto.class);
+        Root<Producto> root = consulta.from(Producto.class);
+        consulta.where(ProductoEspecificaciones.conFiltro(filtro).toPredicate(root, consulta, cb));
+        consulta.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Producto> filas = entityManager.createQuery(consulta)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hayMas = filas.size() > pageable.getPageSize();
+        return new SliceImpl<>(hayMas ? filas.subList(0, pageable.getPageSize()) : filas, pageable, hayMas);
+    }
+
+    // Un solo GROUP BY sobre el mismo filtro; las categorías con más productos primero
+    @Override
+    public List<FacetaCategoria> contarPorCategoria(FiltroProductos filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Producto> root = consulta.from(Producto.class);
+        Expression<Long> cantidad = cb.count(root);
+        consulta.multiselect(root.get("categoria"), cantidad)
+                .where(ProductoEspecificaciones.conFiltro(filtro).toPredicate(root, consulta, cb))
+                .groupBy(root.get("categoria"))
+                .orderBy(cb.desc(cantidad), cb.asc(root.get("categoria")));
+
+        return entityManager.createQuery(consulta).getResultList().stream()
+                .map(fila -> new FacetaCategoria(fila.get(0, String.class), fila.get(1, Long.class)))
+                .toList();
+    }
+
+    // Un único UPDATE con solo las columnas recibidas; sin SELECT previo. Devuelve las filas
+    // afectadas: 0 si el producto no existe o su versión no es ninguna de las esperadas.
+    @Override
+    @SuppressWarnings("unchecked")
+    public int actualizarCampos(Long id, Map<CampoActualizableProducto, Object> cambios,
+                                Set<Long> versionesEsperadas) {
+        // If-Match sin ninguna versión legible: nada puede coincidir, y "IN ()" no es SQL válido
+        if (versionesEsperadas != null && versionesEsperadas.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE productos SET ");
+        for (CampoActualizableProducto campo : cambios.keySet()) {
+            sql.append(campo.getColumna()).append(" = :").append(campo.getPropiedad()).append(", ");
+        }
+        sql.append("fecha_actualizacion = :fechaActualizacion, version = version + 1 WHERE id = :id");
+        if (versionesEsperadas != null) {
+            sql.append(" AND version IN (:versiones)");
+        }
+
+        invalidadorCache.bloquearHastaFinDeTransaccion(List.of(id),
+                (String) cambios.get(CampoActualizableProducto.CODIGO_PRODUCTO));
+        NativeQuery<?> query = escrituraDirecta(sql.toString());
+        // Con el tipo explícito un null se envía con el tipo de la columna
+        cambios.forEach((campo, valor) -> query.setParameter(campo.getPropiedad(), valor, (Class<Object>) campo.getTipo()));
+        query.setParameter("fechaActualizacion", LocalDateTime.now());
+        query.setParameter("id", id);
+        if (versionesEsperadas != null) {
+            query.setParameterList("versiones", versionesEsperadas);
+        }
+        return query.executeUpdate();
+    }
+
+    // Un solo DELETE; deleteById cargaría antes la entidad
+    @Override
+    public int eliminarPorId(Long id) {
+        invalidadorCache.bloquearHastaFinDeTransaccion(List.of(id), null);
+        return escrituraDirecta("DELETE FROM productos WHERE id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    // Un UPDATE/DELETE masivo (JPQL o nativo sin espacios declarados) vacía las regiones
+    // enteras de Producto en la caché de segundo nivel. Declarando un espacio que ninguna
+    // entidad usa Hibernate no toca las regiones, y solo se invalida lo bloqueado antes
+    private NativeQuery<?> escrituraDirecta(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(ESPACIO_ESCRITURA_DIRECTA);
+    }
+
+    // Estimación de filas que mantienen ANALYZE/autovacuum; -1 si la tabla nunca se analizó
+    @Override
+    public long estimarTotal() {
+        Number estimado = (Number) entityManager
+                .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = CAST('productos' AS regclass)")
+                .getSingleResult();
+        return estimado.longValue();
+    }
+
+    // Por identificador natural: resuelve código -> id y la entidad en la caché de segundo nivel;
+    // solo consulta la base si alguna de las dos falta. PATCH y DELETE no conocen el código
+    // anterior de la fila, así que una resolución en caché puede apuntar a un producto eliminado
+    // o que ya tiene otro código: se descarta y se busca por la columna
+    @Override
+    public Optional<Producto> buscarPorCodigoProducto(String codigoProducto) {
+        Optional<Producto> producto = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Producto.class)
+                .loadOptional(codigoProducto);
+        if (producto.isPresent() && codigoProducto.equals(producto.get().getCodigoProducto())) {
+            return producto;
+        }
+        invalidadorCache.descartarCodigo(codigoProducto);
+        return entityManager.createQuery("SELECT p FROM Producto p WHERE p.codigoProducto = :codigo", Producto.class)
+                .setParameter("codigo", codigoProducto)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Los que no estén en la caché de segundo nivel se leen en una sola consulta (id IN / = ANY);
+    // se devuelven en el orden de ids, sin los inexistentes
+    @Override
+    public List<Producto> buscarPorIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Producto.class)
+                .withBatchSize(ids.size())
+                .multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
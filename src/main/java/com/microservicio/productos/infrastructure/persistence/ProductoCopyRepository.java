@@ -0,0 +1,115 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoCopyRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.FilaImportacion;
+import com.microservicio.productos.domain.model.Producto;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+
+/**
+ * Carga masiva con el protocolo COPY de PostgreSQL: las filas se envían en streaming a una
+ * tabla temporal y luego se fusionan en productos con un único INSERT ... ON CONFLICT.
+ * Debe invocarse dentro de una transacción (la tabla temporal se descarta en el commit).
+ */
+@Repository
+public class ProductoCopyRepository {
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private static final String CREAR_STAGING = """
+            CREATE TEMP TABLE productos_importacion (
+                linea           BIGINT,
+                nombre          VARCHAR(100),
+                descripcion     VARCHAR(500),
+                precio          NUMERIC(10, 2),
+                stock           INTEGER,
+                categoria       VARCHAR(50),
+                codigo_producto VARCHAR(50),
+                esta_activo     BOOLEAN
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = """
+            COPY productos_importacion (linea, nombre, descripcion, precio, stock, categoria, codigo_producto, esta_activo)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    // Si un código aparece varias veces en el archivo gana la última fila
+    private static final String FUSIONAR = """
+            INSERT INTO productos (id, nombre, descripcion, precio, stock, categoria, codigo_producto,
+                                   esta_activo, fecha_creacion, fecha_actualizacion)
+            SELECT nextval('productos_seq'), s.nombre, s.descripcion, s.precio, s.stock, s.categoria,
+                   s.codigo_producto, s.esta_activo, now(), now()
+            FROM (SELECT DISTINCT ON (codigo_producto) *
+                  FROM productos_importacion
+                  ORDER BY codigo_producto, linea DESC) s
+            ON CONFLICT (codigo_producto) DO UPDATE SET
+                nombre = EXCLUDED.nombre,
+                descripcion = EXCLUDED.descripcion,
+                precio = EXCLUDED.precio,
+                stock = EXCLUDED.stock,
+                categoria = EXCLUDED.categoria,
+                esta_activo = EXCLUDED.esta_activo,
+                version = productos.version + 1,
+                fecha_actualizacion = EXCLUDED.fecha_actualizacion""";
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Consume el iterador enviando cada producto por COPY y devuelve las filas fusionadas.
+     * Nunca se retiene más de un buffer de filas en memoria.
+     */
+    public long cargarYFusionar(Iterator<FilaImportacion> filas) {
+        // Conexión de la transacción en curso (la misma que usa JPA)
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREAR_STAGING);
+
+            try (PGCopyOutputStream copia = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), COPY_STAGING, TAMANO_BUFFER)) {
+                while (filas.hasNext()) {
+                    copia.write(aCsv(filas.next()));
+                }
+            }
+
+            return statement.executeUpdate(FUSIONAR);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error en la carga masiva: " + e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private byte[] aCsv(FilaImportacion fila) {
+        Producto producto = fila.producto();
+        StringBuilder linea = new StringBuilder(128)
+                .append(fila.linea()).append(',')
+                .append(texto(producto.getNombre())).append(',')
+                .append(texto(producto.getDescripcion())).append(',')
+                .append(producto.getPrecio().toPlainString()).append(',')
+                .append(producto.getStock()).append(',')
+                .append(texto(producto.getCategoria())).append(',')
+                .append(texto(producto.getCodigoProducto())).append(',')
+                .append(producto.getEstaActivo() != null ? producto.getEstaActivo() : "")
+                .append('\n');
+        return linea.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // En CSV de COPY un campo vacío sin comillas es NULL; los textos siempre van entre comillas
+    private String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
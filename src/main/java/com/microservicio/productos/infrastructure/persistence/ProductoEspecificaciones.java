@@ -0,0 +1,46 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoEspecificaciones.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.Producto;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Traduce FiltroProductos a predicados JPA. Las condiciones coinciden con el índice
+ * (categoria, esta_activo, precio, id) y el parcial de productos activos con stock.
+ */
+final class ProductoEspecificaciones {
+
+    private ProductoEspecificaciones() {
+    }
+
+    static Specification<Producto> conFiltro(FiltroProductos filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (filtro.categoria() != null) {
+                condiciones.add(cb.equal(root.get("categoria"), filtro.categoria()));
+            }
+            // Activo y stock > 0 van como literales, no como parámetros: así PostgreSQL puede usar
+            // el índice parcial también con planes genéricos de sentencias preparadas
+            if (filtro.estaActivo() != null) {
+                condiciones.add(filtro.estaActivo()
+                        ? cb.isTrue(root.get("estaActivo"))
+                        : cb.isFalse(root.get("estaActivo")));
+            }
+            if (filtro.precioMinimo() != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(root.get("precio"), filtro.precioMinimo()));
+            }
+            if (filtro.precioMaximo() != null) {
+                condiciones.add(cb.lessThanOrEqualTo(root.get("precio"), filtro.precioMaximo()));
+            }
+            if (filtro.soloConStock()) {
+                condiciones.add(cb.greaterThan(root.get("stock"), cb.literal(0)));
+            }
+            return cb.and(condiciones.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoExportacionRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.Producto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+/**
+ * Recorre toda la tabla con JDBC sin pasar por el contexto de persistencia: cada fila se
+ * entrega como un Producto no gestionado y se descarta tras procesarla.
+ */
+@Repository
+public class ProductoExportacionRepository {
+
+    private static final String SELECT_TODOS =
+            "SELECT " + ProductoRowMapper.COLUMNAS + " FROM productos ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Con autocommit desactivado (dentro de una transacción) el driver de PostgreSQL usa un
+    // cursor del servidor y trae las filas en bloques de fetchSize en lugar de todas a la vez
+    public void recorrerTodos(int fetchSize, Consumer<Producto> consumidor) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_TODOS);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            consumidor.accept(ProductoRowMapper.INSTANCIA.mapRow(rs, 0));
+        });
+    }
+}
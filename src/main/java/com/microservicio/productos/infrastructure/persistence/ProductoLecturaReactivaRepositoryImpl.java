@@ -0,0 +1,88 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoLecturaReactivaRepositoryImpl.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.repository.ProductoLecturaReactivaRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Lecturas de productos con R2DBC. Las filas se piden al servidor en bloques de fetch-size
+ * según la demanda del suscriptor: si el cliente HTTP lee despacio, la consulta se detiene
+ * en lugar de acumular filas en memoria.
+ */
+@Repository
+public class ProductoLecturaReactivaRepositoryImpl implements ProductoLecturaReactivaRepository {
+
+    private static final String SELECT_PRODUCTOS = "SELECT " + ProductoRowMapper.COLUMNAS + " FROM productos";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${productos.lectura-reactiva.fetch-size:100}")
+    private int fetchSize;
+
+    @Override
+    public Mono<Producto> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT_PRODUCTOS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ProductoLecturaReactivaRepositoryImpl::mapear)
+                .one();
+    }
+
+    // DatabaseClient expande la colección en un parámetro por id: un solo IN
+    @Override
+    public Flux<Producto> buscarPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_PRODUCTOS + " WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ProductoLecturaReactivaRepositoryImpl::mapear)
+                .all();
+    }
+
+    // Paginación por id como el cursor de la API v1: usa la clave primaria sin OFFSET
+    @Override
+    public Flux<Producto> listarDesde(Long idDesde, String categoria, int limite) {
+        StringBuilder sql = new StringBuilder(SELECT_PRODUCTOS).append(" WHERE id > :idDesde");
+        if (categoria != null) {
+            sql.append(" AND categoria = :categoria");
+        }
+        sql.append(" ORDER BY id LIMIT :limite");
+
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString())
+                .bind("idDesde", idDesde != null ? idDesde : 0L)
+                .bind("limite", limite)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        if (categoria != null) {
+            consulta = consulta.bind("categoria", categoria);
+        }
+        return consulta.map(ProductoLecturaReactivaRepositoryImpl::mapear).all();
+    }
+
+    private static Producto mapear(Readable fila) {
+        return new Producto(
+                fila.get("id", Long.class),
+                fila.get("nombre", String.class),
+                fila.get("descripcion", String.class),
+                fila.get("precio", BigDecimal.class),
+                fila.get("stock", Integer.class),
+                fila.get("categoria", String.class),
+                fila.get("codigo_producto", String.class),
+                fila.get("esta_activo", Boolean.class),
+                fila.get("fecha_creacion", LocalDateTime.class),
+                fila.get("fecha_actualizacion", LocalDateTime.class),
+                fila.get("version", Long.class)
+        );
+    }
+}
@@ -1,15 +1,25 @@
 // src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoRepositoryImpl.java
 package com.microservicio.productos.infrastructure.persistence;
 
+import com.microservicio.productos.domain.model.FiltroProductos;
 import com.microservicio.productos.domain.model.Producto;
 import com.microservicio.productos.domain.repository.ProductoRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductoRepositoryImpl extends JpaRepository<Producto, Long>, ProductoRepository {
+public interface ProductoRepositoryImpl extends JpaRepository<Producto, Long>, JpaSpecificationExecutor<Producto>,
+        ProductoRepository, ProductoConsultasRepository {
     
     @Override
     default Producto guardar(Producto producto) {
@@ -27,8 +37,16 @@ public interface ProductoRepositoryImpl extends JpaRepository<Producto, Long>, P
     }
 
     @Override
-    default void eliminar(Long id) {
-        deleteById(id);
+    default boolean eliminar(Long id) {
+        return eliminarPorId(id) > 0;
+    }
+
+    // Slice pide size + 1 filas y no ejecuta SELECT count(*)
+    Slice<Producto> findAllBy(Pageable pageable);
+
+    // Página filtrada: un SELECT con los filtros y el count(*) con los mismos filtros
+    default Page<Producto> listarFiltrados(FiltroProductos filtro, Pageable pageable) {
+        return findAll(ProductoEspecificaciones.conFiltro(filtro), pageable);
     }
 
     // Métodos de Spring Data JPA (SIN @Override)
@@ -39,11 +57,10 @@ public interface ProductoRepositoryImpl extends JpaRepository<Producto, Long>, P
         return existsByCodigoProducto(codigoProducto);
     }
 
-    // Métodos de Spring Data JPA (SIN @Override)
-    Optional<Producto> findByCodigoProducto(String codigoProducto);
+    // Solo la versión, para validar ETags sin cargar la fila completa
+    @Query("SELECT p.version FROM Producto p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
-    @Override
-    default Optional<Producto> buscarPorCodigoProducto(String codigoProducto) {
-        return findByCodigoProducto(codigoProducto);
-    }
+    @Query("SELECT p.codigoProducto FROM Producto p WHERE p.codigoProducto IN :codigos")
+    List<String> findCodigosExistentes(@Param("codigos") Collection<String> codigos);
 }
\ No newline at end of file
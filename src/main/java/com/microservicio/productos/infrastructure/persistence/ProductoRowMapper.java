@@ -0,0 +1,38 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoRowMapper.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.model.Producto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Construye un Producto no gestionado desde una fila de productos leída por JDBC.
+ */
+class ProductoRowMapper implements RowMapper<Producto> {
+
+    static final ProductoRowMapper INSTANCIA = new ProductoRowMapper();
+
+    static final String COLUMNAS = """
+            id, nombre, descripcion, precio, stock, categoria, codigo_producto,
+            esta_activo, fecha_creacion, fecha_actualizacion, version""";
+
+    @Override
+    public Producto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Producto(
+                rs.getLong("id"),
+                rs.getString("nombre"),
+                rs.getString("descripcion"),
+                rs.getBigDecimal("precio"),
+                rs.getInt("stock"),
+                rs.getString("categoria"),
+                rs.getString("codigo_producto"),
+                rs.getObject("esta_activo", Boolean.class),
+                rs.getObject("fecha_creacion", LocalDateTime.class),
+                rs.getObject("fecha_actualizacion", LocalDateTime.class),
+                rs.getLong("version")
+        );
+    }
+}
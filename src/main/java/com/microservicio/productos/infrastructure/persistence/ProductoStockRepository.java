@@ -0,0 +1,74 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/ProductoStockRepository.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.infrastructure.cache.InvalidadorCacheSegundoNivel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Ajustes de stock con UPDATE condicionales en la base, sin leer ni cargar la entidad:
+ * la comprobación y el descuento son una sola sentencia atómica por producto.
+ */
+@Repository
+public class ProductoStockRepository {
+
+    private static final String DESCONTAR = """
+            UPDATE productos SET stock = stock - ?, version = version + 1, fecha_actualizacion = ?
+            WHERE id = ? AND stock >= ?""";
+
+    // Acotado como DESCONTAR: si la suma no cabe en la columna INTEGER la fila no se actualiza y
+    // el producto se rechaza, en lugar de que el error de rango aborte la transacción
+    private static final String REPONER = """
+            UPDATE productos SET stock = stock + ?, version = version + 1, fecha_actualizacion = ?
+            WHERE id = ? AND stock <= 2147483647 - ?""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // El UPDATE no pasa por Hibernate: sin bloquear antes las entidades, una lectura concurrente
+    // podría volver a guardar en la caché el stock anterior hasta que expire
+    @Autowired
+    private InvalidadorCacheSegundoNivel invalidadorCache;
+
+    /**
+     * Descuenta las cantidades en un único lote JDBC y devuelve los IDs cuyo UPDATE no afectó
+     * ninguna fila (producto inexistente o sin stock suficiente). Las sentencias se envían en
+     * orden ascendente de ID, así dos reservas concurrentes bloquean las filas en el mismo orden.
+     */
+    public List<Long> descontar(SortedMap<Long, Integer> cantidades) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> parametros = new ArrayList<>(cantidades.size());
+        cantidades.forEach((id, cantidad) -> parametros.add(new Object[]{cantidad, ahora, id, cantidad}));
+        invalidadorCache.bloquearHastaFinDeTransaccion(cantidades.keySet(), null);
+        return sinFilasAfectadas(cantidades, jdbcTemplate.batchUpdate(DESCONTAR, parametros));
+    }
+
+    // Devuelve los IDs inexistentes o cuyo stock superaría el máximo de la columna
+    public List<Long> reponer(SortedMap<Long, Integer> cantidades) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> parametros = new ArrayList<>(cantidades.size());
+        cantidades.forEach((id, cantidad) -> parametros.add(new Object[]{cantidad, ahora, id, cantidad}));
+        invalidadorCache.bloquearHastaFinDeTransaccion(cantidades.keySet(), null);
+        return sinFilasAfectadas(cantidades, jdbcTemplate.batchUpdate(REPONER, parametros));
+    }
+
+    private List<Long> sinFilasAfectadas(SortedMap<Long, Integer> cantidades, int[] filas) {
+        List<Long> rechazados = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Long, Integer> entrada : cantidades.entrySet()) {
+            // Statement.SUCCESS_NO_INFO (-2) cuenta como aplicado; solo 0 indica que no hubo fila
+            if (filas[i++] == 0) {
+                rechazados.add(entrada.getKey());
+            }
+        }
+        return rechazados;
+    }
+}
@@ -0,0 +1,115 @@
+// src/main/java/com/microservicio/productos/infrastructure/persistence/VerificadorBaseDatos.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifica la base y el pool en un hilo propio cada cierto intervalo y deja el resultado en
+ * memoria: la sonda de readiness lo lee sin pedir conexiones. El hilo es dedicado para que
+ * tareas programadas lentas (reconciliaciones) no retrasen la verificación.
+ */
+@Component
+public class VerificadorBaseDatos {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorBaseDatos.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${productos.salud.intervalo:5s}")
+    private Duration intervalo;
+
+    @Value("${productos.salud.timeout:2s}")
+    private Duration timeout;
+
+    private ScheduledExecutorService ejecutor;
+
+    private volatile EstadoBaseDatos estado =
+            new EstadoBaseDatos(false, false, 0, 0, 0, Instant.now(), "Sin verificar");
+
+    @PostConstruct
+    void iniciar() {
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "verificador-base-datos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.scheduleWithFixedDelay(this::verificar, 0, intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        ejecutor.shutdownNow();
+    }
+
+    void verificar() {
+        EstadoBaseDatos anterior = estado;
+        estado = calcularEstado();
+        if (anterior.listo() != estado.listo()) {
+            log.info("Readiness de la base de datos: {} ({})", estado.listo() ? "listo" : "no listo", estado.detalle());
+        }
+    }
+
+    /**
+     * Un resultado más viejo que tres intervalos indica que el hilo de verificación está
+     * bloqueado: se informa como no listo aunque la última verificación haya ido bien.
+     */
+    public EstadoBaseDatos getEstado() {
+        EstadoBaseDatos actual = estado;
+        if (actual.listo() && actual.verificadoEn().isBefore(Instant.now().minus(intervalo.multipliedBy(3)))) {
+            return new EstadoBaseDatos(false, actual.baseDatosDisponible(), actual.conexionesActivas(),
+                    actual.conexionesMaximas(), actual.hilosEsperando(), actual.verificadoEn(), "Verificación atrasada");
+        }
+        return actual;
+    }
+
+    private EstadoBaseDatos calcularEstado() {
+        int activas = 0;
+        int maximas = 0;
+        int esperando = 0;
+        try {
+            HikariDataSource hikari = dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+            HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            if (pool != null) {
+                activas = pool.getActiveConnections();
+                maximas = hikari.getMaximumPoolSize();
+                esperando = pool.getThreadsAwaitingConnection();
+                // Pool agotado con peticiones en cola: no se pide otra conexión para verificar
+                if (activas >= maximas && esperando > 0) {
+                    return new EstadoBaseDatos(false, true, activas, maximas, esperando, Instant.now(),
+                            "Pool de conexiones saturado");
+                }
+            }
+            try (Connection conexion = dataSource.getConnection()) {
+                boolean valida = conexion.isValid((int) Math.max(1, timeout.toSeconds()));
+                return new EstadoBaseDatos(valida, valida, activas, maximas, esperando, Instant.now(),
+                        valida ? "OK" : "La conexión no respondió a tiempo");
+            }
+        } catch (Exception e) {
+            return new EstadoBaseDatos(false, false, activas, maximas, esperando, Instant.now(), e.getMessage());
+        }
+    }
+
+    public record EstadoBaseDatos(boolean listo, boolean baseDatosDisponible, int conexionesActivas,
+                                  int conexionesMaximas, int hilosEsperando, Instant verificadoEn,
+                                  String detalle) {
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/microservicio/productos/infrastructure/security/JwtAuthenticationFilter.java
 package com.microservicio.productos.infrastructure.security;
 
+import com.microservicio.productos.config.SecurityConfig;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +11,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -18,9 +20,23 @@ import java.util.Collections;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     @Autowired
     private JwtValidator jwtValidator;
 
+    // Las rutas permitAll no necesitan autenticación: se omite el filtro por completo
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getServletPath();
+        for (String patron : SecurityConfig.RUTAS_PUBLICAS) {
+            if (PATH_MATCHER.match(patron, ruta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -38,13 +54,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                String nombreUsuario = jwtValidator.obtenerNombreUsuario(token);
-                Boolean esAdmin = jwtValidator.esAdmin(token);
+                UsuarioAutenticado usuario = jwtValidator.autenticar(token);
 
-                if (nombreUsuario != null && esAdmin != null && esAdmin) {
+                if (usuario.nombreUsuario() != null && usuario.esAdmin()) {
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
-                            nombreUsuario, 
+                            usuario.nombreUsuario(), 
                             null, 
                             Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
                         );
@@ -0,0 +1,87 @@
+// src/main/java/com/microservicio/productos/infrastructure/security/JwtTokenCache.java
+package com.microservicio.productos.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché acotada de tokens ya verificados. Cada entrada caduca como máximo
+ * en el "exp" del token, de modo que nunca se acepta un token expirado.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final Cache<String, UsuarioAutenticado> cache;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public JwtTokenCache(@Value("${jwt.cache.max-entradas:10000}") long maxEntradas,
+                         @Value("${jwt.cache.ttl-maximo:5m}") Duration ttlMaximo) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfter(new ExpiracionPorToken(ttlMaximo))
+                .build();
+    }
+
+    public UsuarioAutenticado obtener(String token, Function<String, UsuarioAutenticado> verificador) {
+        UsuarioAutenticado usuario = cache.getIfPresent(token);
+        if (usuario != null) {
+            aciertos.increment();
+            return usuario;
+        }
+        fallos.increment();
+        usuario = verificador.apply(token);
+        if (usuario.expiracion() == null || usuario.expiracion().isAfter(Instant.now())) {
+            cache.put(token, usuario);
+        }
+        return usuario;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getTamano() {
+        return cache.estimatedSize();
+    }
+
+    private static final class ExpiracionPorToken implements Expiry<String, UsuarioAutenticado> {
+
+        private final long ttlMaximoNanos;
+
+        private ExpiracionPorToken(Duration ttlMaximo) {
+            this.ttlMaximoNanos = ttlMaximo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String token, UsuarioAutenticado usuario, long currentTime) {
+            if (usuario.expiracion() == null) {
+                return ttlMaximoNanos;
+            }
+            long restante = Duration.between(Instant.now(), usuario.expiracion()).toNanos();
+            return Math.max(0, Math.min(restante, ttlMaximoNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, UsuarioAutenticado usuario, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, usuario, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, UsuarioAutenticado usuario, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
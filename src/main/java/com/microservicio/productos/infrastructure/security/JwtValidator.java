@@ -2,13 +2,22 @@
 package com.microservicio.productos.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 
 @Component
 public class JwtValidator {
@@ -16,26 +25,79 @@ public class JwtValidator {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    @Autowired
+    private JwtTokenCache tokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Solo verificaciones reales de firma: los aciertos de la caché no pasan por aquí
+    private Timer tiempoValidacion;
+
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez
+    private JwtParser parser;
+
+    @PostConstruct
+    void inicializar() {
+        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        tiempoValidacion = Timer.builder("productos.jwt.validacion")
+                .description("Tiempo de verificación de firma y claims de un JWT")
+                .register(meterRegistry);
+        FunctionCounter.builder("productos.jwt.cache", tokenCache, JwtTokenCache::getAciertos)
+                .description("Autenticaciones resueltas por la caché de tokens verificados")
+                .tag("resultado", "acierto")
+                .register(meterRegistry);
+        FunctionCounter.builder("productos.jwt.cache", tokenCache, JwtTokenCache::getFallos)
+                .description("Autenticaciones resueltas por la caché de tokens verificados")
+                .tag("resultado", "fallo")
+                .register(meterRegistry);
+        Gauge.builder("productos.jwt.cache.entradas", tokenCache, JwtTokenCache::getTamano)
+                .description("Tokens verificados guardados en la caché")
+                .register(meterRegistry);
+    }
+
     public Claims validarToken(String token) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
+            // El motivo es el tipo de excepción de jjwt (ExpiredJwtException, SignatureException...)
+            Counter.builder("productos.jwt.fallos")
+                    .description("Tokens rechazados por la validación")
+                    .tag("motivo", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
             throw new RuntimeException("Token inválido: " + e.getMessage());
+        } finally {
+            muestra.stop(tiempoValidacion);
         }
     }
 
+    /**
+     * Verifica el token una única vez (o lo toma de la caché) y devuelve el usuario autenticado.
+     */
+    public UsuarioAutenticado autenticar(String token) {
+        return tokenCache.obtener(token, this::verificar);
+    }
+
     public String obtenerNombreUsuario(String token) {
-        Claims claims = validarToken(token);
-        return claims.getSubject();
+        return autenticar(token).nombreUsuario();
     }
 
     public Boolean esAdmin(String token) {
+        return autenticar(token).esAdmin();
+    }
+
+    private UsuarioAutenticado verificar(String token) {
         Claims claims = validarToken(token);
-        return claims.get("es_admin", Boolean.class);
+        Date expiracion = claims.getExpiration();
+        return new UsuarioAutenticado(
+                claims.getSubject(),
+                Boolean.TRUE.equals(claims.get("es_admin", Boolean.class)),
+                expiracion != null ? expiracion.toInstant() : null
+        );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/microservicio/productos/infrastructure/security/UsuarioAutenticado.java
+package com.microservicio.productos.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * Resultado de verificar un JWT una sola vez: usuario, rol y expiración del token.
+ */
+public record UsuarioAutenticado(String nombreUsuario, boolean esAdmin, Instant expiracion) {
+}
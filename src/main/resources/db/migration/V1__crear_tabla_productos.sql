@@ -0,0 +1,15 @@
+-- Esquema base de productos (equivalente al que generaba Hibernate con ddl-auto: update).
+-- En bases existentes Flyway hace baseline en esta versión y no la ejecuta.
+CREATE TABLE IF NOT EXISTS productos (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre              VARCHAR(100)   NOT NULL,
+    descripcion         VARCHAR(500),
+    precio              NUMERIC(10, 2) NOT NULL,
+    stock               INTEGER        NOT NULL,
+    categoria           VARCHAR(50),
+    codigo_producto     VARCHAR(50),
+    esta_activo         BOOLEAN,
+    fecha_creacion      TIMESTAMP(6),
+    fecha_actualizacion TIMESTAMP(6),
+    CONSTRAINT uk_productos_codigo_producto UNIQUE (codigo_producto)
+);
@@ -0,0 +1,5 @@
+-- Índices (columna, id) que respaldan los campos de ordenamiento permitidos
+-- y la paginación por cursor de GET /api/productos.
+CREATE INDEX IF NOT EXISTS idx_productos_nombre_id ON productos (nombre, id);
+CREATE INDEX IF NOT EXISTS idx_productos_precio_id ON productos (precio, id);
+CREATE INDEX IF NOT EXISTS idx_productos_fecha_creacion_id ON productos (fecha_creacion, id);
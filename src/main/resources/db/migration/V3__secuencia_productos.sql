@@ -0,0 +1,6 @@
+-- Secuencia con incremento 50 para el optimizador pooled de Hibernate: los ids se
+-- reservan en bloques y los INSERT pueden agruparse en lotes JDBC (con IDENTITY no).
+CREATE SEQUENCE IF NOT EXISTS productos_seq START WITH 1 INCREMENT BY 50;
+
+-- Continúa después del mayor id existente para no chocar con filas ya insertadas.
+SELECT setval('productos_seq', COALESCE(MAX(id), 0) + 50, false) FROM productos;
@@ -0,0 +1,3 @@
+-- Versión para bloqueo optimista (@Version) y ETag fuertes en GET/PUT /api/productos/{id}.
+-- Las filas existentes empiezan en 0; las escrituras en bloque (stock, importación) la incrementan.
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Búsqueda de texto completo para GET /api/productos/buscar. La columna generada la mantiene
+-- PostgreSQL en cada INSERT/UPDATE (también en COPY y UPDATE masivos), sin triggers.
+-- Nombre y código pesan más que la descripción en el ranking.
+-- En tablas grandes el ALTER reescribe la tabla: conviene ejecutarlo en una ventana de mantenimiento.
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(nombre, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(codigo_producto, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(descripcion, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_productos_busqueda ON productos USING GIN (busqueda);
@@ -0,0 +1,10 @@
+-- Índices para los filtros de GET /api/productos (categoria, estaActivo, precioMin/precioMax, conStock).
+-- El compuesto resuelve categoría + estado + rango de precio; id al final permite paginar por cursor.
+CREATE INDEX IF NOT EXISTS idx_productos_categoria_activo_precio
+    ON productos (categoria, esta_activo, precio, id);
+
+-- Consulta principal de la tienda: productos activos con stock de una categoría por rango de precio.
+-- El índice parcial solo contiene esas filas, así que es más pequeño y no necesita filtrar stock.
+CREATE INDEX IF NOT EXISTS idx_productos_activos_con_stock
+    ON productos (categoria, precio, id)
+    WHERE esta_activo AND stock > 0;
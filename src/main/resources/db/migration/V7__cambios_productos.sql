@@ -0,0 +1,46 @@
+-- Sincronización incremental (GET /api/productos/cambios). Cada fila guarda la transacción que
+-- la escribió por última vez (xid8: no da la vuelta) y cada DELETE deja una lápida con la suya.
+-- Se usa el id de transacción y no una secuencia: un nextval se asigna antes del commit y una
+-- transacción lenta podría confirmar un valor menor al que un cliente ya leyó. Con el xid, el
+-- token guarda el xmin de la instantánea (toda transacción menor ya terminó) y no se pierde nada.
+-- Las filas existentes quedan con xid 0: solo las devuelve la sincronización inicial.
+ALTER TABLE productos ADD COLUMN IF NOT EXISTS xid_cambio xid8 NOT NULL DEFAULT '0';
+
+CREATE INDEX IF NOT EXISTS idx_productos_xid_cambio ON productos (xid_cambio, id);
+
+-- Cubre todas las escrituras: JPA, UPDATE masivos, ajustes de stock por JDBC y COPY
+CREATE OR REPLACE FUNCTION productos_registrar_cambio() RETURNS trigger AS $$
+BEGIN
+    NEW.xid_cambio := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS productos_cambio ON productos;
+CREATE TRIGGER productos_cambio BEFORE INSERT OR UPDATE ON productos
+    FOR EACH ROW EXECUTE FUNCTION productos_registrar_cambio();
+
+CREATE TABLE IF NOT EXISTS productos_eliminados (
+    id                BIGINT PRIMARY KEY,
+    xid_cambio        xid8 NOT NULL,
+    fecha_eliminacion TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_productos_eliminados_xid_cambio ON productos_eliminados (xid_cambio, id);
+CREATE INDEX IF NOT EXISTS idx_productos_eliminados_fecha ON productos_eliminados (fecha_eliminacion);
+
+-- Un solo INSERT por sentencia: los DELETE masivos no pagan un trigger por fila
+CREATE OR REPLACE FUNCTION productos_registrar_eliminacion() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO productos_eliminados (id, xid_cambio, fecha_eliminacion)
+    SELECT id, pg_current_xact_id(), now() FROM eliminadas
+    ON CONFLICT (id) DO UPDATE
+        SET xid_cambio = EXCLUDED.xid_cambio, fecha_eliminacion = EXCLUDED.fecha_eliminacion;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS productos_eliminacion ON productos;
+CREATE TRIGGER productos_eliminacion AFTER DELETE ON productos
+    REFERENCING OLD TABLE AS eliminadas
+    FOR EACH STATEMENT EXECUTE FUNCTION productos_registrar_eliminacion();
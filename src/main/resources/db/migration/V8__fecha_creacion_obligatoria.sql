@@ -0,0 +1,10 @@
+-- La paginación por cursor con sortBy=fechaCreacion compara (fecha_creacion, id): una fila con
+-- fecha_creacion NULL no cumple la comparación y se perdía. Toda escritura actual la completa
+-- (JPA con @PrePersist, la importación por COPY con now()); aquí se completan las anteriores
+-- con su última actualización, o con la fecha de la migración si tampoco la tienen. El trigger
+-- de V7 las marca como cambiadas, así que la sincronización incremental recibe la fecha nueva.
+UPDATE productos
+SET fecha_creacion = COALESCE(fecha_actualizacion, now())
+WHERE fecha_creacion IS NULL;
+
+ALTER TABLE productos ALTER COLUMN fecha_creacion SET NOT NULL;
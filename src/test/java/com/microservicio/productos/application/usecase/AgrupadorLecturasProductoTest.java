@@ -0,0 +1,238 @@
+// src/test/java/com/microservicio/productos/application/usecase/AgrupadorLecturasProductoTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Tabla de Decisión: Agrupación de lecturas por id")
+class AgrupadorLecturasProductoTest {
+
+    private static final long INEXISTENTE = 99L;
+    private static final long EN_CURSO = 50L;
+
+    @Mock
+    private ProductoService productoService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cacheSegundoNivel;
+
+    @InjectMocks
+    private AgrupadorLecturasProducto agrupador;
+
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch consultaEnCursoIniciada = new CountDownLatch(1);
+    private final CountDownLatch liberarConsultaEnCurso = new CountDownLatch(1);
+    private RuntimeException errorConsulta;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(agrupador, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(agrupador, "habilitado", true);
+        ReflectionTestUtils.setField(agrupador, "ventana", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(agrupador, "maxLote", 100);
+        agrupador.inicializar();
+        when(entityManagerFactory.getCache()).thenReturn(cacheSegundoNivel);
+        when(productoService.obtenerProductosPorIds(anyList())).thenAnswer(invocacion -> {
+            List<Long> ids = invocacion.getArgument(0);
+            if (ids.contains(EN_CURSO)) {
+                consultaEnCursoIniciada.countDown();
+                liberarConsultaEnCurso.await();
+            } else if (errorConsulta != null) {
+                throw errorConsulta;
+            }
+            return ids.stream().filter(id -> id != INEXISTENTE).map(this::producto).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarConsultaEnCurso.countDown();
+        hilos.shutdownNow();
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Lectura de un producto por id
+     *
+     * Condición                    | C1  | C2  | C3  | C4  | C5  | C6  |
+     * -----------------------------|-----|-----|-----|-----|-----|-----|
+     * Agrupación habilitada        | F   | V   | V   | V   | V   | V   |
+     * En caché de segundo nivel    | -   | V   | F   | F   | F   | F   |
+     * Otra lectura en curso        | -   | -   | V   | V   | V   | F   |
+     * Lote lleno antes de ventana  | -   | -   | F   | V   | -   | -   |
+     * La consulta falla            | -   | -   | F   | F   | V   | -   |
+     * -----------------------------|-----|-----|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|-----|-----|
+     * Lectura individual           | X   | X   |     |     |     |     |
+     * Una consulta al cerrar       |     |     | X   |     |     |     |
+     * Una consulta sin esperar     |     |     |     | X   |     | X   |
+     * Error a todas las lecturas   |     |     |     |     | X   |     |
+     */
+
+    @Test
+    @DisplayName("C1: Agrupación deshabilitada = Lectura individual")
+    void testC1_Deshabilitado_LecturaIndividual() {
+        // Arrange
+        ReflectionTestUtils.setField(agrupador, "habilitado", false);
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto(1L)));
+
+        // Act
+        Optional<Producto> resultado = agrupador.obtener(1L);
+
+        // Assert
+        assertEquals(1L, resultado.orElseThrow().getId());
+        verify(productoService, never()).obtenerProductosPorIds(anyList());
+    }
+
+    @Test
+    @DisplayName("C2: En caché de segundo nivel = Lectura individual sin esperar la ventana")
+    void testC2_EnCache_LecturaIndividual() {
+        // Arrange
+        when(cacheSegundoNivel.contains(Producto.class, 1L)).thenReturn(true);
+        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto(1L)));
+
+        // Act
+        Optional<Producto> resultado = agrupador.obtener(1L);
+
+        // Assert
+        assertEquals(1L, resultado.orElseThrow().getId());
+        verify(productoService, never()).obtenerProductosPorIds(anyList());
+    }
+
+    @Test
+    @DisplayName("C3: Lecturas concurrentes = Una consulta con todos los ids; cada una recibe su producto")
+    void testC3_Concurrentes_UnaConsulta() throws Exception {
+        // Arrange
+        Future<Optional<Producto>> enCurso = lecturaEnCurso();
+
+        // Act
+        List<Future<Optional<Producto>>> resultados = leerALaVez(List.of(1L, 2L, 3L, 2L, INEXISTENTE));
+
+        // Assert
+        assertEquals(1L, resultados.get(0).get().orElseThrow().getId());
+        assertEquals(2L, resultados.get(1).get().orElseThrow().getId());
+        assertEquals(3L, resultados.get(2).get().orElseThrow().getId());
+        assertEquals(2L, resultados.get(3).get().orElseThrow().getId());
+        assertTrue(resultados.get(4).get().isEmpty());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(productoService, times(2)).obtenerProductosPorIds(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L, INEXISTENTE), Set.copyOf(ids.getAllValues().get(1)));
+        assertEquals(4, ids.getAllValues().get(1).size());
+        liberarConsultaEnCurso.countDown();
+        assertEquals(EN_CURSO, enCurso.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("C4: Lote lleno = Se consulta sin esperar el resto de la ventana")
+    void testC4_LoteLleno_NoEspera() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(agrupador, "ventana", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(agrupador, "maxLote", 2);
+        lecturaEnCurso();
+
+        // Act
+        List<Future<Optional<Producto>>> resultados = leerALaVez(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(1L, resultados.get(0).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(2L, resultados.get(1).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        verify(productoService, times(1)).obtenerProductosPorIds(argThat(ids -> ids.size() == 2));
+    }
+
+    @Test
+    @DisplayName("C5: La consulta falla = Todas las lecturas del lote reciben el error")
+    void testC5_ConsultaFalla_ErrorATodas() throws Exception {
+        // Arrange
+        errorConsulta = new RuntimeException("Base no disponible");
+        lecturaEnCurso();
+
+        // Act
+        List<Future<Optional<Producto>>> resultados = leerALaVez(List.of(1L, 2L));
+
+        // Assert
+        for (Future<Optional<Producto>> resultado : resultados) {
+            Exception error = assertThrows(Exception.class, resultado::get);
+            assertEquals("Base no disponible", error.getCause().getMessage());
+        }
+        verify(productoService, times(1)).obtenerProductosPorIds(argThat(ids -> ids.size() == 2));
+    }
+
+    @Test
+    @DisplayName("C6: Sin otra lectura en curso = Se consulta sin esperar la ventana")
+    void testC6_SinOtraLectura_NoEspera() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(agrupador, "ventana", Duration.ofSeconds(30));
+
+        // Act
+        Future<Optional<Producto>> resultado = hilos.submit(() -> agrupador.obtener(1L));
+
+        // Assert
+        assertEquals(1L, resultado.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        verify(productoService, times(1)).obtenerProductosPorIds(List.of(1L));
+    }
+
+    // Deja una lectura con la consulta bloqueada hasta liberarConsultaEnCurso, para que las
+    // siguientes encuentren otra lectura en curso y se agrupen
+    private Future<Optional<Producto>> lecturaEnCurso() throws InterruptedException {
+        Future<Optional<Producto>> enCurso = hilos.submit(() -> agrupador.obtener(EN_CURSO));
+        assertTrue(consultaEnCursoIniciada.await(5, TimeUnit.SECONDS));
+        return enCurso;
+    }
+
+    private List<Future<Optional<Producto>>> leerALaVez(List<Long> ids) {
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Optional<Producto>>> resultados = new ArrayList<>();
+        for (Long id : ids) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return agrupador.obtener(id);
+            }));
+        }
+        salida.countDown();
+        return resultados;
+    }
+
+    private Producto producto(Long id) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre("Producto " + id);
+        return producto;
+    }
+}
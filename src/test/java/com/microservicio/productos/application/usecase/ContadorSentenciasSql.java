@@ -0,0 +1,99 @@
+// src/test/java/com/microservicio/productos/application/usecase/ContadorSentenciasSql.java
+package com.microservicio.productos.application.usecase;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Envuelve el DataSource y cuenta las ejecuciones de sentencias (execute*, y executeBatch
+ * como un solo viaje) hechas desde el hilo que llamó a {@link #iniciar()}. Así no cuentan
+ * tareas en segundo plano como el estimador de total.
+ */
+class ContadorSentenciasSql implements BeanPostProcessor {
+
+    private static final Set<String> EJECUCIONES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final List<String> sentencias = Collections.synchronizedList(new ArrayList<>());
+    private volatile Thread hilo;
+
+    void iniciar() {
+        sentencias.clear();
+        hilo = Thread.currentThread();
+    }
+
+    List<String> detener() {
+        hilo = null;
+        synchronized (sentencias) {
+            return new ArrayList<>(sentencias);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return envolver(dataSource, DataSource.class, (metodo, args, invocacion) -> {
+                Object resultado = invocacion.continuar();
+                return metodo.getName().equals("getConnection")
+                        ? envolver((Connection) resultado, Connection.class, this::alPrepararSentencia)
+                        : resultado;
+            });
+        }
+        return bean;
+    }
+
+    private Object alPrepararSentencia(Method metodo, Object[] args, Invocacion invocacion) throws Throwable {
+        Object resultado = invocacion.continuar();
+        if (!(resultado instanceof Statement statement)) {
+            return resultado;
+        }
+        String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+        Class<? extends Statement> tipo = metodo.getReturnType().asSubclass(Statement.class);
+        return envolver(statement, tipo, (ejecucion, argumentos, continuar) -> {
+            // Se cuenta antes de ejecutar: una sentencia que falla también fue un viaje a la base
+            if (EJECUCIONES.contains(ejecucion.getName()) && Thread.currentThread() == hilo) {
+                sentencias.add(sql != null ? sql : argumentos != null ? String.valueOf(argumentos[0]) : ejecucion.getName());
+            }
+            return continuar.continuar();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(Object objetivo, Class<T> tipo, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            Invocacion invocacion = () -> {
+                try {
+                    return metodo.invoke(objetivo, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            if (metodo.getName().equals("unwrap") || metodo.getName().equals("isWrapperFor")) {
+                return invocacion.continuar();
+            }
+            return interceptor.interceptar(metodo, args, invocacion);
+        };
+        return (T) Proxy.newProxyInstance(ContadorSentenciasSql.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    @FunctionalInterface
+    private interface Invocacion {
+        Object continuar() throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object interceptar(Method metodo, Object[] args, Invocacion invocacion) throws Throwable;
+    }
+}
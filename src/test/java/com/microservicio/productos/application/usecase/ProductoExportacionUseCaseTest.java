@@ -0,0 +1,85 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoExportacionUseCaseTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Exportación en streaming del catálogo")
+class ProductoExportacionUseCaseTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @Spy
+    private ProductoUseCase productoUseCase = new ProductoUseCase();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private ProductoExportacionUseCase productoExportacionUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productoExportacionUseCase, "fetchSize", 1);
+        doAnswer(invocacion -> {
+            Consumer<Producto> consumidor = invocacion.getArgument(1);
+            consumidor.accept(new Producto(1L, "Laptop HP", "Con comas, y \"comillas\"", new BigDecimal("1500.00"),
+                    10, "Electrónica", "LAP-001", true, null, null, 0L));
+            consumidor.accept(new Producto(2L, "Mouse", null, new BigDecimal("25.50"),
+                    5, null, "MOU-001", false, null, null, 0L));
+            return null;
+        }).when(productoService).recorrerProductos(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("NDJSON: Un objeto JSON por línea")
+    void testNdjson_UnProductoPorLinea() throws Exception {
+        // Act
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        productoExportacionUseCase.exportarNdjson(salida);
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("LAP-001", objectMapper.readTree(lineas[0]).get("codigoProducto").asText());
+        assertEquals(2L, objectMapper.readTree(lineas[1]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("CSV: Cabecera y textos con comas o comillas escapados")
+    void testCsv_EscapaCamposEspeciales() {
+        // Act
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        assertDoesNotThrow(() -> productoExportacionUseCase.exportarCsv(salida));
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lineas.length);
+        assertTrue(lineas[0].startsWith("id,nombre,descripcion"));
+        assertEquals("1,Laptop HP,\"Con comas, y \"\"comillas\"\"\",1500.00,10,Electrónica,LAP-001,true,,", lineas[1]);
+        assertEquals("2,Mouse,,25.50,5,,MOU-001,false,,", lineas[2]);
+    }
+}
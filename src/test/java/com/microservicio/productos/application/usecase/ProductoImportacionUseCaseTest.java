@@ -0,0 +1,159 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoImportacionUseCaseTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ImportacionDTO;
+import com.microservicio.productos.domain.model.FilaImportacion;
+import com.microservicio.productos.domain.service.ProductoService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Importación masiva de productos")
+class ProductoImportacionUseCaseTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @Spy
+    private ProductoUseCase productoUseCase = new ProductoUseCase();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ProductoImportacionUseCase productoImportacionUseCase;
+
+    private final List<FilaImportacion> filasCargadas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productoImportacionUseCase, "maxRechazosReportados", 10);
+        when(productoService.importarProductos(any())).thenAnswer(invocacion -> {
+            Iterator<FilaImportacion> filas = invocacion.getArgument(0);
+            filas.forEachRemaining(filasCargadas::add);
+            return (long) filasCargadas.size();
+        });
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Filas del archivo
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Línea bien formada           | V   | V   | F   | V   |
+     * Cumple ProductoRequestDTO    | V   | F   | -   | V   |
+     * Cabe en las columnas         | V   | -   | -   | F   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Enviar a COPY                | X   |     |     |     |
+     * Rechazar con motivo          |     | X   | X   | X   |
+     */
+
+    @Test
+    @DisplayName("CSV: Filas válidas se cargan, inválidas y mal formadas se rechazan con su línea")
+    void testCsv_FilasMixtas_CargaValidasYReportaRechazos() {
+        // Arrange
+        String csv = """
+                nombre,descripcion,precio,stock,categoria,codigoProducto,estaActivo
+                "Laptop HP","Con comas, y \"\"comillas\"\"\",1500.00,10,Electrónica,LAP-001,true
+                Mouse,,25.50,-3,Accesorios,MOU-001,true
+                Teclado,,abc,5,Accesorios,TEC-001,
+                Monitor,,300,4,Pantallas,MON-001,
+                """;
+
+        // Act
+        ImportacionDTO resultado = productoImportacionUseCase.importar(flujo(csv), true);
+
+        // Assert
+        assertEquals("COMPLETADA", resultado.getEstado());
+        assertEquals(4, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getFilasValidas());
+        assertEquals(2, resultado.getFilasRechazadas());
+        assertEquals(2, resultado.getProductosFusionados());
+        assertEquals("Con comas, y \"comillas\"", filasCargadas.get(0).producto().getDescripcion());
+        assertEquals(new BigDecimal("300"), filasCargadas.get(1).producto().getPrecio());
+        assertTrue(filasCargadas.get(1).producto().getEstaActivo());
+        assertEquals(3, resultado.getRechazos().get(0).getLinea());
+        assertTrue(resultado.getRechazos().get(0).getMotivo().contains("stock no puede ser negativo"));
+        assertEquals(4, resultado.getRechazos().get(1).getLinea());
+        assertTrue(resultado.getRechazos().get(1).getMotivo().contains("Línea mal formada"));
+    }
+
+    @Test
+    @DisplayName("NDJSON: Cada línea es un producto; las inválidas se rechazan")
+    void testNdjson_LineaInvalida_SeRechaza() {
+        // Arrange
+        String ndjson = """
+                {"nombre":"Laptop HP","precio":1500.00,"stock":10,"codigoProducto":"LAP-001"}
+                {"nombre":"","precio":10,"stock":1,"codigoProducto":"X-1"}
+                {no es json}
+                """;
+
+        // Act
+        ImportacionDTO resultado = productoImportacionUseCase.importar(flujo(ndjson), false);
+
+        // Assert
+        assertEquals(3, resultado.getFilasLeidas());
+        assertEquals(1, resultado.getFilasValidas());
+        assertEquals(2, resultado.getFilasRechazadas());
+        assertEquals("LAP-001", filasCargadas.get(0).producto().getCodigoProducto());
+        assertEquals(1, productoImportacionUseCase.listarImportaciones().size());
+    }
+
+    @Test
+    @DisplayName("C3-C4: Precio fuera de NUMERIC(10,2), estaActivo no booleano y texto con NUL = Se rechazan sin abortar la carga")
+    void testCsv_ValoresQueLaBaseRechazaria_SeRechazanPorFila() {
+        // Arrange
+        String csv = """
+                nombre,descripcion,precio,stock,categoria,codigoProducto,estaActivo
+                Servidor,,123456789.00,1,Servidores,SRV-001,true
+                Cable,,1.999,1,Accesorios,CAB-001,true
+                Mouse,,25.50,3,Accesorios,MOU-001,si
+                Teclado,"Con\0nulo",30,5,Accesorios,TEC-001,FALSE
+                Monitor,,99999999.99,4,Pantallas,MON-001,False
+                """;
+
+        // Act
+        ImportacionDTO resultado = productoImportacionUseCase.importar(flujo(csv), true);
+
+        // Assert
+        assertEquals("COMPLETADA", resultado.getEstado());
+        assertEquals(1, resultado.getFilasValidas());
+        assertEquals(List.of(2L, 3L, 4L, 5L), resultado.getRechazos().stream().map(rechazo -> rechazo.getLinea()).toList());
+        assertTrue(resultado.getRechazos().get(0).getMotivo().contains("8 enteros y 2 decimales"));
+        assertTrue(resultado.getRechazos().get(1).getMotivo().contains("8 enteros y 2 decimales"));
+        assertTrue(resultado.getRechazos().get(2).getMotivo().contains("estaActivo debe ser true o false"));
+        assertTrue(resultado.getRechazos().get(3).getMotivo().contains("NUL"));
+        assertEquals("MON-001", filasCargadas.get(0).producto().getCodigoProducto());
+        assertFalse(filasCargadas.get(0).producto().getEstaActivo());
+    }
+
+    private ByteArrayInputStream flujo(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoLecturaReactivaUseCaseTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.repository.ProductoLecturaReactivaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Lectura reactiva de varios productos")
+class ProductoLecturaReactivaUseCaseTest {
+
+    @Mock
+    private ProductoLecturaReactivaRepository productoLecturaReactivaRepository;
+
+    @Spy
+    private ProductoUseCase productoUseCase = new ProductoUseCase();
+
+    @InjectMocks
+    private ProductoLecturaReactivaUseCase productoLecturaReactivaUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Respuesta de obtenerVarios
+     *
+     * Condición                    | C1  | C2  | C3  |
+     * -----------------------------|-----|-----|-----|
+     * Todos los ids existen        | V   | F   | -   |
+     * Ids repetidos en la petición | F   | V   | -   |
+     * Ningún id existe             | F   | F   | V   |
+     * -----------------------------|-----|-----|-----|
+     * Acción                       |     |     |     |
+     * -----------------------------|-----|-----|-----|
+     * Un solo SELECT ... IN        | X   | X   | X   |
+     * Orden de la petición         | X   | X   |     |
+     * Lista vacía                  |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Todos existen = Orden pedido aunque la base los devuelva en otro")
+    void testC1_TodosExisten_OrdenPedido() {
+        // Arrange
+        when(productoLecturaReactivaRepository.buscarPorIds(new LinkedHashSet<>(List.of(3L, 1L, 2L))))
+                .thenReturn(Flux.just(producto(1L), producto(2L), producto(3L)));
+
+        // Act
+        List<ProductoResponseDTO> productos = productoLecturaReactivaUseCase.obtenerVarios(List.of(3L, 1L, 2L)).block();
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), productos.stream().map(ProductoResponseDTO::getId).toList());
+        assertEquals("Producto 3", productos.get(0).getNombre());
+    }
+
+    @Test
+    @DisplayName("C2: Repetidos e inexistentes = Cada id una vez; los que faltan se omiten")
+    void testC2_RepetidosEInexistentes_SinDuplicados() {
+        // Arrange
+        when(productoLecturaReactivaRepository.buscarPorIds(new LinkedHashSet<>(List.of(2L, 9L, 1L))))
+                .thenReturn(Flux.just(producto(1L), producto(2L)));
+
+        // Act
+        List<ProductoResponseDTO> productos = productoLecturaReactivaUseCase.obtenerVarios(List.of(2L, 9L, 2L, 1L)).block();
+
+        // Assert
+        assertEquals(List.of(2L, 1L), productos.stream().map(ProductoResponseDTO::getId).toList());
+        verify(productoLecturaReactivaRepository, times(1)).buscarPorIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("C3: Ninguno existe = Lista vacía; obtener por id = vacío")
+    void testC3_NingunoExiste_Vacio() {
+        // Arrange
+        when(productoLecturaReactivaRepository.buscarPorIds(anyCollection())).thenReturn(Flux.empty());
+        when(productoLecturaReactivaRepository.buscarPorId(7L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        assertEquals(List.of(), productoLecturaReactivaUseCase.obtenerVarios(List.of(7L)).block());
+        assertNull(productoLecturaReactivaUseCase.obtenerProductoPorId(7L).block());
+    }
+
+    private Producto producto(Long id) {
+        return new Producto(id, "Producto " + id, "Descripción", new BigDecimal("10.00"), 5, "Electrónica",
+                "COD-" + id, true, LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,89 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseActualizarParcialmenteTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.service.ProductoService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Actualización parcial (PATCH)")
+class ProductoUseCaseActualizarParcialmenteTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Validación del documento de cambios
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Campos actualizables         | V   | F   | V   | V   |
+     * Valores con el tipo correcto | V   | -   | F   | V   |
+     * Cumplen reglas del DTO       | V   | -   | -   | F   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * UPDATE de los campos         | X   |     |     |     |
+     * Error de validación          |     | X   | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Parche válido = Solo los campos enviados llegan al servicio")
+    void testC1_ParcheValido_EnviaSoloCamposRecibidos() throws Exception {
+        // Arrange
+        ObjectNode parche = parche("{\"precio\": 19.90, \"estaActivo\": false, \"descripcion\": null}");
+
+        // Act
+        assertNull(productoUseCase.validarParche(parche));
+        productoUseCase.actualizarParcialmente(1L, parche, null);
+
+        // Assert
+        verify(productoService).actualizarParcialmente(eq(1L), argThat((Map<CampoActualizableProducto, Object> cambios) ->
+                cambios.size() == 3
+                        && new BigDecimal("19.90").compareTo((BigDecimal) cambios.get(CampoActualizableProducto.PRECIO)) == 0
+                        && Boolean.FALSE.equals(cambios.get(CampoActualizableProducto.ESTA_ACTIVO))
+                        && cambios.containsKey(CampoActualizableProducto.DESCRIPCION)
+                        && cambios.get(CampoActualizableProducto.DESCRIPCION) == null), isNull());
+    }
+
+    @Test
+    @DisplayName("C2-C4: Campo desconocido, tipo incorrecto o regla incumplida = Error sin tocar la BD")
+    void testC2_C4_ParcheInvalido_Error() throws Exception {
+        assertEquals("Campo no actualizable: id", productoUseCase.validarParche(parche("{\"id\": 5}")));
+        assertEquals("Valor inválido para stock", productoUseCase.validarParche(parche("{\"stock\": \"muchos\"}")));
+        assertEquals("El stock no puede ser negativo", productoUseCase.validarParche(parche("{\"stock\": -1}")));
+        assertEquals("El nombre es obligatorio", productoUseCase.validarParche(parche("{\"nombre\": null}")));
+        assertEquals("No se indicó ningún campo a actualizar", productoUseCase.validarParche(parche("{}")));
+        verifyNoInteractions(productoService);
+    }
+
+    private ObjectNode parche(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,97 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseBuscarProductosTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.PaginaCursorDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.model.ResultadoBusqueda;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Búsqueda de texto completo")
+class ProductoUseCaseBuscarProductosTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Paginación de resultados por relevancia
+     *
+     * Condición                    | C1  | C2  | C3  |
+     * -----------------------------|-----|-----|-----|
+     * Cursor recibido              | F   | V   | V   |
+     * Cursor válido                | -   | V   | F   |
+     * -----------------------------|-----|-----|-----|
+     * Acción                       |     |     |     |
+     * -----------------------------|-----|-----|-----|
+     * Buscar desde el inicio       | X   |     |     |
+     * Continuar tras (rango, id)   |     | X   |     |
+     * Error "Cursor inválido"      |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1-C2: Sin cursor = Primera página; su siguienteCursor continúa tras el último (rango, id)")
+    void testC1_C2_CursorContinuaTrasUltimoResultado() {
+        // Arrange
+        when(productoService.buscarProductos(eq("laptop"), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(resultado(7L, 0.9f), resultado(3L, 0.5f), resultado(9L, 0.5f)));
+
+        // Act
+        PaginaCursorDTO<ProductoResponseDTO> pagina = productoUseCase.buscarProductos("laptop", null, 2);
+        productoUseCase.buscarProductos("laptop", pagina.getSiguienteCursor(), 2);
+
+        // Assert
+        assertTrue(pagina.isHayMas());
+        assertEquals(List.of(7L, 3L), pagina.getContenido().stream().map(ProductoResponseDTO::getId).toList());
+        verify(productoService).buscarProductos("laptop", 0.5f, 3L, 3);
+    }
+
+    @Test
+    @DisplayName("C3: Cursor inválido = Error sin consultar la BD")
+    void testC3_CursorInvalido_Error() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> productoUseCase.buscarProductos("laptop", "no-es-un-cursor", 10));
+
+        assertEquals("Cursor inválido", error.getMessage());
+        verifyNoInteractions(productoService);
+    }
+
+    @Test
+    @DisplayName("C3: Cursor alterado o de otro endpoint = validarCursorBusqueda informa \"Cursor inválido\"")
+    void testC3_ValidarCursor() {
+        assertNull(productoUseCase.validarCursorBusqueda(null));
+        assertNull(productoUseCase.validarCursorBusqueda(cursor("0.5|3")));
+        assertEquals("Cursor inválido", productoUseCase.validarCursorBusqueda("no-es-un-cursor"));
+        assertEquals("Cursor inválido", productoUseCase.validarCursorBusqueda(cursor("precio|asc|7|10.00")));
+        assertEquals("Cursor inválido", productoUseCase.validarCursorBusqueda(cursor("NaN|3")));
+        assertEquals("Cursor inválido", productoUseCase.validarCursorBusqueda(cursor("0.5")));
+        verifyNoInteractions(productoService);
+    }
+
+    private String cursor(String contenido) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ResultadoBusqueda resultado(Long id, float rango) {
+        return new ResultadoBusqueda(new Producto(id, "Laptop " + id, null, new BigDecimal("100.00"), 1,
+                null, "LAP-" + id, true, null, null, 0L), rango);
+    }
+}
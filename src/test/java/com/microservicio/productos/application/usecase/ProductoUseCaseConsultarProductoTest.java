@@ -3,7 +3,6 @@ package com.microservicio.productos.application.usecase;
 
 import com.microservicio.productos.application.dto.ProductoResponseDTO;
 import com.microservicio.productos.domain.model.Producto;
-import com.microservicio.productos.domain.service.ProductoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,7 +22,7 @@ import static org.mockito.Mockito.*;
 class ProductoUseCaseConsultarProductoTest {
 
     @Mock
-    private ProductoService productoService;
+    private AgrupadorLecturasProducto agrupadorLecturasProducto;
 
     @InjectMocks
     private ProductoUseCase productoUseCase;
@@ -62,7 +61,7 @@ class ProductoUseCaseConsultarProductoTest {
     @DisplayName("C1: Producto existe + Activo = Devolver producto")
     void testC1_ObtenerProducto_ExisteYActivo_Exitoso() {
         // Arrange
-        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto));
+        when(agrupadorLecturasProducto.obtener(1L)).thenReturn(Optional.of(producto));
 
         // Act
         ProductoResponseDTO resultado = productoUseCase.obtenerProductoPorId(1L);
@@ -74,7 +73,7 @@ class ProductoUseCaseConsultarProductoTest {
         assertTrue(resultado.getEstaActivo());
         assertEquals(new BigDecimal("1500.00"), resultado.getPrecio());
         
-        verify(productoService, times(1)).obtenerProductoPorId(1L);
+        verify(agrupadorLecturasProducto, times(1)).obtener(1L);
     }
 
     @Test
@@ -82,7 +81,7 @@ class ProductoUseCaseConsultarProductoTest {
     void testC2_ObtenerProducto_ExisteYInactivo_Exitoso() {
         // Arrange
         producto.setEstaActivo(false);
-        when(productoService.obtenerProductoPorId(1L)).thenReturn(Optional.of(producto));
+        when(agrupadorLecturasProducto.obtener(1L)).thenReturn(Optional.of(producto));
 
         // Act
         ProductoResponseDTO resultado = productoUseCase.obtenerProductoPorId(1L);
@@ -92,14 +91,14 @@ class ProductoUseCaseConsultarProductoTest {
         assertEquals(1L, resultado.getId());
         assertFalse(resultado.getEstaActivo());
         
-        verify(productoService, times(1)).obtenerProductoPorId(1L);
+        verify(agrupadorLecturasProducto, times(1)).obtener(1L);
     }
 
     @Test
     @DisplayName("C3: Producto no existe = Lanzar excepción")
     void testC3_ObtenerProducto_NoExiste_LanzaExcepcion() {
         // Arrange
-        when(productoService.obtenerProductoPorId(999L)).thenReturn(Optional.empty());
+        when(agrupadorLecturasProducto.obtener(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -107,6 +106,6 @@ class ProductoUseCaseConsultarProductoTest {
         });
 
         assertTrue(exception.getMessage().contains("Producto no encontrado"));
-        verify(productoService, times(1)).obtenerProductoPorId(999L);
+        verify(agrupadorLecturasProducto, times(1)).obtener(999L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseListarPorCursorTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.PaginaCursorDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Paginación por cursor")
+class ProductoUseCaseListarPorCursorTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Paginación por cursor
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Cursor recibido              | F   | V   | V   | V   |
+     * Cursor coincide con orden    | -   | V   | F   | V   |
+     * Id y valor legibles          | -   | V   | -   | F   |
+     * Hay más filas que el tamaño  | V   | F   | -   | -   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Devolver siguienteCursor     | X   |     |     |     |
+     * Última página sin cursor     |     | X   |     |     |
+     * Lanzar excepción             |     |     | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Primera página con más resultados = Devolver siguienteCursor")
+    void testC1_PrimeraPagina_HayMas_DevuelveCursor() {
+        // Arrange
+        when(productoService.listarProductosPorCursor(
+                eq(CampoOrdenProducto.PRECIO), eq(false), isNull(), isNull(), eq(3), eq(FiltroProductos.SIN_FILTRO)))
+                .thenReturn(List.of(producto(1L, "10.00"), producto(2L, "20.00"), producto(3L, "30.00")));
+
+        // Act
+        PaginaCursorDTO<ProductoResponseDTO> pagina =
+                productoUseCase.listarProductosPorCursor(null, CampoOrdenProducto.PRECIO, false, 2, FiltroProductos.SIN_FILTRO);
+
+        // Assert
+        assertEquals(2, pagina.getContenido().size());
+        assertTrue(pagina.isHayMas());
+        assertNotNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("C2: Cursor válido en la última página = Continuar desde el último (precio, id)")
+    void testC2_CursorValido_UltimaPagina_SinCursor() {
+        // Arrange
+        when(productoService.listarProductosPorCursor(
+                eq(CampoOrdenProducto.PRECIO), eq(false), isNull(), isNull(), eq(3), eq(FiltroProductos.SIN_FILTRO)))
+                .thenReturn(List.of(producto(1L, "10.00"), producto(2L, "20.00"), producto(3L, "30.00")));
+        String cursor = productoUseCase
+                .listarProductosPorCursor(null, CampoOrdenProducto.PRECIO, false, 2, FiltroProductos.SIN_FILTRO)
+                .getSiguienteCursor();
+        when(productoService.listarProductosPorCursor(
+                CampoOrdenProducto.PRECIO, false, new BigDecimal("20.00"), 2L, 3, FiltroProductos.SIN_FILTRO))
+                .thenReturn(List.of(producto(3L, "30.00")));
+
+        // Act
+        PaginaCursorDTO<ProductoResponseDTO> pagina =
+                productoUseCase.listarProductosPorCursor(cursor, CampoOrdenProducto.PRECIO, false, 2, FiltroProductos.SIN_FILTRO);
+
+        // Assert
+        assertEquals(1, pagina.getContenido().size());
+        assertEquals(3L, pagina.getContenido().get(0).getId());
+        assertFalse(pagina.isHayMas());
+        assertNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("C3: Cursor de otro ordenamiento = Lanzar excepción")
+    void testC3_CursorDeOtroOrden_LanzaExcepcion() {
+        // Arrange
+        when(productoService.listarProductosPorCursor(
+                eq(CampoOrdenProducto.PRECIO), eq(false), isNull(), isNull(), eq(2), eq(FiltroProductos.SIN_FILTRO)))
+                .thenReturn(List.of(producto(1L, "10.00"), producto(2L, "20.00")));
+        String cursor = productoUseCase
+                .listarProductosPorCursor(null, CampoOrdenProducto.PRECIO, false, 1, FiltroProductos.SIN_FILTRO)
+                .getSiguienteCursor();
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            productoUseCase.listarProductosPorCursor(cursor, CampoOrdenProducto.NOMBRE, false, 1, FiltroProductos.SIN_FILTRO);
+        });
+
+        assertTrue(exception.getMessage().contains("Cursor inválido"));
+        verify(productoService, never()).listarProductosPorCursor(
+                eq(CampoOrdenProducto.NOMBRE), anyBoolean(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("C4: Cursor con id o fecha ilegibles = Cursor inválido sin consultar la BD")
+    void testC4_CursorAlterado_CursorInvalido() {
+        // Arrange
+        String idIlegible = cursor("fechaCreacion|asc|abc|2024-05-10T12:00");
+        String fechaIlegible = cursor("fechaCreacion|asc|7|10/05/2024");
+        String precioIlegible = cursor("precio|asc|7|diez");
+
+        // Act & Assert
+        assertEquals("Cursor inválido",
+                productoUseCase.validarCursor(idIlegible, CampoOrdenProducto.FECHA_CREACION, false));
+        assertEquals("Cursor inválido",
+                productoUseCase.validarCursor(fechaIlegible, CampoOrdenProducto.FECHA_CREACION, false));
+        assertEquals("Cursor inválido",
+                productoUseCase.validarCursor(precioIlegible, CampoOrdenProducto.PRECIO, false));
+        assertNull(productoUseCase.validarCursor(cursor("fechaCreacion|asc|7|2024-05-10T12:00"),
+                CampoOrdenProducto.FECHA_CREACION, false));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> productoUseCase
+                .listarProductosPorCursor(fechaIlegible, CampoOrdenProducto.FECHA_CREACION, false, 1, FiltroProductos.SIN_FILTRO));
+        assertEquals("Cursor inválido", exception.getMessage());
+        verifyNoInteractions(productoService);
+    }
+
+    private String cursor(String contenido) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Producto producto(Long id, String precio) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre("Producto " + id);
+        producto.setPrecio(new BigDecimal(precio));
+        producto.setStock(10);
+        producto.setCodigoProducto("COD-" + id);
+        producto.setEstaActivo(true);
+        return producto;
+    }
+}
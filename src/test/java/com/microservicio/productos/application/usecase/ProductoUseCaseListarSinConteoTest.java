@@ -0,0 +1,127 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseListarSinConteoTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import com.microservicio.productos.infrastructure.persistence.EstimadorTotalProductos;
+import com.microservicio.productos.infrastructure.persistence.ProductoRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Listado sin conteo y total estimado")
+class ProductoUseCaseListarSinConteoTest {
+
+    private static final Pageable PAGINA = PageRequest.of(0, 2);
+
+    @Mock
+    private ProductoRepositoryImpl productoRepository;
+
+    @Mock
+    private EstimadorTotalProductos estimadorTotalProductos;
+
+    @InjectMocks
+    private ProductoService productoService;
+
+    private ProductoUseCase productoUseCase;
+
+    @BeforeEach
+    void setUp() {
+        productoUseCase = new ProductoUseCase();
+        ReflectionTestUtils.setField(productoUseCase, "productoService", productoService);
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Consultas de paginacion=sin-conteo y paginacion=estimada
+     *
+     * Condición                        | C1  | C2  | C3  |
+     * ---------------------------------|-----|-----|-----|
+     * Con filtros                      | F   | V   | F   |
+     * Se pide el total estimado        | F   | F   | V   |
+     * ---------------------------------|-----|-----|-----|
+     * Acción                           |     |     |     |
+     * ---------------------------------|-----|-----|-----|
+     * Slice de la tabla (findAllBy)    | X   |     |     |
+     * Slice con los filtros            |     | X   |     |
+     * Total desde memoria              |     |     | X   |
+     * Nunca SELECT count(*) ni Page    | X   | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Sin filtros = Slice de findAllBy con hayMas, sin count(*)")
+    void testC1_SinFiltros_FindAllBy() {
+        // Arrange
+        when(productoRepository.findAllBy(PAGINA))
+                .thenReturn(new SliceImpl<>(List.of(producto(1L), producto(2L)), PAGINA, true));
+
+        // Act
+        Slice<ProductoResponseDTO> slice = productoUseCase.listarProductosSinConteo(PAGINA, FiltroProductos.SIN_FILTRO);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), slice.getContent().stream().map(ProductoResponseDTO::getId).toList());
+        assertTrue(slice.hasNext());
+        verify(productoRepository, never()).count();
+        verify(productoRepository, never()).findAll(any(Pageable.class));
+        verify(productoRepository, never()).listarFiltradosSinConteo(any(), any());
+    }
+
+    @Test
+    @DisplayName("C2: Con filtros = Slice de listarFiltradosSinConteo con los mismos filtros")
+    void testC2_ConFiltros_ListarFiltradosSinConteo() {
+        // Arrange
+        FiltroProductos filtro = new FiltroProductos("Libros", null, null, true, null);
+        when(productoRepository.listarFiltradosSinConteo(filtro, PAGINA))
+                .thenReturn(new SliceImpl<>(List.of(producto(3L)), PAGINA, false));
+
+        // Act
+        Slice<ProductoResponseDTO> slice = productoUseCase.listarProductosSinConteo(PAGINA, filtro);
+
+        // Assert
+        assertEquals(1, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+        verify(productoRepository, never()).findAllBy(any());
+        verify(productoRepository, never()).listarFiltrados(any(), any());
+    }
+
+    @Test
+    @DisplayName("C3: Total estimado = Se lee del estimador en memoria sin consultar el repositorio")
+    void testC3_TotalEstimado_DesdeMemoria() {
+        // Arrange
+        when(estimadorTotalProductos.getTotalEstimado()).thenReturn(120_000L);
+
+        // Act
+        long total = productoUseCase.obtenerTotalEstimado();
+
+        // Assert
+        assertEquals(120_000L, total);
+        verifyNoInteractions(productoRepository);
+    }
+
+    private Producto producto(Long id) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre("Producto " + id);
+        producto.setPrecio(new BigDecimal("10.00"));
+        producto.setStock(1);
+        return producto;
+    }
+}
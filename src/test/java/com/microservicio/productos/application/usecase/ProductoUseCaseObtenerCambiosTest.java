@@ -0,0 +1,145 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseObtenerCambiosTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.CambiosDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.CambioProducto;
+import com.microservicio.productos.domain.model.InstantaneaCambios;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Sincronización incremental")
+class ProductoUseCaseObtenerCambiosTest {
+
+    private static final Instant AHORA = Instant.parse("2024-05-10T12:00:00Z");
+
+    @Mock
+    private ProductoService productoService;
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productoUseCase, "retencionCambios", Duration.ofDays(7));
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Página de cambios según el token recibido
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Token recibido               | F   | V   | V   | V   |
+     * Token válido                 | -   | V   | V   | F   |
+     * Dentro de la retención       | -   | V   | F   | -   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Catálogo completo sin lápidas| X   |     | X   |     |
+     * Cambios y lápidas del token  |     | X   |     |     |
+     * resincronizar = true         |     |     | X   |     |
+     * Error "Token inválido"       |     |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1-C2: Sin token = Catálogo completo; el último token empieza en el horizonte de la primera página")
+    void testC1_C2_RondaCompletaYLuegoIncremental() {
+        // Arrange: la primera página toma el horizonte 500; al pedir la segunda ya es 510
+        when(productoService.obtenerInstantaneaCambios())
+                .thenReturn(new InstantaneaCambios(500L, AHORA), new InstantaneaCambios(510L, AHORA),
+                        new InstantaneaCambios(520L, AHORA));
+        when(productoService.listarCambios(0L, 0L, false, 3))
+                .thenReturn(List.of(cambio(0L, 4L), cambio(0L, 9L), cambio(480L, 2L)));
+        when(productoService.listarCambios(0L, 9L, false, 3)).thenReturn(List.of(cambio(480L, 2L)));
+        when(productoService.listarCambios(500L, 0L, true, 3))
+                .thenReturn(List.of(cambio(505L, 4L), new CambioProducto(507L, 9L, null)));
+
+        // Act
+        CambiosDTO primera = productoUseCase.obtenerCambios(null, 2);
+        CambiosDTO segunda = productoUseCase.obtenerCambios(primera.getToken(), 2);
+        CambiosDTO incremental = productoUseCase.obtenerCambios(segunda.getToken(), 2);
+
+        // Assert
+        assertTrue(primera.isHayMas());
+        assertEquals(List.of(4L, 9L), primera.getProductos().stream().map(ProductoResponseDTO::getId).toList());
+        assertFalse(segunda.isHayMas());
+        assertEquals(List.of(2L), segunda.getProductos().stream().map(ProductoResponseDTO::getId).toList());
+
+        assertFalse(incremental.isHayMas());
+        assertFalse(incremental.isResincronizar());
+        assertEquals(List.of(4L), incremental.getProductos().stream().map(ProductoResponseDTO::getId).toList());
+        assertEquals(List.of(9L), incremental.getEliminados());
+    }
+
+    @Test
+    @DisplayName("C3: Token anterior a la retención = Catálogo completo con resincronizar")
+    void testC3_TokenCaducado_Resincronizar() {
+        // Arrange: un token de fin de ronda emitido hace ocho días
+        when(productoService.obtenerInstantaneaCambios())
+                .thenReturn(new InstantaneaCambios(500L, AHORA.minus(Duration.ofDays(8))),
+                        new InstantaneaCambios(900L, AHORA));
+        when(productoService.listarCambios(anyLong(), anyLong(), anyBoolean(), anyInt())).thenReturn(List.of());
+        String tokenViejo = productoUseCase.obtenerCambios(null, 10).getToken();
+
+        // Act
+        CambiosDTO cambios = productoUseCase.obtenerCambios(tokenViejo, 10);
+
+        // Assert
+        assertTrue(cambios.isResincronizar());
+        verify(productoService, times(2)).listarCambios(0L, 0L, false, 11);
+    }
+
+    @Test
+    @DisplayName("C4: Token inválido = Error sin consultar la BD")
+    void testC4_TokenInvalido_Error() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> productoUseCase.obtenerCambios("no-es-un-token", 10));
+
+        assertEquals("Token de cambios inválido", error.getMessage());
+        verifyNoInteractions(productoService);
+    }
+
+    @Test
+    @DisplayName("C4: Token alterado o truncado = validarTokenCambios lo informa; uno emitido es válido")
+    void testC4_ValidarToken() {
+        // Arrange
+        when(productoService.obtenerInstantaneaCambios()).thenReturn(new InstantaneaCambios(500L, AHORA));
+        when(productoService.listarCambios(anyLong(), anyLong(), anyBoolean(), anyInt())).thenReturn(List.of());
+        String emitido = productoUseCase.obtenerCambios(null, 10).getToken();
+        String truncado = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("500|1715342400000|500".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertNull(productoUseCase.validarTokenCambios(null));
+        assertNull(productoUseCase.validarTokenCambios(emitido));
+        assertEquals("Token de cambios inválido", productoUseCase.validarTokenCambios("no-es-un-token"));
+        assertEquals("Token de cambios inválido", productoUseCase.validarTokenCambios(truncado));
+    }
+
+    private CambioProducto cambio(long xid, Long id) {
+        return new CambioProducto(xid, id, new Producto(id, "Producto " + id, null, new BigDecimal("10.00"), 1,
+                null, "COD-" + id, true, null, null, 0L));
+    }
+}
@@ -0,0 +1,121 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseProcesarLoteTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.OperacionLoteDTO;
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+import com.microservicio.productos.application.dto.ResultadoLoteDTO;
+import com.microservicio.productos.domain.model.OperacionLote;
+import com.microservicio.productos.domain.model.ResultadoOperacionLote;
+import com.microservicio.productos.domain.model.TipoOperacionLote;
+import com.microservicio.productos.domain.service.ProductoLoteService;
+import com.microservicio.productos.domain.service.ProductoService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Operaciones masivas")
+class ProductoUseCaseProcesarLoteTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @Mock
+    private ProductoLoteService productoLoteService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Validación de operaciones del lote
+     *
+     * Condición                    | C1  | C2  | C3  |
+     * -----------------------------|-----|-----|-----|
+     * Tipo informado               | V   | V   | F   |
+     * Id presente si se requiere   | V   | F   | -   |
+     * Producto válido si se pide   | V   | -   | -   |
+     * -----------------------------|-----|-----|-----|
+     * Acción                       |     |     |     |
+     * -----------------------------|-----|-----|-----|
+     * Enviar al servicio de lotes  | X   |     |     |
+     * Error sin tocar la BD        |     | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1-C3: Operaciones mixtas = Solo las válidas se aplican y el orden se conserva")
+    void testC1_C3_OperacionesMixtas_ResultadosEnOrden() {
+        // Arrange
+        List<OperacionLoteDTO> operaciones = List.of(
+                new OperacionLoteDTO(TipoOperacionLote.CREAR, null, productoValido("LAP-001")),
+                new OperacionLoteDTO(TipoOperacionLote.ELIMINAR, null, null),
+                new OperacionLoteDTO(null, 5L, null),
+                new OperacionLoteDTO(TipoOperacionLote.ELIMINAR, 7L, null)
+        );
+        when(productoLoteService.procesar(anyList())).thenAnswer(invocacion -> {
+            List<OperacionLote> validas = invocacion.getArgument(0);
+            return validas.stream()
+                    .map(op -> ResultadoOperacionLote.exito(op, op.id() != null ? op.id() : 100L))
+                    .collect(Collectors.toList());
+        });
+
+        // Act
+        List<ResultadoLoteDTO> resultados = productoUseCase.procesarLote(operaciones);
+
+        // Assert
+        assertEquals(4, resultados.size());
+        assertTrue(resultados.get(0).isExito());
+        assertEquals(100L, resultados.get(0).getId());
+        assertFalse(resultados.get(1).isExito());
+        assertTrue(resultados.get(1).getMensaje().contains("ID es obligatorio"));
+        assertFalse(resultados.get(2).isExito());
+        assertTrue(resultados.get(2).getMensaje().contains("tipo de operación es obligatorio"));
+        assertTrue(resultados.get(3).isExito());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+        }
+    }
+
+    @Test
+    @DisplayName("C4: Producto con datos inválidos = Error de validación por operación")
+    @SuppressWarnings("unchecked")
+    void testC4_ProductoInvalido_ErrorDeValidacion() {
+        // Arrange
+        ProductoRequestDTO invalido = productoValido("LAP-002");
+        invalido.setStock(-1);
+        when(productoLoteService.procesar(anyList())).thenReturn(List.of());
+
+        // Act
+        List<ResultadoLoteDTO> resultados = productoUseCase.procesarLote(List.of(
+                new OperacionLoteDTO(TipoOperacionLote.ACTUALIZAR, 1L, invalido)));
+
+        // Assert
+        assertFalse(resultados.get(0).isExito());
+        assertTrue(resultados.get(0).getMensaje().contains("stock no puede ser negativo"));
+        ArgumentCaptor<List<OperacionLote>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productoLoteService).procesar(captor.capture());
+        assertTrue(captor.getValue().isEmpty());
+    }
+
+    private ProductoRequestDTO productoValido(String codigo) {
+        return new ProductoRequestDTO("Laptop HP", "Descripción", new BigDecimal("1500.00"),
+                10, "Electrónica", codigo, true);
+    }
+}
@@ -0,0 +1,71 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseReservarStockTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.microservicio.productos.application.dto.LineaStockDTO;
+import com.microservicio.productos.domain.model.LineaStock;
+import com.microservicio.productos.domain.service.ProductoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Reserva de stock")
+class ProductoUseCaseReservarStockTest {
+
+    @Mock
+    private ProductoService productoService;
+
+    @InjectMocks
+    private ProductoUseCase productoUseCase;
+
+    /**
+     * TABLA DE DECISIÓN: Reserva de varios productos
+     *
+     * Condición                         | C1  | C2  |
+     * ----------------------------------|-----|-----|
+     * Todos existen con stock suficiente| V   | F   |
+     * ----------------------------------|-----|-----|
+     * Acción                            |     |     |
+     * ----------------------------------|-----|-----|
+     * Descontar todas las líneas        | X   |     |
+     * Informar IDs rechazados           |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Stock suficiente = Sin rechazos y cada línea llega al servicio")
+    void testC1_StockSuficiente_SinRechazos() {
+        // Arrange
+        List<LineaStockDTO> lineas = List.of(new LineaStockDTO(3L, 2), new LineaStockDTO(1L, 5));
+        when(productoService.reservarStock(List.of(new LineaStock(3L, 2), new LineaStock(1L, 5))))
+                .thenReturn(List.of());
+
+        // Act
+        List<Long> rechazados = productoUseCase.reservarStock(lineas);
+
+        // Assert
+        assertTrue(rechazados.isEmpty());
+        verify(productoService, times(1)).reservarStock(anyList());
+    }
+
+    @Test
+    @DisplayName("C2: Un producto sin stock = Se informan los IDs rechazados")
+    void testC2_StockInsuficiente_InformaRechazados() {
+        // Arrange
+        List<LineaStockDTO> lineas = List.of(new LineaStockDTO(1L, 1), new LineaStockDTO(2L, 100));
+        when(productoService.reservarStock(anyList())).thenReturn(List.of(2L));
+
+        // Act
+        List<Long> rechazados = productoUseCase.reservarStock(lineas);
+
+        // Assert
+        assertEquals(List.of(2L), rechazados);
+    }
+}
@@ -0,0 +1,281 @@
+// src/test/java/com/microservicio/productos/application/usecase/ProductoUseCaseSentenciasSqlTest.java
+package com.microservicio.productos.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microservicio.productos.application.dto.LineaStockDTO;
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de sentencias SQL por operación de ProductoUseCase. Si un cambio agrega
+ * viajes a la base, la prueba correspondiente falla mostrando las sentencias ejecutadas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ProductoUseCaseSentenciasSqlTest.Configuracion.class)
+@DisplayName("Sentencias SQL por operación")
+class ProductoUseCaseSentenciasSqlTest {
+
+    @TestConfiguration
+    static class Configuracion {
+        @Bean
+        static ContadorSentenciasSql contadorSentenciasSql() {
+            return new ContadorSentenciasSql();
+        }
+    }
+
+    @Autowired
+    private ProductoUseCase productoUseCase;
+
+    @Autowired
+    private ContadorSentenciasSql contador;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductoResponseDTO existente;
+
+    @BeforeEach
+    void setUp() {
+        // También reserva el bloque de ids de la secuencia, que no debe contar en las mediciones
+        existente = productoUseCase.crearProducto(producto(codigoNuevo()));
+    }
+
+    @Test
+    @DisplayName("Crear = 1 (INSERT; el código repetido lo rechaza la restricción única)")
+    void testCrear() {
+        assertSentencias(1, () -> productoUseCase.crearProducto(producto(codigoNuevo())));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () ->
+                assertSentencias(1, () -> productoUseCase.crearProducto(producto(existente.getCodigoProducto()))));
+        assertEquals("Ya existe un producto con el código: " + existente.getCodigoProducto(), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Obtener por id = 1 en frío y 0 desde la caché de segundo nivel")
+    void testObtener() {
+        entityManagerFactory.getCache().evictAll();
+        assertSentencias(1, () -> productoUseCase.obtenerProductoPorId(existente.getId()));
+        assertSentencias(0, () -> productoUseCase.obtenerProductoPorId(existente.getId()));
+    }
+
+    @Test
+    @DisplayName("Obtener varios = 1 (un IN para los que no están en caché), en el orden pedido")
+    void testObtenerVarios() {
+        ProductoResponseDTO otro = productoUseCase.crearProducto(producto(codigoNuevo()));
+        entityManagerFactory.getCache().evictAll();
+
+        List<ProductoResponseDTO> productos = new ArrayList<>();
+        assertSentencias(1, () -> productos.addAll(productoUseCase.obtenerVarios(
+                List.of(otro.getId(), -1L, existente.getId(), otro.getId()))));
+        assertEquals(List.of(otro.getId(), existente.getId()), productos.stream().map(ProductoResponseDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Obtener por código = 0 desde la caché; tras cambiar el código el anterior ya no resuelve")
+    void testObtenerPorCodigo() throws Exception {
+        String original = existente.getCodigoProducto();
+        assertSentencias(0, () -> assertTrue(productoUseCase.obtenerProductoPorCodigo(original).isPresent()));
+
+        // PUT: Hibernate actualiza la región codigoProducto -> id al guardar la entidad
+        String tras = codigoNuevo();
+        productoUseCase.actualizarProducto(existente.getId(), producto(tras));
+        assertTrue(productoUseCase.obtenerProductoPorCodigo(original).isEmpty());
+        assertEquals(existente.getId(), productoUseCase.obtenerProductoPorCodigo(tras).orElseThrow().getId());
+
+        // PATCH: la resolución del código anterior apunta a un producto con otro código y se descarta
+        String trasParche = codigoNuevo();
+        productoUseCase.actualizarParcialmente(existente.getId(),
+                objectMapper.createObjectNode().put("codigoProducto", trasParche), null);
+        assertTrue(productoUseCase.obtenerProductoPorCodigo(tras).isEmpty());
+        assertEquals(existente.getId(), productoUseCase.obtenerProductoPorCodigo(trasParche).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Actualizar (PUT) = 2 en frío (SELECT y UPDATE) y 1 con la entidad en caché")
+    void testActualizar() {
+        entityManagerFactory.getCache().evictAll();
+        assertSentencias(2, () -> productoUseCase.actualizarProducto(existente.getId(), producto(codigoNuevo())));
+        assertSentencias(1, () -> productoUseCase.actualizarProducto(existente.getId(), producto(codigoNuevo())));
+    }
+
+    @Test
+    @DisplayName("Actualizar parcialmente (PATCH) = 1 (también con código repetido)")
+    void testActualizarParcialmente() throws Exception {
+        ObjectNode parche = (ObjectNode) objectMapper.readTree("{\"precio\": 12.5, \"estaActivo\": false}");
+        assertSentencias(1, () -> productoUseCase.actualizarParcialmente(existente.getId(), parche, null));
+
+        ProductoResponseDTO otro = productoUseCase.crearProducto(producto(codigoNuevo()));
+        ObjectNode codigoRepetido = objectMapper.createObjectNode().put("codigoProducto", otro.getCodigoProducto());
+        RuntimeException error = assertThrows(RuntimeException.class, () ->
+                assertSentencias(1, () -> productoUseCase.actualizarParcialmente(existente.getId(), codigoRepetido, null)));
+        assertEquals("Ya existe un producto con el código: " + otro.getCodigoProducto(), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("PATCH con If-Match sin versiones legibles = Versión obsoleta sin ejecutar el UPDATE")
+    void testActualizarParcialmente_SinVersionesLegibles() throws Exception {
+        ObjectNode parche = (ObjectNode) objectMapper.readTree("{\"precio\": 12.5}");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                assertSentencias(1, () -> productoUseCase.actualizarParcialmente(existente.getId(), parche, Set.of())));
+    }
+
+    @Test
+    @DisplayName("PATCH y DELETE desalojan de la caché solo el producto escrito")
+    void testEscriturasDirectas_DesalojanSoloElProducto() throws Exception {
+        ProductoResponseDTO otro = productoUseCase.crearProducto(producto(codigoNuevo()));
+        productoUseCase.obtenerProductoPorId(existente.getId());
+        productoUseCase.obtenerProductoPorId(otro.getId());
+
+        productoUseCase.actualizarParcialmente(existente.getId(),
+                objectMapper.createObjectNode().put("stock", 3), Set.of(existente.getVersion()));
+        assertSentencias(0, () -> productoUseCase.obtenerProductoPorId(otro.getId()));
+        assertSentencias(0, () -> assertTrue(productoUseCase.obtenerProductoPorCodigo(otro.getCodigoProducto()).isPresent()));
+        assertSentencias(1, () -> assertEquals(3, productoUseCase.obtenerProductoPorId(existente.getId()).getStock()));
+
+        productoUseCase.eliminarProducto(existente.getId());
+        assertSentencias(0, () -> productoUseCase.obtenerProductoPorId(otro.getId()));
+        assertTrue(productoUseCase.obtenerProductoPorCodigo(existente.getCodigoProducto()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Eliminar = 1 (DELETE; el 404 sale de las filas afectadas)")
+    void testEliminar() {
+        assertSentencias(1, () -> productoUseCase.eliminarProducto(existente.getId()));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () ->
+                assertSentencias(1, () -> productoUseCase.eliminarProducto(existente.getId())));
+        assertEquals("Producto no encontrado con ID: " + existente.getId(), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Reservar stock = 1 (lote JDBC de UPDATE condicionales) y la caché no queda obsoleta")
+    void testReservarStock() {
+        ProductoResponseDTO otro = productoUseCase.crearProducto(producto(codigoNuevo()));
+        assertSentencias(1, () -> productoUseCase.reservarStock(List.of(
+                new LineaStockDTO(existente.getId(), 1), new LineaStockDTO(otro.getId(), 2))));
+
+        // El UPDATE por JDBC no pasa por Hibernate: la entidad en caché se bloquea antes de él
+        assertEquals(8, productoUseCase.obtenerProductoPorId(otro.getId()).getStock());
+    }
+
+    @Test
+    @DisplayName("Cantidades fuera del rango de stock = 0 al sumar las líneas y 1 al liberar; se rechaza el producto sin cambios")
+    void testAjustarStock_FueraDeRango_Rechaza() {
+        ProductoResponseDTO otro = productoUseCase.crearProducto(producto(codigoNuevo()));
+        List<LineaStockDTO> desbordan = List.of(new LineaStockDTO(existente.getId(), Integer.MAX_VALUE),
+                new LineaStockDTO(otro.getId(), 1), new LineaStockDTO(existente.getId(), 1));
+
+        assertSentencias(0, () -> assertEquals(List.of(existente.getId()), productoUseCase.reservarStock(desbordan)));
+        assertSentencias(0, () -> assertEquals(List.of(existente.getId()), productoUseCase.liberarStock(desbordan)));
+        // Cada cantidad cabe, pero stock + cantidad no cabe en la columna INTEGER
+        assertSentencias(1, () -> assertEquals(List.of(otro.getId()), productoUseCase.liberarStock(List.of(
+                new LineaStockDTO(existente.getId(), 1), new LineaStockDTO(otro.getId(), Integer.MAX_VALUE)))));
+
+        assertEquals(10, productoUseCase.obtenerProductoPorId(existente.getId()).getStock());
+        assertEquals(10, productoUseCase.obtenerProductoPorId(otro.getId()).getStock());
+    }
+
+    @Test
+    @DisplayName("Lectura concurrente durante una reserva = No vuelve a guardar en caché el stock anterior")
+    void testReservarStock_LecturaConcurrenteNoCacheaStockAnterior() throws Exception {
+        productoUseCase.obtenerProductoPorId(existente.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            productoUseCase.reservarStock(List.of(new LineaStockDTO(existente.getId(), 4)));
+            // Otro hilo aún ve el stock confirmado (10) pero no puede guardarlo en la caché:
+            // cada lectura va a la base
+            CompletableFuture.runAsync(() -> {
+                assertEquals(10, productoUseCase.obtenerProductoPorId(existente.getId()).getStock());
+                assertSentencias(1, () -> productoUseCase.obtenerProductoPorId(existente.getId()));
+            }).join();
+        });
+
+        assertEquals(6, productoUseCase.obtenerProductoPorId(existente.getId()).getStock());
+    }
+
+    @Test
+    @DisplayName("Listar sin conteo y por cursor = 1")
+    void testListar() {
+        assertSentencias(1, () -> productoUseCase.listarProductosSinConteo(PageRequest.of(0, 10), FiltroProductos.SIN_FILTRO));
+        assertSentencias(1, () -> productoUseCase.listarProductosPorCursor(null, CampoOrdenProducto.ID, false, 10, FiltroProductos.SIN_FILTRO));
+    }
+
+    @Test
+    @DisplayName("Listar filtrado (sin conteo y por cursor) y facetas por categoría = 1 cada uno")
+    void testListarFiltrado() {
+        String categoria = "Filtro-" + UUID.randomUUID().toString().substring(0, 8);
+        ProductoRequestDTO conStock = producto(codigoNuevo());
+        conStock.setCategoria(categoria);
+        ProductoRequestDTO sinStock = producto(codigoNuevo());
+        sinStock.setCategoria(categoria);
+        sinStock.setStock(0);
+        ProductoResponseDTO esperado = productoUseCase.crearProducto(conStock);
+        productoUseCase.crearProducto(sinStock);
+        FiltroProductos filtro = new FiltroProductos(categoria, new BigDecimal("1000"), null, true, true);
+
+        List<ProductoResponseDTO> slice = new ArrayList<>();
+        assertSentencias(1, () -> slice.addAll(productoUseCase.listarProductosSinConteo(
+                PageRequest.of(0, 10, Sort.by("precio", "id")), filtro).getContent()));
+        assertEquals(List.of(esperado.getId()), slice.stream().map(ProductoResponseDTO::getId).toList());
+
+        assertSentencias(1, () -> productoUseCase.listarProductosPorCursor(null, CampoOrdenProducto.PRECIO, false, 10, filtro));
+
+        List<FacetaCategoria> facetas = new ArrayList<>();
+        assertSentencias(1, () -> facetas.addAll(productoUseCase.contarPorCategoria(filtro.sinCategoria())));
+        assertTrue(facetas.contains(new FacetaCategoria(categoria, 1)), () -> "Facetas: " + facetas);
+    }
+
+    private void assertSentencias(int esperadas, Runnable operacion) {
+        contador.iniciar();
+        try {
+            operacion.run();
+        } finally {
+            List<String> sentencias = contador.detener();
+            assertEquals(esperadas, sentencias.size(), () -> "Sentencias ejecutadas: " + sentencias);
+        }
+    }
+
+    private ProductoRequestDTO producto(String codigo) {
+        return new ProductoRequestDTO("Laptop HP", "Laptop para oficina", new BigDecimal("1500.00"),
+                10, "Electrónica", codigo, true);
+    }
+
+    private String codigoNuevo() {
+        return "SQL-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
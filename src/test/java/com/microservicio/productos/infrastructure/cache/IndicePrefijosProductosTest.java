@@ -0,0 +1,113 @@
+// src/test/java/com/microservicio/productos/infrastructure/cache/IndicePrefijosProductosTest.java
+package com.microservicio.productos.infrastructure.cache;
+
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.SugerenciaProducto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tabla de Decisión: Índice de prefijos para sugerencias")
+class IndicePrefijosProductosTest {
+
+    private IndicePrefijosProductos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrefijosProductos();
+        crear(1L, "LAP-001", "Laptop HP Pavilion");
+        crear(2L, "LAP-002", "Lámpara de escritorio");
+        crear(3L, "MOU-001", "Mouse inalámbrico HP");
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Coincidencias por prefijo
+     *
+     * Condición                    | C1  | C2  | C3  | C4  | C5  |
+     * -----------------------------|-----|-----|-----|-----|-----|
+     * Coincide con el código       | V   | F   | F   | -   | V/F |
+     * Coincide con una palabra     | F   | V   | F   | -   | V   |
+     * Producto modificado/eliminado| -   | -   | -   | V   | -   |
+     * -----------------------------|-----|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|-----|
+     * Devolver coincidencias       | X   | X   |     | X   | X   |
+     * Devolver lista vacía         |     |     | X   |     |     |
+     * Ordenar por relevancia       |     |     |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1-C3: Código, palabra del nombre sin tildes ni mayúsculas, o sin coincidencias")
+    void testC1_C3_Coincidencias() {
+        assertEquals(List.of(1L, 2L), ids(indice.sugerir("lap", 10)));
+        // Ninguno empieza con "hp": a igualdad, primero el nombre más corto
+        assertEquals(List.of(1L, 3L), ids(indice.sugerir(" Hp ", 10)));
+        // Cada palabra buscada es prefijo de alguna palabra del producto, en cualquier orden
+        assertEquals(List.of(1L), ids(indice.sugerir("pav hp", 10)));
+        assertEquals(List.of(3L), ids(indice.sugerir("INALAMB", 10)));
+        assertEquals(List.of(1L), ids(indice.sugerir("lap", 1)));
+        assertTrue(indice.sugerir("teclado", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("C4: PATCH del nombre y eliminación = El índice refleja el estado nuevo")
+    void testC4_ModificacionYEliminacion_ActualizaIndice() {
+        // Act
+        indice.alModificarProducto(new ProductoModificadoEvent(1L, TipoModificacion.ACTUALIZADO,
+                Map.of(CampoActualizableProducto.NOMBRE, "Notebook Dell")));
+        indice.alModificarProducto(new ProductoModificadoEvent(3L, TipoModificacion.ELIMINADO));
+
+        // Assert
+        assertTrue(indice.sugerir("hp", 10).isEmpty());
+        assertEquals(List.of(new SugerenciaProducto(1L, "LAP-001", "Notebook Dell")), indice.sugerir("dell", 10));
+        assertEquals(List.of(1L, 2L), ids(indice.sugerir("lap-0", 10)));
+    }
+
+    @Test
+    @DisplayName("C5: Varias coincidencias = Primero el código, luego el nombre que empieza con el prefijo, luego otra palabra")
+    void testC5_Ranking() {
+        // Arrange
+        crear(4L, "ACC-010", "Funda para HP 15");
+        crear(5L, "HP-100", "Impresora láser");
+        crear(6L, "ACC-011", "HP EliteBook");
+
+        // Act & Assert: el límite se aplica sobre el orden, no sobre el primero que aparezca
+        assertEquals(List.of(5L, 6L, 4L), ids(indice.sugerir("hp", 3)));
+        assertEquals(List.of(5L, 6L, 4L, 1L, 3L), ids(indice.sugerir("hp", 10)));
+    }
+
+    @Test
+    @DisplayName("C4: Más escrituras que las que admite el mapa de recientes = Se compacta sin perder cambios")
+    void testC4_Compactacion_MantieneCambios() {
+        // Act
+        for (long id = 100; id < 100 + IndicePrefijosProductos.MAX_RECIENTES; id++) {
+            crear(id, "TEC-" + id, "Teclado " + id);
+        }
+        indice.alModificarProducto(new ProductoModificadoEvent(150L, TipoModificacion.ELIMINADO));
+        indice.alModificarProducto(new ProductoModificadoEvent(2L, TipoModificacion.ACTUALIZADO,
+                Map.of(CampoActualizableProducto.NOMBRE, "Lámpara de pie")));
+
+        // Assert
+        assertEquals(IndicePrefijosProductos.MAX_RECIENTES - 1, indice.sugerir("teclado", 1000).size());
+        assertTrue(indice.sugerir("tec-150", 10).isEmpty());
+        assertEquals(List.of(new SugerenciaProducto(2L, "LAP-002", "Lámpara de pie")), indice.sugerir("lampara pie", 10));
+        assertEquals(List.of(1L), ids(indice.sugerir("pavilion", 10)));
+    }
+
+    private void crear(Long id, String codigo, String nombre) {
+        indice.alModificarProducto(new ProductoModificadoEvent(id, TipoModificacion.CREADO, Map.of(
+                CampoActualizableProducto.CODIGO_PRODUCTO, codigo,
+                CampoActualizableProducto.NOMBRE, nombre)));
+    }
+
+    private List<Long> ids(List<SugerenciaProducto> sugerencias) {
+        return sugerencias.stream().map(SugerenciaProducto::id).toList();
+    }
+}
@@ -0,0 +1,126 @@
+// src/test/java/com/microservicio/productos/infrastructure/cache/ProductoNearCacheTest.java
+package com.microservicio.productos.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tabla de Decisión: Caché de productos serializados")
+class ProductoNearCacheTest {
+
+    private ProductoNearCache productoNearCache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        productoNearCache = new ProductoNearCache(
+                new ObjectMapper().registerModule(new JavaTimeModule()), 100, Duration.ofMinutes(1));
+        cargas = new AtomicInteger();
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Lecturas en caché
+     *
+     * Condición                    | C1  | C2  | C3  |
+     * -----------------------------|-----|-----|-----|
+     * Id en caché                  | F   | V   | V   |
+     * Producto modificado          | -   | F   | V   |
+     * -----------------------------|-----|-----|-----|
+     * Acción                       |     |     |     |
+     * -----------------------------|-----|-----|-----|
+     * Una sola carga concurrente   | X   |     |     |
+     * Servir bytes cacheados       |     | X   |     |
+     * Invalidar y recargar         |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Fallos concurrentes del mismo id = Una sola carga")
+    void testC1_FallosConcurrentes_UnaSolaCarga() throws Exception {
+        // Arrange
+        CountDownLatch inicio = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ProductoSerializado>> resultados = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            resultados.add(executor.submit(() -> {
+                inicio.await();
+                return productoNearCache.obtener(1L, this::cargarLento);
+            }));
+        }
+        inicio.countDown();
+        for (Future<ProductoSerializado> resultado : resultados) {
+            assertTrue(new String(resultado.get().json(), StandardCharsets.UTF_8).contains("\"id\":1"));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("C2: Id en caché sin cambios = Servir bytes cacheados")
+    void testC2_IdEnCache_SirveBytes() {
+        // Arrange
+        ProductoSerializado primero = productoNearCache.obtener(1L, this::cargar);
+
+        // Act
+        ProductoSerializado segundo = productoNearCache.obtener(1L, this::cargar);
+
+        // Assert
+        assertSame(primero, segundo);
+        assertEquals("\"3\"", segundo.etag());
+        assertEquals(3L, productoNearCache.versionEnCache(1L));
+        assertEquals(1, cargas.get());
+        assertEquals(1, productoNearCache.getEstadisticas().hitCount());
+    }
+
+    @Test
+    @DisplayName("C3: Producto modificado = Invalidar y recargar")
+    void testC3_ProductoModificado_InvalidaYRecarga() {
+        // Arrange
+        productoNearCache.obtener(1L, this::cargar);
+
+        // Act
+        productoNearCache.alModificarProducto(new ProductoModificadoEvent(1L, TipoModificacion.ACTUALIZADO));
+        productoNearCache.obtener(1L, this::cargar);
+
+        // Assert
+        assertEquals(2, cargas.get());
+    }
+
+    private ProductoResponseDTO cargar(Long id) {
+        cargas.incrementAndGet();
+        return new ProductoResponseDTO(id, "Laptop HP", null, new BigDecimal("1500.00"), 10,
+                "Electrónica", "LAP-001", true, null, null, 3L);
+    }
+
+    private ProductoResponseDTO cargarLento(Long id) {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return cargar(id);
+    }
+}
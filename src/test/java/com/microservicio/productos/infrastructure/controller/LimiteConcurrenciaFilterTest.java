@@ -0,0 +1,144 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/LimiteConcurrenciaFilterTest.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tabla de Decisión: Límite de concurrencia por pool de conexiones")
+class LimiteConcurrenciaFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger atendidas = new AtomicInteger();
+    private HikariDataSource dataSource;
+    private LimiteConcurrenciaFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        // Sin URL no abre conexiones: solo aporta el tamaño máximo del pool
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(1);
+        filtro = new LimiteConcurrenciaFilter();
+        ReflectionTestUtils.setField(filtro, "dataSource", dataSource);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filtro, "peticionesPorConexion", 1);
+        ReflectionTestUtils.setField(filtro, "esperaMaxima", Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Admisión de una petición a /api/productos
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Límite habilitado            | F   | V   | V   | V   |
+     * Ruta /api/productos/stream   | F   | F   | F   | V   |
+     * Permiso libre en la espera   | -   | V   | F   | -   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Se atiende                   | X   | X   |     | X   |
+     * 503 con Retry-After          |     |     | X   |     |
+     */
+
+    @Test
+    @DisplayName("C1: Límite deshabilitado = Se atiende aunque no queden permisos")
+    void testC1_Deshabilitado_Atiende() throws Exception {
+        // Arrange
+        habilitar(false);
+
+        // Act
+        MockHttpServletResponse anidada = new MockHttpServletResponse();
+        MockHttpServletResponse respuesta = filtrar(cadenaQueLlama(anidada));
+
+        // Assert
+        assertEquals(200, respuesta.getStatus());
+        assertEquals(200, anidada.getStatus());
+        assertEquals(2, atendidas.get());
+    }
+
+    @Test
+    @DisplayName("C2-C3: Pool de 1 ocupado = La segunda petición recibe 503; al terminar la primera se vuelve a atender")
+    void testC2_C3_PoolOcupado_Rechaza() throws Exception {
+        // Arrange
+        habilitar(true);
+
+        // Act
+        MockHttpServletResponse anidada = new MockHttpServletResponse();
+        MockHttpServletResponse respuesta = filtrar(cadenaQueLlama(anidada));
+        MockHttpServletResponse posterior = filtrar((request, response) -> atendidas.incrementAndGet());
+
+        // Assert
+        assertEquals(200, respuesta.getStatus());
+        assertEquals(503, anidada.getStatus());
+        assertEquals("1", anidada.getHeader("Retry-After"));
+        assertEquals(200, posterior.getStatus());
+        assertEquals(2, atendidas.get());
+        assertEquals(1.0, meterRegistry.get("productos.concurrencia.rechazos").counter().count());
+    }
+
+    @Test
+    @DisplayName("C4: Stream SSE = Se atiende sin ocupar permiso aunque el pool esté ocupado")
+    void testC4_Stream_NoOcupaPermiso() throws Exception {
+        // Arrange
+        habilitar(true);
+
+        // Act: el stream sigue abierto mientras entra otra petición
+        MockHttpServletResponse anidada = new MockHttpServletResponse();
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+        filtro.doFilter(peticion("/api/productos/stream"), stream, (request, response) -> {
+            atendidas.incrementAndGet();
+            filtro.doFilter(peticion(), anidada, (r, s) -> atendidas.incrementAndGet());
+        });
+
+        // Assert
+        assertEquals(200, stream.getStatus());
+        assertEquals(200, anidada.getStatus());
+        assertEquals(2, atendidas.get());
+    }
+
+    private void habilitar(boolean habilitado) {
+        ReflectionTestUtils.setField(filtro, "habilitado", habilitado);
+        filtro.inicializar();
+    }
+
+    // Mientras la petición ocupa su permiso, otra entra en el filtro
+    private FilterChain cadenaQueLlama(MockHttpServletResponse anidada) {
+        return (request, response) -> {
+            atendidas.incrementAndGet();
+            filtro.doFilter(peticion(), anidada, (r, s) -> atendidas.incrementAndGet());
+        };
+    }
+
+    private MockHttpServletResponse filtrar(FilterChain cadena) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(peticion(), response, cadena);
+        return response;
+    }
+
+    private MockHttpServletRequest peticion() {
+        return peticion("/api/productos");
+    }
+
+    private MockHttpServletRequest peticion(String ruta) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ruta);
+        request.setServletPath(ruta);
+        return request;
+    }
+}
@@ -0,0 +1,75 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/ProductoControllerBuscarProductosTest.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaMensaje;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Respuesta de la búsqueda de productos")
+class ProductoControllerBuscarProductosTest {
+
+    @Mock
+    private ProductoUseCase productoUseCase;
+
+    @InjectMocks
+    private ProductoController productoController;
+
+    /**
+     * TABLA DE DECISIÓN: Estado HTTP de GET /api/productos/buscar
+     *
+     * Condición                    | C1  | C2  |
+     * -----------------------------|-----|-----|
+     * Cursor válido                | F   | V   |
+     * La búsqueda termina a tiempo | -   | F   |
+     * -----------------------------|-----|-----|
+     * Acción                       |     |     |
+     * -----------------------------|-----|-----|
+     * 400 sin buscar               | X   |     |
+     * 503                          |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Cursor alterado o de otro endpoint = 400 sin ejecutar la búsqueda")
+    void testC1_CursorInvalido_400() {
+        // Arrange
+        when(productoUseCase.validarCursorBusqueda("ajeno")).thenReturn("Cursor inválido");
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.buscarProductos("laptop", 15, "ajeno");
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+        assertEquals(new RespuestaMensaje("Cursor inválido"), respuesta.getBody());
+        verify(productoUseCase, never()).buscarProductos(anyString(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("C2: La búsqueda excede el tiempo máximo = 503")
+    void testC2_TiempoExcedido_503() {
+        // Arrange
+        when(productoUseCase.buscarProductos("laptop", null, 15))
+                .thenThrow(new QueryTimeoutException("La búsqueda excedió el tiempo máximo"));
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.buscarProductos("laptop", 15, null);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+    }
+}
@@ -0,0 +1,177 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/ProductoControllerListarProductosTest.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.domain.model.CampoOrdenProducto;
+import com.microservicio.productos.domain.model.FiltroProductos;
+import com.microservicio.productos.infrastructure.controller.respuesta.PaginaProductos;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaMensaje;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Parámetros del listado de productos")
+class ProductoControllerListarProductosTest {
+
+    @Mock
+    private ProductoUseCase productoUseCase;
+
+    @InjectMocks
+    private ProductoController productoController;
+
+    /**
+     * TABLA DE DECISIÓN: Validación de sortBy y cursor en GET /api/productos
+     *
+     * Condición                        | C1  | C2  | C3  |
+     * ---------------------------------|-----|-----|-----|
+     * sortBy con índice                | F   | V   | V   |
+     * Cursor válido (modo cursor)      | -   | F   | -   |
+     * ---------------------------------|-----|-----|-----|
+     * Acción                           |     |     |     |
+     * ---------------------------------|-----|-----|-----|
+     * 400 sin consultar la BD          | X   | X   |     |
+     * Página ordenada por campo e id   |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: sortBy sin índice (stock, categoria) = 400 en cualquier modo de paginación")
+    void testC1_CampoNoPermitido_400() {
+        for (String paginacion : List.of("offset", "sin-conteo", "cursor")) {
+            // Act
+            ResponseEntity<Respuesta> respuesta = listar("stock", paginacion, null);
+
+            // Assert
+            assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+            assertEquals(new RespuestaMensaje("Campo de ordenamiento no permitido: stock"), respuesta.getBody());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, listar("categoria", "offset", null).getStatusCode());
+        verifyNoInteractions(productoUseCase);
+    }
+
+    @Test
+    @DisplayName("C2: Cursor alterado = 400 con el mensaje de la validación")
+    void testC2_CursorInvalido_400() {
+        // Arrange
+        when(productoUseCase.validarCursor("alterado", CampoOrdenProducto.PRECIO, false)).thenReturn("Cursor inválido");
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = listar("precio", "cursor", "alterado");
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+        assertEquals(new RespuestaMensaje("Cursor inválido"), respuesta.getBody());
+        verify(productoUseCase, never()).listarProductosPorCursor(any(), any(), anyBoolean(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("C3: sortBy con índice = Página ordenada por el campo y luego por id")
+    void testC3_CampoPermitido_OrdenConDesempate() {
+        // Arrange
+        PageRequest esperado = PageRequest.of(0, 15, Sort.by(Sort.Direction.ASC, "precio").and(Sort.by(Sort.Direction.ASC, "id")));
+        when(productoUseCase.listarProductosPaginados(eq(esperado), any(FiltroProductos.class)))
+                .thenReturn(new PageImpl<>(List.of(), esperado, 0));
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = listar("precio", "offset", null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(0L, ((PaginaProductos) respuesta.getBody()).totalElementos());
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Total informado por paginacion=sin-conteo y paginacion=estimada
+     *
+     * Condición                        | C4  | C5  | C6  |
+     * ---------------------------------|-----|-----|-----|
+     * Modo estimada                    | V   | V   | F   |
+     * Con filtros                      | F   | V   | F   |
+     * ---------------------------------|-----|-----|-----|
+     * Acción                           |     |     |     |
+     * ---------------------------------|-----|-----|-----|
+     * Total estimado y totalPaginas    | X   |     |     |
+     * Sin total (solo hayMas)          |     | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C4: Estimada sin filtros = Total del estimador marcado como estimado")
+    void testC4_EstimadaSinFiltros_TotalEstimado() {
+        // Arrange
+        PageRequest pagina = PageRequest.of(0, 15, Sort.by(Sort.Direction.ASC, "id"));
+        when(productoUseCase.listarProductosSinConteo(pagina, FiltroProductos.SIN_FILTRO))
+                .thenReturn(new SliceImpl<>(List.of(), pagina, true));
+        when(productoUseCase.obtenerTotalEstimado()).thenReturn(100L);
+
+        // Act
+        PaginaProductos respuesta = (PaginaProductos) listar("id", "estimada", null).getBody();
+
+        // Assert
+        assertEquals(100L, respuesta.totalElementos());
+        assertEquals(7, respuesta.totalPaginas());
+        assertEquals(Boolean.TRUE, respuesta.totalEsEstimado());
+        assertEquals(Boolean.TRUE, respuesta.hayMas());
+        verify(productoUseCase, never()).listarProductosPaginados(any(), any());
+    }
+
+    @Test
+    @DisplayName("C5: Estimada con filtros = Sin total; la estimación es de la tabla completa")
+    void testC5_EstimadaConFiltros_SinTotal() {
+        // Arrange
+        FiltroProductos filtro = new FiltroProductos("Libros", null, null, false, null);
+        when(productoUseCase.listarProductosSinConteo(any(), eq(filtro)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 15), false));
+
+        // Act
+        PaginaProductos respuesta = (PaginaProductos) productoController.listarProductos(0, 15, "id", "asc",
+                "estimada", null, "Libros", null, null, false, null, false).getBody();
+
+        // Assert
+        assertNull(respuesta.totalElementos());
+        assertNull(respuesta.totalPaginas());
+        assertNull(respuesta.totalEsEstimado());
+        assertEquals(Boolean.FALSE, respuesta.hayMas());
+        verify(productoUseCase, never()).obtenerTotalEstimado();
+    }
+
+    @Test
+    @DisplayName("C6: Sin conteo = Solo hayMas, sin total ni estimación")
+    void testC6_SinConteo_SoloHayMas() {
+        // Arrange
+        when(productoUseCase.listarProductosSinConteo(any(), eq(FiltroProductos.SIN_FILTRO)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 15), true));
+
+        // Act
+        PaginaProductos respuesta = (PaginaProductos) listar("id", "sin-conteo", null).getBody();
+
+        // Assert
+        assertNull(respuesta.totalElementos());
+        assertEquals(Boolean.TRUE, respuesta.hayMas());
+        verify(productoUseCase, never()).obtenerTotalEstimado();
+        verify(productoUseCase, never()).listarProductosPaginados(any(), any());
+    }
+
+    private ResponseEntity<Respuesta> listar(String sortBy, String paginacion, String cursor) {
+        return productoController.listarProductos(0, 15, sortBy, "asc", paginacion, cursor,
+                null, null, null, false, null, false);
+    }
+}
@@ -0,0 +1,77 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/ProductoControllerObtenerCambiosTest.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.application.dto.CambiosDTO;
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaCambios;
+import com.microservicio.productos.infrastructure.controller.respuesta.RespuestaMensaje;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Respuesta de la sincronización incremental")
+class ProductoControllerObtenerCambiosTest {
+
+    @Mock
+    private ProductoUseCase productoUseCase;
+
+    @InjectMocks
+    private ProductoController productoController;
+
+    /**
+     * TABLA DE DECISIÓN: Estado HTTP de GET /api/productos/cambios
+     *
+     * Condición                    | C1  | C2  |
+     * -----------------------------|-----|-----|
+     * Token válido o ausente       | V   | F   |
+     * -----------------------------|-----|-----|
+     * Acción                       |     |     |
+     * -----------------------------|-----|-----|
+     * 200 con cambios y token      | X   |     |
+     * 400 sin consultar cambios    |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Token emitido por el servicio = 200 con los cambios y el siguiente token")
+    void testC1_TokenValido_200() {
+        // Arrange
+        when(productoUseCase.obtenerCambios("token", 500))
+                .thenReturn(new CambiosDTO(List.of(), List.of(9L), "siguiente", false, false));
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.obtenerCambios("token", 500);
+
+        // Assert
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(new RespuestaCambios(List.of(), List.of(9L), "siguiente", false, false), respuesta.getBody());
+    }
+
+    @Test
+    @DisplayName("C2: Token alterado, truncado o de un formato anterior = 400")
+    void testC2_TokenInvalido_400() {
+        // Arrange
+        when(productoUseCase.validarTokenCambios("truncado")).thenReturn("Token de cambios inválido");
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.obtenerCambios("truncado", 500);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+        assertEquals(new RespuestaMensaje("Token de cambios inválido"), respuesta.getBody());
+        verify(productoUseCase, never()).obtenerCambios(any(), anyInt());
+    }
+}
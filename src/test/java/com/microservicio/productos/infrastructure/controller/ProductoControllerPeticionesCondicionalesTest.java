@@ -0,0 +1,228 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/ProductoControllerPeticionesCondicionalesTest.java
+package com.microservicio.productos.infrastructure.controller;
+
+import com.microservicio.productos.application.dto.ProductoRequestDTO;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.domain.model.Producto;
+import com.microservicio.productos.infrastructure.cache.ProductoNearCache;
+import com.microservicio.productos.infrastructure.cache.ProductoSerializado;
+import com.microservicio.productos.infrastructure.controller.respuesta.Respuesta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Peticiones condicionales con ETag")
+class ProductoControllerPeticionesCondicionalesTest {
+
+    private static final byte[] JSON = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ProductoUseCase productoUseCase;
+
+    @Mock
+    private ProductoNearCache productoNearCache;
+
+    @InjectMocks
+    private ProductoController productoController;
+
+    /**
+     * TABLA DE DECISIÓN: GET /api/productos/{id} con If-None-Match (versión actual 3)
+     *
+     * Condición                        | C1  | C2  | C3  | C4  | C5  |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * If-None-Match recibido           | F   | V   | V   | V   | V   |
+     * Contiene la versión actual       | -   | V   | V   | -   | F   |
+     * ETag débil W/"3"                 | -   | F   | V   | -   | -   |
+     * Es *                             | -   | F   | F   | V   | F   |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * Acción                           |     |     |     |     |     |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * 200 con el JSON y ETag "3"       | X   |     |     |     | X   |
+     * 304 con ETag "3" sin el JSON     |     | X   | X   | X   |     |
+     */
+
+    @Test
+    @DisplayName("C1: Sin If-None-Match = 200 con el JSON en caché y su ETag")
+    void testC1_SinCabecera_200() {
+        // Arrange
+        when(productoNearCache.obtener(eq(1L), any())).thenReturn(new ProductoSerializado(JSON, 3L));
+
+        // Act
+        ResponseEntity<byte[]> respuesta = productoController.obtenerProducto(1L, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals("\"3\"", respuesta.getHeaders().getETag());
+        assertArrayEquals(JSON, respuesta.getBody());
+        verify(productoNearCache, never()).versionEnCache(anyLong());
+    }
+
+    @Test
+    @DisplayName("C2: If-None-Match con la versión actual entre otras = 304 sin cargar el producto")
+    void testC2_VersionActual_304() {
+        // Arrange
+        when(productoNearCache.versionEnCache(1L)).thenReturn(3L);
+
+        // Act
+        ResponseEntity<byte[]> respuesta = productoController.obtenerProducto(1L, "\"1\", \"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        assertEquals("\"3\"", respuesta.getHeaders().getETag());
+        assertNull(respuesta.getBody());
+        verify(productoNearCache, never()).obtener(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("C3: If-None-Match débil W/\"3\" = 304 (comparación débil); la versión sale de la BD si no está en caché")
+    void testC3_EtagDebil_304() {
+        // Arrange
+        when(productoNearCache.versionEnCache(1L)).thenReturn(null);
+        when(productoUseCase.obtenerVersion(1L)).thenReturn(Optional.of(3L));
+
+        // Act
+        ResponseEntity<byte[]> respuesta = productoController.obtenerProducto(1L, "W/\"3\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        verify(productoNearCache, never()).obtener(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("C4: If-None-Match * con el producto existente = 304")
+    void testC4_Asterisco_304() {
+        // Arrange
+        when(productoNearCache.versionEnCache(1L)).thenReturn(3L);
+
+        // Act
+        ResponseEntity<byte[]> respuesta = productoController.obtenerProducto(1L, " * ");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        assertEquals("\"3\"", respuesta.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("C5: If-None-Match con otra versión o ilegible = 200 con el producto")
+    void testC5_OtraVersionOIlegible_200() {
+        // Arrange
+        when(productoNearCache.versionEnCache(1L)).thenReturn(3L);
+        when(productoNearCache.obtener(eq(1L), any())).thenReturn(new ProductoSerializado(JSON, 3L));
+
+        // Act & Assert
+        for (String ifNoneMatch : new String[]{"\"2\"", "\"abc\"", "3", "\"\"", "W/"}) {
+            ResponseEntity<byte[]> respuesta = productoController.obtenerProducto(1L, ifNoneMatch);
+            assertEquals(HttpStatus.OK, respuesta.getStatusCode(), ifNoneMatch);
+            assertArrayEquals(JSON, respuesta.getBody());
+        }
+    }
+
+    /**
+     * TABLA DE DECISIÓN: PUT /api/productos/{id} con If-Match (versión actual 3)
+     *
+     * Condición                        | C6  | C7  | C8  | C9  | C10 |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * If-Match recibido                | V   | V   | V   | V   | F   |
+     * Es *                             | F   | V   | F   | F   | -   |
+     * Solo ETags débiles               | F   | -   | V   | -   | -   |
+     * ETags legibles                   | V   | -   | V   | F   | -   |
+     * Contiene la versión actual       | F   | -   | -   | -   | -   |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * Acción                           |     |     |     |     |     |
+     * ---------------------------------|-----|-----|-----|-----|-----|
+     * Exige una de las versiones       | X   |     | X   | X   |     |
+     * Sin condición de versión         |     | X   |     |     | X   |
+     * 412 si ninguna coincide          | X   |     | X   | X   |     |
+     */
+
+    @Test
+    @DisplayName("C6: If-Match con versiones anteriores = Se exigen esas versiones y responde 412")
+    void testC6_VersionObsoleta_412() {
+        // Arrange
+        when(productoUseCase.actualizarProducto(eq(1L), any(), eq(Set.of(1L, 2L))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Producto.class, 1L));
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.actualizarProducto(1L, "\"1\", \"2\"", request());
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, respuesta.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("C7/C10: If-Match * o sin cabecera = Sin condición de versión; 200 con el ETag nuevo")
+    void testC7_C10_SinCondicion_200() {
+        // Arrange
+        when(productoUseCase.actualizarProducto(eq(1L), any(), isNull())).thenReturn(actualizado(4L));
+
+        // Act
+        ResponseEntity<Respuesta> conAsterisco = productoController.actualizarProducto(1L, "*", request());
+        ResponseEntity<Respuesta> sinCabecera = productoController.actualizarProducto(1L, null, request());
+
+        // Assert
+        assertEquals(HttpStatus.OK, conAsterisco.getStatusCode());
+        assertEquals("\"4\"", conAsterisco.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, sinCabecera.getStatusCode());
+        verify(productoUseCase, times(2)).actualizarProducto(eq(1L), any(), isNull());
+    }
+
+    @Test
+    @DisplayName("C8: If-Match solo con ETags débiles = Ninguno cuenta (comparación fuerte) y responde 412")
+    void testC8_SoloDebiles_412() {
+        // Arrange
+        when(productoUseCase.actualizarProducto(eq(1L), any(), eq(Set.of())))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Producto.class, 1L));
+
+        // Act
+        ResponseEntity<Respuesta> respuesta = productoController.actualizarProducto(1L, "W/\"3\"", request());
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, respuesta.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("C9: If-Match ilegible = No coincide con ninguna versión y responde 412; los legibles de la lista sí cuentan")
+    void testC9_Ilegible_412() {
+        // Arrange
+        when(productoUseCase.actualizarProducto(eq(1L), any(), eq(Set.of())))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Producto.class, 1L));
+        when(productoUseCase.actualizarProducto(eq(1L), any(), eq(Set.of(3L)))).thenReturn(actualizado(4L));
+
+        // Act
+        ResponseEntity<Respuesta> ilegible = productoController.actualizarProducto(1L, "version-3", request());
+        ResponseEntity<Respuesta> mezclado = productoController.actualizarProducto(1L, "\"x\", W/\"2\", \"3\"", request());
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ilegible.getStatusCode());
+        assertEquals(HttpStatus.OK, mezclado.getStatusCode());
+    }
+
+    private ProductoRequestDTO request() {
+        return new ProductoRequestDTO("Laptop", null, new BigDecimal("10.00"), 1, null, "LAP-001", true);
+    }
+
+    private ProductoResponseDTO actualizado(Long version) {
+        return new ProductoResponseDTO(1L, "Laptop", null, new BigDecimal("10.00"), 1, null, "LAP-001", true,
+                null, null, version);
+    }
+}
@@ -0,0 +1,264 @@
+// src/test/java/com/microservicio/productos/infrastructure/controller/respuesta/RespuestaHttpMessageConverterTest.java
+package com.microservicio.productos.infrastructure.controller.respuesta;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.domain.model.FacetaCategoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Los sobres tipados deben producir el mismo JSON que los Map&lt;String, Object&gt; que los
+ * controladores devolvían antes (mismas claves, mismos valores, mismas omisiones), y el
+ * conversor propio debe elegirse antes que el de Jackson.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tabla de Decisión: Formato JSON de los sobres de respuesta")
+class RespuestaHttpMessageConverterTest {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private RespuestaHttpMessageConverter conversor;
+    private MappingJackson2HttpMessageConverter jackson;
+
+    @BeforeEach
+    void setUp() {
+        for (HttpMessageConverter<?> candidato : handlerAdapter.getMessageConverters()) {
+            if (conversor == null && candidato instanceof RespuestaHttpMessageConverter propio) {
+                conversor = propio;
+            }
+            // El de Spring Data (proyecciones) también es de Jackson, pero solo lee
+            if (jackson == null && candidato instanceof MappingJackson2HttpMessageConverter deJackson
+                    && deJackson.canWrite(HashMap.class, MediaType.APPLICATION_JSON)) {
+                jackson = deJackson;
+            }
+        }
+        assertNotNull(conversor, "RespuestaHttpMessageConverter no está registrado en Spring MVC");
+        assertNotNull(jackson);
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Claves de PaginaProductos según el modo de paginación
+     *
+     * Condición                        | C1  | C2  | C3  | C4  |
+     * ---------------------------------|-----|-----|-----|-----|
+     * Conteo exacto                    | V   | F   | F   | V   |
+     * Total estimado                   | -   | F   | V   | -   |
+     * Facetas pedidas                  | F   | F   | F   | V   |
+     * ---------------------------------|-----|-----|-----|-----|
+     * Acción                           |     |     |     |     |
+     * ---------------------------------|-----|-----|-----|-----|
+     * totalElementos y totalPaginas    | X   |     | X   | X   |
+     * totalEsEstimado                  |     |     | X   |     |
+     * hayMas                           |     | X   | X   |     |
+     * facetas                          |     |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Conteo exacto = Sin hayMas ni totalEsEstimado")
+    void testC1_Offset_SinHayMas() throws Exception {
+        // Arrange
+        Map<String, Object> anterior = new HashMap<>();
+        anterior.put("productos", List.of(producto()));
+        anterior.put("paginaActual", 0);
+        anterior.put("totalElementos", 1L);
+        anterior.put("totalPaginas", 1);
+        anterior.put("tamanoPagina", 20);
+        anterior.put("esUltimaPagina", true);
+        anterior.put("esPrimeraPagina", true);
+
+        // Act
+        JsonNode json = escribir(new PaginaProductos(List.of(producto()), 0, 20, 1L, 1, null, null, true, true, null));
+
+        // Assert
+        assertEquals(Set.of("productos", "paginaActual", "totalElementos", "totalPaginas", "tamanoPagina",
+                "esUltimaPagina", "esPrimeraPagina"), claves(json));
+        assertEquals(escribirConJackson(anterior), json);
+    }
+
+    @Test
+    @DisplayName("C2: Sin conteo = hayMas y sin totales")
+    void testC2_SinConteo_SoloHayMas() throws Exception {
+        // Arrange
+        Map<String, Object> anterior = new HashMap<>();
+        anterior.put("productos", List.of(producto()));
+        anterior.put("paginaActual", 2);
+        anterior.put("tamanoPagina", 20);
+        anterior.put("hayMas", true);
+        anterior.put("esUltimaPagina", false);
+        anterior.put("esPrimeraPagina", false);
+
+        // Act
+        JsonNode json = escribir(new PaginaProductos(List.of(producto()), 2, 20, null, null, null, true, false, false, null));
+
+        // Assert
+        assertEquals(Set.of("productos", "paginaActual", "tamanoPagina", "hayMas", "esUltimaPagina",
+                "esPrimeraPagina"), claves(json));
+        assertEquals(escribirConJackson(anterior), json);
+    }
+
+    @Test
+    @DisplayName("C3: Total estimado = Totales con totalEsEstimado y hayMas")
+    void testC3_Estimado_TotalesYHayMas() throws Exception {
+        // Arrange
+        Map<String, Object> anterior = new HashMap<>();
+        anterior.put("productos", List.of());
+        anterior.put("paginaActual", 0);
+        anterior.put("tamanoPagina", 20);
+        anterior.put("hayMas", true);
+        anterior.put("esUltimaPagina", false);
+        anterior.put("esPrimeraPagina", true);
+        anterior.put("totalElementos", 120_000L);
+        anterior.put("totalPaginas", 6_000);
+        anterior.put("totalEsEstimado", true);
+
+        // Act
+        JsonNode json = escribir(new PaginaProductos(List.of(), 0, 20, 120_000L, 6_000, Boolean.TRUE, true, false, true, null));
+
+        // Assert
+        assertEquals(escribirConJackson(anterior), json);
+    }
+
+    @Test
+    @DisplayName("C4: Facetas pedidas = Se agrega facetas; en la página por cursor también")
+    void testC4_Facetas() throws Exception {
+        // Arrange
+        List<FacetaCategoria> facetas = List.of(new FacetaCategoria("Libros", 3), new FacetaCategoria(null, 1));
+        Map<String, Object> anterior = new HashMap<>();
+        anterior.put("productos", List.of());
+        anterior.put("paginaActual", 0);
+        anterior.put("totalElementos", 0L);
+        anterior.put("totalPaginas", 0);
+        anterior.put("tamanoPagina", 20);
+        anterior.put("esUltimaPagina", true);
+        anterior.put("esPrimeraPagina", true);
+        anterior.put("facetas", facetas);
+        Map<String, Object> anteriorCursor = new HashMap<>();
+        anteriorCursor.put("productos", List.of());
+        anteriorCursor.put("siguienteCursor", null);
+        anteriorCursor.put("hayMas", false);
+        anteriorCursor.put("tamanoPagina", 20);
+
+        // Act
+        JsonNode json = escribir(new PaginaProductos(List.of(), 0, 20, 0L, 0, null, null, true, true, facetas));
+        JsonNode cursor = escribir(new PaginaCursorProductos(List.of(), null, false, 20, null));
+        JsonNode cursorConFacetas = escribir(new PaginaCursorProductos(List.of(), null, false, 20, facetas));
+
+        // Assert: siguienteCursor null se escribe, como en el HashMap
+        assertEquals(escribirConJackson(anterior), json);
+        assertEquals(escribirConJackson(anteriorCursor), cursor);
+        anteriorCursor.put("facetas", facetas);
+        assertEquals(escribirConJackson(anteriorCursor), cursorConFacetas);
+    }
+
+    @Test
+    @DisplayName("Sobres de escritura, estadísticas y caché = Mismas claves y valores que el HashMap anterior")
+    void testSobres_IgualesAlHashMapAnterior() throws Exception {
+        Map<String, Object> producto = new HashMap<>();
+        producto.put("mensaje", "Producto actualizado exitosamente");
+        producto.put("producto", producto());
+        assertEquals(escribirConJackson(producto),
+                escribir(new RespuestaProducto("Producto actualizado exitosamente", producto())));
+
+        Map<String, Object> campos = new HashMap<>();
+        campos.put("mensaje", "Producto actualizado exitosamente");
+        campos.put("camposActualizados", List.of("precio", "stock"));
+        assertEquals(escribirConJackson(campos),
+                escribir(new RespuestaCamposActualizados("Producto actualizado exitosamente", List.of("precio", "stock"))));
+
+        Map<String, Object> lote = new HashMap<>();
+        lote.put("mensaje", "Lote procesado");
+        lote.put("total", 0);
+        lote.put("exitosas", 0L);
+        lote.put("fallidas", 0L);
+        lote.put("resultados", List.of());
+        assertEquals(escribirConJackson(lote), escribir(new RespuestaLote("Lote procesado", 0, 0, 0, List.of())));
+
+        Map<String, Object> stock = new HashMap<>();
+        stock.put("mensaje", "Stock insuficiente");
+        stock.put("productosRechazados", List.of(7L));
+        assertEquals(escribirConJackson(stock), escribir(new RespuestaStockRechazado("Stock insuficiente", List.of(7L))));
+
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.put("categorias", List.of());
+        estadisticas.put("totalCategorias", 0);
+        assertEquals(escribirConJackson(estadisticas), escribir(new RespuestaEstadisticas(List.of(), 0)));
+
+        Map<String, Object> cache = new HashMap<>();
+        cache.put("entradas", 10L);
+        cache.put("aciertos", 8L);
+        cache.put("fallos", 2L);
+        cache.put("tasaAciertos", 0.8);
+        cache.put("desalojos", 0L);
+        cache.put("cargas", 2L);
+        cache.put("tiempoPromedioCargaMs", 1.5);
+        assertEquals(escribirConJackson(cache), escribir(new EstadisticasCache(10, 8, 2, 0.8, 0, 2, 1.5)));
+    }
+
+    @Test
+    @DisplayName("Orden de conversores = Los sobres los escribe RespuestaHttpMessageConverter y no Jackson")
+    void testConversorPropio_AntesQueJackson() {
+        List<HttpMessageConverter<?>> conversores = handlerAdapter.getMessageConverters();
+
+        HttpMessageConverter<?> elegido = conversores.stream()
+                .filter(candidato -> candidato.canWrite(PaginaProductos.class, MediaType.APPLICATION_JSON))
+                .findFirst()
+                .orElseThrow();
+
+        assertSame(conversor, elegido);
+        assertTrue(conversores.indexOf(conversor) < conversores.indexOf(jackson));
+        assertTrue(conversor.canWrite(PaginaProductos.class, MediaType.parseMediaType("application/problem+json")));
+        assertFalse(conversor.canWrite(ProductoResponseDTO.class, MediaType.APPLICATION_JSON));
+    }
+
+    private JsonNode escribir(Respuesta respuesta) throws Exception {
+        MockHttpOutputMessage salida = new MockHttpOutputMessage();
+        conversor.write(respuesta, MediaType.APPLICATION_JSON, salida);
+        assertEquals(MediaType.APPLICATION_JSON, salida.getHeaders().getContentType());
+        return objectMapper.readTree(salida.getBodyAsBytes());
+    }
+
+    private JsonNode escribirConJackson(Map<String, Object> anterior) throws Exception {
+        MockHttpOutputMessage salida = new MockHttpOutputMessage();
+        jackson.write(anterior, MediaType.APPLICATION_JSON, salida);
+        return objectMapper.readTree(salida.getBodyAsBytes());
+    }
+
+    private Set<String> claves(JsonNode json) {
+        Set<String> claves = new TreeSet<>();
+        Iterator<String> nombres = json.fieldNames();
+        nombres.forEachRemaining(claves::add);
+        return claves;
+    }
+
+    private ProductoResponseDTO producto() {
+        return new ProductoResponseDTO(1L, "Laptop", null, new BigDecimal("1500.00"), 3, "Electrónica",
+                "LAP-001", true, LocalDateTime.of(2024, 5, 10, 12, 0), null, 0L);
+    }
+}
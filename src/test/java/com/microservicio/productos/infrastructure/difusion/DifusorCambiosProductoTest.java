@@ -0,0 +1,214 @@
+// src/test/java/com/microservicio/productos/infrastructure/difusion/DifusorCambiosProductoTest.java
+package com.microservicio.productos.infrastructure.difusion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservicio.productos.application.dto.ProductoResponseDTO;
+import com.microservicio.productos.application.usecase.ProductoUseCase;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Stream de cambios de productos")
+class DifusorCambiosProductoTest {
+
+    private static final Pattern ID_EVENTO = Pattern.compile("id:(\\S+)");
+
+    @Mock
+    private ProductoUseCase productoUseCase;
+
+    @InjectMocks
+    private DifusorCambiosProducto difusor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(difusor, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(difusor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(difusor, "capacidadBuffer", 256);
+        ReflectionTestUtils.setField(difusor, "capacidadHistorial", 100);
+        ReflectionTestUtils.setField(difusor, "maxSuscripciones", 10);
+        difusor.iniciar();
+        lenient().when(productoUseCase.obtenerVarios(anyList())).thenAnswer(invocacion -> {
+            List<Long> ids = invocacion.getArgument(0);
+            return ids.stream().map(this::producto).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        difusor.detener();
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Entrega de eventos a una suscripción
+     *
+     * Condición                        | C1  | C2  | C3  | C4  |
+     * ---------------------------------|-----|-----|-----|-----|
+     * Last-Event-ID recibido           | F   | V   | V   | F   |
+     * Last-Event-ID en el historial    | -   | V   | F   | -   |
+     * Cola de la suscripción llena     | F   | F   | F   | V   |
+     * ---------------------------------|-----|-----|-----|-----|
+     * Acción                           |     |     |     |     |
+     * ---------------------------------|-----|-----|-----|-----|
+     * Solo eventos que pasan el filtro | X   | X   |     |     |
+     * Reenvía lo posterior al id       |     | X   |     |     |
+     * resincronizar                    |     |     | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Filtros por categoría e ids = Cada suscripción recibe solo sus productos; los eliminados llegan a las de categoría")
+    void testC1_Filtros_SoloSusProductos() throws Exception {
+        // Arrange
+        EmitterDePrueba libros = suscribir(null, "Libros", null);
+        EmitterDePrueba soloDoscientos = suscribir(Set.of(200L), null, null);
+
+        // Act
+        difusor.alModificarProducto(new ProductoModificadoEvent(1L, TipoModificacion.ACTUALIZADO));
+        difusor.alModificarProducto(new ProductoModificadoEvent(150L, TipoModificacion.CREADO));
+        difusor.alModificarProducto(new ProductoModificadoEvent(200L, TipoModificacion.ELIMINADO));
+
+        // Assert
+        String primero = libros.siguiente();
+        assertTrue(primero.contains("event:actualizado"));
+        assertTrue(primero.contains("\"id\":1,"));
+        assertTrue(libros.siguiente().contains("event:eliminado"));
+        assertTrue(soloDoscientos.siguiente().contains("data:{\"id\":200}"));
+        assertNull(libros.enviados.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(soloDoscientos.enviados.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("C2: Last-Event-ID en el historial = Se reenvían los eventos posteriores")
+    void testC2_Reanudar_ReenviaPosteriores() throws Exception {
+        // Arrange
+        EmitterDePrueba primera = suscribir(null, null, null);
+        for (long id = 1; id <= 3; id++) {
+            difusor.alModificarProducto(new ProductoModificadoEvent(id, TipoModificacion.ACTUALIZADO));
+        }
+        String ultimoRecibido = idDe(primera.siguiente());
+        primera.siguiente();
+        primera.siguiente();
+
+        // Act
+        EmitterDePrueba reconectada = suscribir(null, null, ultimoRecibido);
+
+        // Assert
+        assertTrue(reconectada.siguiente().contains("\"id\":2,"));
+        assertTrue(reconectada.siguiente().contains("\"id\":3,"));
+        assertNull(reconectada.enviados.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("C3: Last-Event-ID de otra instancia o ya descartado = resincronizar")
+    void testC3_IdDesconocido_Resincronizar() throws Exception {
+        // Act
+        EmitterDePrueba reconectada = suscribir(null, null, "otra-5");
+
+        // Assert
+        assertTrue(reconectada.siguiente().contains("event:resincronizar"));
+    }
+
+    @Test
+    @DisplayName("C4: Cliente lento con la cola llena = Se descarta su cola y recibe resincronizar antes de lo siguiente")
+    void testC4_ClienteLento_Resincronizar() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(difusor, "capacidadBuffer", 2);
+        EmitterDePrueba lento = suscribir(null, null, null);
+        lento.bloqueo = new CountDownLatch(1);
+
+        // Act
+        for (long id = 1; id <= 6; id++) {
+            difusor.alModificarProducto(new ProductoModificadoEvent(id, TipoModificacion.ACTUALIZADO));
+        }
+        esperarDescarte();
+        lento.bloqueo.countDown();
+
+        // Assert: lo descartado se reemplaza por resincronizar y el último cambio no se pierde
+        List<String> recibidos = new ArrayList<>();
+        String evento;
+        while ((evento = lento.enviados.poll(500, TimeUnit.MILLISECONDS)) != null) {
+            recibidos.add(evento);
+        }
+        assertTrue(recibidos.size() < 6, recibidos.toString());
+        assertTrue(recibidos.stream().anyMatch(recibido -> recibido.contains("event:resincronizar")));
+        String ultimo = recibidos.get(recibidos.size() - 1);
+        assertTrue(ultimo.contains("\"id\":6,") || ultimo.contains("event:resincronizar"), ultimo);
+    }
+
+    private EmitterDePrueba suscribir(Set<Long> ids, String categoria, String ultimoEventoId) {
+        EmitterDePrueba emitter = new EmitterDePrueba();
+        assertTrue(difusor.suscribir(emitter, ids, categoria, ultimoEventoId));
+        return emitter;
+    }
+
+    private void esperarDescarte() throws InterruptedException {
+        for (int intento = 0; intento < 100 && meterRegistry.get("productos.stream.descartes").counter().count() == 0; intento++) {
+            Thread.sleep(50);
+        }
+        assertTrue(meterRegistry.get("productos.stream.descartes").counter().count() > 0);
+    }
+
+    private String idDe(String evento) {
+        Matcher matcher = ID_EVENTO.matcher(evento);
+        assertTrue(matcher.find(), evento);
+        return matcher.group(1);
+    }
+
+    private ProductoResponseDTO producto(Long id) {
+        return new ProductoResponseDTO(id, "Producto " + id, null, new BigDecimal("10.00"), 1,
+                id < 100 ? "Libros" : "Audio", "COD-" + id, true, null, null, 0L);
+    }
+
+    // Guarda el texto SSE de cada envío; con bloqueo simula un cliente que no lee
+    private static class EmitterDePrueba extends SseEmitter {
+
+        private final BlockingQueue<String> enviados = new LinkedBlockingQueue<>();
+        private volatile CountDownLatch bloqueo;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (bloqueo != null) {
+                try {
+                    bloqueo.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            enviados.add(builder.build().stream().map(dato -> String.valueOf(dato.getData())).collect(Collectors.joining()));
+        }
+
+        String siguiente() throws InterruptedException {
+            String evento = enviados.poll(5, TimeUnit.SECONDS);
+            assertNotNull(evento, "No llegó el evento esperado");
+            return evento;
+        }
+    }
+}
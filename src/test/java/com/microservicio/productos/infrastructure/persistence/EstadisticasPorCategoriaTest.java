@@ -0,0 +1,137 @@
+// src/test/java/com/microservicio/productos/infrastructure/persistence/EstadisticasPorCategoriaTest.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.domain.event.ProductoModificadoEvent;
+import com.microservicio.productos.domain.event.ProductoModificadoEvent.TipoModificacion;
+import com.microservicio.productos.domain.event.StockAjustadoEvent;
+import com.microservicio.productos.domain.model.CampoActualizableProducto;
+import com.microservicio.productos.domain.model.EstadisticaCategoria;
+import com.microservicio.productos.infrastructure.persistence.EstadisticasPorCategoria.Aporte;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tabla de Decisión: Estadísticas incrementales por categoría")
+class EstadisticasPorCategoriaTest {
+
+    private EstadisticasPorCategoria estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = new EstadisticasPorCategoria();
+        Map<Long, Aporte> iniciales = new HashMap<>();
+        iniciales.put(1L, new Aporte("Hogar", new BigDecimal("10.00"), 5));
+        iniciales.put(2L, new Aporte("Hogar", new BigDecimal("30.00"), 1));
+        iniciales.put(3L, new Aporte("Libros", new BigDecimal("20.00"), 2));
+        estadisticas.reemplazar(iniciales);
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Aplicación de una escritura confirmada
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Tipo de escritura            | C/U | PAT | DEL | STK |
+     * Cambia la categoría          | V   | F   | -   | F   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Mover aporte entre categorías| X   |     |     |     |
+     * Ajustar la misma categoría   |     | X   |     | X   |
+     * Quitar aporte del producto   |     |     | X   |     |
+     */
+
+    @Test
+    @DisplayName("C1: Actualización completa con otra categoría = Resta en la anterior, suma en la nueva")
+    void testC1_CambioDeCategoria_MueveAporte() {
+        // Act
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(3L, TipoModificacion.ACTUALIZADO, Map.of(
+                CampoActualizableProducto.CATEGORIA, "Hogar",
+                CampoActualizableProducto.PRECIO, new BigDecimal("20"),
+                CampoActualizableProducto.STOCK, 4)));
+
+        // Assert
+        List<EstadisticaCategoria> resultado = estadisticas.obtener();
+        assertEquals(1, resultado.size());
+        assertEquals(new EstadisticaCategoria("Hogar", 3, 10, new BigDecimal("160.00"),
+                new BigDecimal("10.00"), new BigDecimal("30.00"), new BigDecimal("20.00")), resultado.get(0));
+    }
+
+    @Test
+    @DisplayName("C2-C4: PATCH de precio, eliminación del máximo y reserva de stock = Agregados exactos")
+    void testC2_C4_CambiosParciales_AgregadosExactos() {
+        // Act
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(1L, TipoModificacion.ACTUALIZADO,
+                Map.of(CampoActualizableProducto.PRECIO, new BigDecimal("12.50"))));
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(2L, TipoModificacion.ELIMINADO));
+        estadisticas.alAjustarStock(new StockAjustadoEvent(Map.of(1L, -3)));
+
+        // Assert
+        EstadisticaCategoria hogar = estadisticas.obtener().get(0);
+        assertEquals(new EstadisticaCategoria("Hogar", 1, 2, new BigDecimal("25.00"),
+                new BigDecimal("12.50"), new BigDecimal("12.50"), new BigDecimal("12.50")), hogar);
+    }
+
+    @Test
+    @DisplayName("Reconciliación con los mismos datos = Mismo resultado que el incremental")
+    void testReconciliacion_CoincideConIncremental() {
+        // Arrange
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(4L, TipoModificacion.CREADO, Map.of(
+                CampoActualizableProducto.CATEGORIA, "Libros",
+                CampoActualizableProducto.PRECIO, new BigDecimal("5"),
+                CampoActualizableProducto.STOCK, 10)));
+        List<EstadisticaCategoria> incremental = estadisticas.obtener();
+
+        // Act
+        Map<Long, Aporte> base = new HashMap<>();
+        base.put(1L, new Aporte("Hogar", new BigDecimal("10.00"), 5));
+        base.put(2L, new Aporte("Hogar", new BigDecimal("30.00"), 1));
+        base.put(3L, new Aporte("Libros", new BigDecimal("20.00"), 2));
+        base.put(4L, new Aporte("Libros", new BigDecimal("5.00"), 10));
+        estadisticas.reemplazar(base);
+
+        // Assert
+        assertEquals(incremental, estadisticas.obtener());
+    }
+
+    @Test
+    @DisplayName("Productos sin categoría = Se agrupan en la entrada null, primero, en el incremental y en la reconciliación")
+    void testSinCategoria_EntradaNull() {
+        // Act
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(4L, TipoModificacion.CREADO, Map.of(
+                CampoActualizableProducto.PRECIO, new BigDecimal("8"),
+                CampoActualizableProducto.STOCK, 3,
+                CampoActualizableProducto.CATEGORIA, "Hogar")));
+        estadisticas.alModificarProducto(new ProductoModificadoEvent(4L, TipoModificacion.ACTUALIZADO,
+                mapaConCategoriaNull()));
+        estadisticas.alAjustarStock(new StockAjustadoEvent(Map.of(4L, -1)));
+        List<EstadisticaCategoria> incremental = estadisticas.obtener();
+
+        Map<Long, Aporte> base = new HashMap<>();
+        base.put(1L, new Aporte("Hogar", new BigDecimal("10.00"), 5));
+        base.put(2L, new Aporte("Hogar", new BigDecimal("30.00"), 1));
+        base.put(3L, new Aporte("Libros", new BigDecimal("20.00"), 2));
+        base.put(4L, new Aporte(null, new BigDecimal("8.00"), 2));
+        estadisticas.reemplazar(base);
+
+        // Assert
+        assertEquals(new EstadisticaCategoria(null, 1, 2, new BigDecimal("16.00"),
+                new BigDecimal("8.00"), new BigDecimal("8.00"), new BigDecimal("8.00")), incremental.get(0));
+        assertEquals(3, incremental.size());
+        assertEquals(incremental, estadisticas.obtener());
+    }
+
+    // Map.of no admite valores null
+    private Map<CampoActualizableProducto, Object> mapaConCategoriaNull() {
+        Map<CampoActualizableProducto, Object> valores = new HashMap<>();
+        valores.put(CampoActualizableProducto.CATEGORIA, null);
+        return valores;
+    }
+}
@@ -0,0 +1,83 @@
+// src/test/java/com/microservicio/productos/infrastructure/persistence/EstimadorTotalProductosTest.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Refresco del total estimado de productos")
+class EstimadorTotalProductosTest {
+
+    @Mock
+    private ProductoRepositoryImpl productoRepository;
+
+    @InjectMocks
+    private EstimadorTotalProductos estimador;
+
+    /**
+     * TABLA DE DECISIÓN: Valor de getTotalEstimado tras refrescar()
+     *
+     * Condición                        | C1  | C2  | C3  |
+     * ---------------------------------|-----|-----|-----|
+     * Consulta a pg_class responde     | V   | V   | F   |
+     * Tabla analizada (reltuples >= 0) | V   | F   | -   |
+     * ---------------------------------|-----|-----|-----|
+     * Acción                           |     |     |     |
+     * ---------------------------------|-----|-----|-----|
+     * Usar reltuples sin count(*)      | X   |     |     |
+     * Usar el conteo exacto            |     | X   |     |
+     * Conservar el valor anterior      |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Tabla analizada = Se usa reltuples sin ejecutar count(*)")
+    void testC1_Analizada_UsaReltuples() {
+        // Arrange
+        when(productoRepository.estimarTotal()).thenReturn(120_000L);
+
+        // Act
+        estimador.refrescar();
+
+        // Assert
+        assertEquals(120_000L, estimador.getTotalEstimado());
+        verify(productoRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("C2: reltuples = -1 (tabla sin analizar) = Se usa el conteo exacto")
+    void testC2_SinAnalizar_UsaCount() {
+        // Arrange
+        when(productoRepository.estimarTotal()).thenReturn(-1L);
+        when(productoRepository.count()).thenReturn(42L);
+
+        // Act
+        estimador.refrescar();
+
+        // Assert
+        assertEquals(42L, estimador.getTotalEstimado());
+    }
+
+    @Test
+    @DisplayName("C3: Falla la consulta = Se conserva el último total y no se propaga la excepción")
+    void testC3_FallaConsulta_ConservaAnterior() {
+        // Arrange
+        when(productoRepository.estimarTotal())
+                .thenReturn(500L)
+                .thenThrow(new DataAccessResourceFailureException("Conexión rechazada"));
+        estimador.refrescar();
+
+        // Act
+        assertDoesNotThrow(() -> estimador.refrescar());
+
+        // Assert
+        assertEquals(500L, estimador.getTotalEstimado());
+    }
+}
@@ -0,0 +1,106 @@
+// src/test/java/com/microservicio/productos/infrastructure/persistence/VerificadorBaseDatosTest.java
+package com.microservicio.productos.infrastructure.persistence;
+
+import com.microservicio.productos.infrastructure.persistence.VerificadorBaseDatos.EstadoBaseDatos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tabla de Decisión: Readiness de la base de datos")
+class VerificadorBaseDatosTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexion;
+
+    @InjectMocks
+    private VerificadorBaseDatos verificador;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(verificador, "intervalo", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(verificador, "timeout", Duration.ofSeconds(2));
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Estado de readiness
+     *
+     * Condición                    | C1  | C2  | C3  |
+     * -----------------------------|-----|-----|-----|
+     * Conexión obtenida y válida   | V   | F   | V   |
+     * Verificación reciente        | V   | V   | F   |
+     * -----------------------------|-----|-----|-----|
+     * Acción                       |     |     |     |
+     * -----------------------------|-----|-----|-----|
+     * Listo (200)                  | X   |     |     |
+     * No listo (503)               |     | X   | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Base disponible = Listo, y la sonda no vuelve a pedir conexiones")
+    void testC1_BaseDisponible_Listo() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexion);
+        when(conexion.isValid(anyInt())).thenReturn(true);
+
+        // Act
+        verificador.verificar();
+        EstadoBaseDatos estado = verificador.getEstado();
+        verificador.getEstado();
+
+        // Assert
+        assertTrue(estado.listo());
+        assertTrue(estado.baseDatosDisponible());
+        verify(dataSource, times(1)).getConnection();
+        verify(conexion).close();
+    }
+
+    @Test
+    @DisplayName("C2: Base caída = No listo con el motivo")
+    void testC2_BaseCaida_NoListo() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // Act
+        verificador.verificar();
+        EstadoBaseDatos estado = verificador.getEstado();
+
+        // Assert
+        assertFalse(estado.listo());
+        assertFalse(estado.baseDatosDisponible());
+        assertEquals("Connection refused", estado.detalle());
+    }
+
+    @Test
+    @DisplayName("C3: Última verificación atrasada = No listo aunque haya ido bien")
+    void testC3_VerificacionAtrasada_NoListo() {
+        // Arrange
+        ReflectionTestUtils.setField(verificador, "estado",
+                new EstadoBaseDatos(true, true, 1, 10, 0, Instant.now().minusSeconds(60), "OK"));
+
+        // Act
+        EstadoBaseDatos estado = verificador.getEstado();
+
+        // Assert
+        assertFalse(estado.listo());
+        assertEquals("Verificación atrasada", estado.detalle());
+    }
+}
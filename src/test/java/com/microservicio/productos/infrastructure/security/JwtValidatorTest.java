@@ -0,0 +1,132 @@
+// src/test/java/com/microservicio/productos/infrastructure/security/JwtValidatorTest.java
+package com.microservicio.productos.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tabla de Decisión: Validación de JWT con caché")
+class JwtValidatorTest {
+
+    private static final String SECRETO = "clave-test-super-segura-para-pruebas-unitarias";
+
+    private JwtValidator jwtValidator;
+    private JwtTokenCache tokenCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new JwtTokenCache(100, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        jwtValidator = new JwtValidator();
+        ReflectionTestUtils.setField(jwtValidator, "secretKey", SECRETO);
+        ReflectionTestUtils.setField(jwtValidator, "tokenCache", tokenCache);
+        ReflectionTestUtils.setField(jwtValidator, "meterRegistry", meterRegistry);
+        jwtValidator.inicializar();
+    }
+
+    /**
+     * TABLA DE DECISIÓN: Autenticación de tokens
+     *
+     * Condición                    | C1  | C2  | C3  | C4  |
+     * -----------------------------|-----|-----|-----|-----|
+     * Firma válida                 | V   | V   | V   | F   |
+     * Token ya verificado          | F   | V   | -   | -   |
+     * Claim es_admin               | V   | V   | F   | -   |
+     * -----------------------------|-----|-----|-----|-----|
+     * Acción                       |     |     |     |     |
+     * -----------------------------|-----|-----|-----|-----|
+     * Verificar y cachear (fallo)  | X   |     | X   |     |
+     * Servir desde caché (acierto) |     | X   |     |     |
+     * Lanzar excepción             |     |     |     | X   |
+     */
+
+    @Test
+    @DisplayName("C1: Token válido nuevo = Se verifica una vez y se cachea")
+    void testC1_TokenValidoNuevo_SeVerificaYCachea() {
+        // Arrange
+        String token = generarToken(SECRETO, true, Instant.now().plusSeconds(3600));
+
+        // Act
+        UsuarioAutenticado usuario = jwtValidator.autenticar(token);
+
+        // Assert
+        assertEquals("admin", usuario.nombreUsuario());
+        assertTrue(usuario.esAdmin());
+        assertNotNull(usuario.expiracion());
+        assertEquals(0, tokenCache.getAciertos());
+        assertEquals(1, tokenCache.getFallos());
+        assertEquals(1, meterRegistry.get("productos.jwt.validacion").timer().count());
+    }
+
+    @Test
+    @DisplayName("C2: Token repetido = Se sirve desde la caché")
+    void testC2_TokenRepetido_AciertoEnCache() {
+        // Arrange
+        String token = generarToken(SECRETO, true, Instant.now().plusSeconds(3600));
+        jwtValidator.autenticar(token);
+
+        // Act
+        String nombreUsuario = jwtValidator.obtenerNombreUsuario(token);
+        Boolean esAdmin = jwtValidator.esAdmin(token);
+
+        // Assert
+        assertEquals("admin", nombreUsuario);
+        assertTrue(esAdmin);
+        assertEquals(2, tokenCache.getAciertos());
+        assertEquals(1, tokenCache.getFallos());
+        assertEquals(2, meterRegistry.get("productos.jwt.cache").tag("resultado", "acierto").functionCounter().count());
+        assertEquals(1, meterRegistry.get("productos.jwt.cache").tag("resultado", "fallo").functionCounter().count());
+        assertEquals(1, meterRegistry.get("productos.jwt.cache.entradas").gauge().value());
+    }
+
+    @Test
+    @DisplayName("C3: Token sin rol admin = Usuario no administrador")
+    void testC3_TokenSinAdmin_NoEsAdmin() {
+        // Arrange
+        String token = generarToken(SECRETO, false, Instant.now().plusSeconds(3600));
+
+        // Act
+        UsuarioAutenticado usuario = jwtValidator.autenticar(token);
+
+        // Assert
+        assertFalse(usuario.esAdmin());
+    }
+
+    @Test
+    @DisplayName("C4: Firma inválida = Lanzar excepción y no cachear")
+    void testC4_FirmaInvalida_LanzaExcepcion() {
+        // Arrange
+        String token = generarToken("otra-clave-distinta-super-segura-para-pruebas", true,
+                Instant.now().plusSeconds(3600));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            jwtValidator.autenticar(token);
+        });
+
+        assertTrue(exception.getMessage().contains("Token inválido"));
+        assertEquals(0, tokenCache.getTamano());
+        assertEquals(1.0, meterRegistry.get("productos.jwt.fallos").tag("motivo", "SignatureException").counter().count());
+    }
+
+    private String generarToken(String secreto, boolean esAdmin, Instant expiracion) {
+        return Jwts.builder()
+                .subject("admin")
+                .claim("es_admin", esAdmin)
+                .expiration(Date.from(expiracion))
+                .signWith(Keys.hmacShaKeyFor(secreto.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}